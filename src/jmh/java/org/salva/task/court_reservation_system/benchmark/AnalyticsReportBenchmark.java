@@ -0,0 +1,145 @@
+package org.salva.task.court_reservation_system.benchmark;
+
+import org.salva.task.court_reservation_system.CourtReservationSystemApplication;
+import org.salva.task.court_reservation_system.dto.response.CourtStatsResponseDTO;
+import org.salva.task.court_reservation_system.dto.response.DailyStatsResponseDTO;
+import org.salva.task.court_reservation_system.entity.Booking;
+import org.salva.task.court_reservation_system.entity.Court;
+import org.salva.task.court_reservation_system.entity.User;
+import org.salva.task.court_reservation_system.enums.BookingStatus;
+import org.salva.task.court_reservation_system.enums.MembershipType;
+import org.salva.task.court_reservation_system.repository.BookingRepository;
+import org.salva.task.court_reservation_system.repository.CourtRepository;
+import org.salva.task.court_reservation_system.repository.UserRepository;
+import org.salva.task.court_reservation_system.service.AnalyticsService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reportes de un año sobre las estadísticas diarias pre-agregadas, comparados con agregar
+ * directamente la tabla de reservas (lo que lee la reconciliación). Levanta la aplicación con
+ * el perfil dev (H2 en memoria); las estadísticas se cargan con una reconciliación del año.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AnalyticsReportBenchmark {
+
+    private static final LocalDate START_DATE = LocalDate.of(2025, 1, 1);
+    private static final LocalDate END_DATE = LocalDate.of(2025, 12, 31);
+    private static final int FIRST_HOUR = 8;
+    private static final int CANCELLED_EVERY = 10;
+
+    @Param({"10", "30"})
+    private int courts;
+
+    @Param({"8"})
+    private int bookingsPerDay;
+
+    private ConfigurableApplicationContext context;
+    private AnalyticsService analyticsService;
+    private BookingRepository bookingRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(CourtReservationSystemApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("dev")
+                .run(
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+                );
+
+        analyticsService = context.getBean(AnalyticsService.class);
+        bookingRepository = context.getBean(BookingRepository.class);
+        CourtRepository courtRepository = context.getBean(CourtRepository.class);
+
+        User newUser = BenchmarkFixtures.user(MembershipType.NINGUNA);
+        newUser.setId(null);
+        User user = context.getBean(UserRepository.class).save(newUser);
+
+        for (int i = 0; i < courts; i++) {
+            Court newCourt = BenchmarkFixtures.court();
+            newCourt.setId(0);
+            newCourt.setName("Cancha Benchmark " + (i + 1));
+            Court court = courtRepository.save(newCourt);
+            bookingRepository.saveAll(yearOfBookings(court, user));
+        }
+
+        analyticsService.reconcile(START_DATE, END_DATE);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * Totales por cancha del año desde las estadísticas diarias
+     */
+    @Benchmark
+    public List<CourtStatsResponseDTO> courtReport() {
+        return analyticsService.getCourtReport(START_DATE, END_DATE);
+    }
+
+    /**
+     * Serie diaria del año de todas las canchas desde las estadísticas diarias
+     */
+    @Benchmark
+    public List<DailyStatsResponseDTO> dailyReport() {
+        return analyticsService.getDailyReport(null, START_DATE, END_DATE);
+    }
+
+    /**
+     * Mismo año agregado directamente desde la tabla de reservas
+     */
+    @Benchmark
+    public List<Object[]> bookingTableScan() {
+        return bookingRepository.aggregateDailyStats(START_DATE, END_DATE,
+                List.of(BookingStatus.CONFIRMADA, BookingStatus.COMPLETADA), BookingStatus.CANCELADA);
+    }
+
+    // ========== MÉTODOS PRIVADOS ==========
+
+    private List<Booking> yearOfBookings(Court court, User user) {
+        List<Booking> bookings = new ArrayList<>();
+        int count = 0;
+
+        for (LocalDate date = START_DATE; !date.isAfter(END_DATE); date = date.plusDays(1)) {
+            for (int i = 0; i < bookingsPerDay; i++) {
+                boolean cancelled = ++count % CANCELLED_EVERY == 0;
+                bookings.add(Booking.builder()
+                        .user(user)
+                        .court(court)
+                        .bookingDate(date)
+                        .startTime(LocalTime.of(FIRST_HOUR + i, 0))
+                        .endTime(LocalTime.of(FIRST_HOUR + i + 1, 0))
+                        .status(cancelled ? BookingStatus.CANCELADA : BookingStatus.COMPLETADA)
+                        .basePrice(new BigDecimal("87.50"))
+                        .dynamicSurcharges(BigDecimal.ZERO)
+                        .appliedDiscount(BigDecimal.ZERO)
+                        .totalPrice(new BigDecimal("87.50"))
+                        .penaltyAmount(cancelled ? new BigDecimal("43.75") : null)
+                        .isRecurrent(false)
+                        .usesPackage(false)
+                        .build());
+            }
+        }
+
+        return bookings;
+    }
+}
@@ -0,0 +1,57 @@
+package org.salva.task.court_reservation_system.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.salva.task.court_reservation_system.dto.response.CourtAvailabilityResponseDTO;
+import org.salva.task.court_reservation_system.entity.Court;
+import org.salva.task.court_reservation_system.enums.MembershipType;
+import org.salva.task.court_reservation_system.service.BookingService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de getCourtAvailability (generación de slots) y de su serialización JSON
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AvailabilityBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    private int bookingsPerDay;
+
+    private AnnotationConfigApplicationContext context;
+    private BookingService bookingService;
+    private ObjectMapper objectMapper;
+    private CourtAvailabilityResponseDTO availability;
+
+    @Setup
+    public void setUp() {
+        Court court = BenchmarkFixtures.court();
+        context = BenchmarkFixtures.bookingContext(court,
+                BenchmarkFixtures.bookings(bookingsPerDay, court, BenchmarkFixtures.user(MembershipType.NINGUNA)));
+        bookingService = context.getBean(BookingService.class);
+        objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        availability = bookingService.getCourtAvailability(1L, BenchmarkFixtures.BOOKING_DATE);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public CourtAvailabilityResponseDTO courtAvailability() {
+        return bookingService.getCourtAvailability(1L, BenchmarkFixtures.BOOKING_DATE);
+    }
+
+    @Benchmark
+    public byte[] serializeAvailability() throws Exception {
+        return objectMapper.writeValueAsBytes(availability);
+    }
+}
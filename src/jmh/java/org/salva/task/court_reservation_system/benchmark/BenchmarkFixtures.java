@@ -0,0 +1,214 @@
+package org.salva.task.court_reservation_system.benchmark;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.salva.task.court_reservation_system.config.BusinessRulesProperties;
+import org.salva.task.court_reservation_system.entity.Booking;
+import org.salva.task.court_reservation_system.entity.Court;
+import org.salva.task.court_reservation_system.entity.User;
+import org.salva.task.court_reservation_system.enums.BookingStatus;
+import org.salva.task.court_reservation_system.enums.MembershipType;
+import org.salva.task.court_reservation_system.enums.SportType;
+import org.salva.task.court_reservation_system.mapper.BookingMapperImpl;
+import org.salva.task.court_reservation_system.repository.BookingRepository;
+import org.salva.task.court_reservation_system.repository.CourtRepository;
+import org.salva.task.court_reservation_system.repository.PackageHoursMovementRepository;
+import org.salva.task.court_reservation_system.repository.UserPackageRepository;
+import org.salva.task.court_reservation_system.repository.UserRepository;
+import org.salva.task.court_reservation_system.service.impl.BookingLockServiceImpl;
+import org.salva.task.court_reservation_system.service.impl.BookingServiceImpl;
+import org.salva.task.court_reservation_system.service.impl.BusinessRulesServiceImpl;
+import org.salva.task.court_reservation_system.service.impl.CachedLookupServiceImpl;
+import org.salva.task.court_reservation_system.service.impl.ChunkedUpdateServiceImpl;
+import org.salva.task.court_reservation_system.service.impl.OccupancyIndexServiceImpl;
+import org.salva.task.court_reservation_system.service.impl.PricingServiceImpl;
+import org.salva.task.court_reservation_system.service.impl.ValidationServiceImpl;
+import org.salva.task.court_reservation_system.validation.BookingRule;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Datos sintéticos y contexto mínimo de Spring para los benchmarks.
+ * Los repositorios se reemplazan por proxies en memoria: se mide solo la lógica de la aplicación.
+ */
+final class BenchmarkFixtures {
+
+    static final LocalDate BOOKING_DATE = LocalDate.of(2026, 1, 24);  // Sábado
+
+    private static final long SEED = 42L;
+    private static final int OPERATION_START_MINUTE = 6 * 60;
+    private static final int OPERATION_END_MINUTE = 23 * 60;
+
+    private BenchmarkFixtures() {
+    }
+
+    static Court court() {
+        return Court.builder()
+                .id(1)
+                .name("Cancha Benchmark")
+                .sportType(SportType.TENIS)
+                .capacity(4)
+                .priceBaseHour(new BigDecimal("87.50"))
+                .active(true)
+                .build();
+    }
+
+    static User user(MembershipType membershipType) {
+        return User.builder()
+                .id(1L)
+                .name("Usuario Benchmark")
+                .email("benchmark@example.com")
+                .phone("999999999")
+                .membershipType(membershipType)
+                .active(true)
+                .build();
+    }
+
+    /**
+     * Genera reservas confirmadas de 1 a 2 horas, alineadas a 15 minutos, dentro del horario de operación.
+     * Con muchas reservas por día se solapan: solo interesa el volumen.
+     */
+    static List<Booking> bookings(int bookingsPerDay, Court court, User user) {
+        Random random = new Random(SEED);
+        List<Booking> bookings = new ArrayList<>(bookingsPerDay);
+
+        for (int i = 0; i < bookingsPerDay; i++) {
+            int duration = 60 + 60 * random.nextInt(2);
+            int latestStart = (OPERATION_END_MINUTE - duration - OPERATION_START_MINUTE) / 15;
+            int start = OPERATION_START_MINUTE + 15 * random.nextInt(latestStart + 1);
+
+            bookings.add(Booking.builder()
+                    .id((long) i + 1)
+                    .user(user)
+                    .court(court)
+                    .bookingDate(BOOKING_DATE)
+                    .startTime(LocalTime.of(start / 60, start % 60))
+                    .endTime(LocalTime.of((start + duration) / 60, (start + duration) % 60))
+                    .status(BookingStatus.CONFIRMADA)
+                    .basePrice(BigDecimal.ZERO)
+                    .dynamicSurcharges(BigDecimal.ZERO)
+                    .appliedDiscount(BigDecimal.ZERO)
+                    .totalPrice(new BigDecimal("120.00"))
+                    .isRecurrent(false)
+                    .usesPackage(false)
+                    .build());
+        }
+
+        return bookings;
+    }
+
+    /**
+     * Contexto con los servicios reales de reservas, precios, validación e índice de ocupación
+     * sobre repositorios en memoria que devuelven las reservas indicadas
+     */
+    static AnnotationConfigApplicationContext bookingContext(Court court, List<Booking> bookings) {
+        List<Object[]> timeSlots = new ArrayList<>(bookings.size());
+        for (Booking booking : bookings) {
+            timeSlots.add(new Object[]{booking.getId(), booking.getStartTime(), booking.getEndTime()});
+        }
+
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        // Conversión de Spring Boot para los @Value con duraciones ("30s")
+        context.getBeanFactory().setConversionService(ApplicationConversionService.getSharedInstance());
+        context.registerBean(BookingRepository.class, () -> repository(BookingRepository.class,
+                Map.of("findTimeSlotsByCourtAndDate", args -> timeSlots)));
+        context.registerBean(CourtRepository.class, () -> repository(CourtRepository.class,
+                Map.of("findById", args -> Optional.of(court))));
+        context.registerBean(UserRepository.class, () -> repository(UserRepository.class, Map.of()));
+        context.registerBean(UserPackageRepository.class, () -> repository(UserPackageRepository.class, Map.of()));
+        context.registerBean(PackageHoursMovementRepository.class,
+                () -> repository(PackageHoursMovementRepository.class, Map.of()));
+        context.registerBean(MeterRegistry.class, SimpleMeterRegistry::new);
+        context.registerBean(PlatformTransactionManager.class, NoOpTransactionManager::new);
+        context.register(
+                BusinessRulesProperties.class,
+                BusinessRulesServiceImpl.class,
+                PricingServiceImpl.class,
+                OccupancyIndexServiceImpl.class,
+                BookingLockServiceImpl.class,
+                ChunkedUpdateServiceImpl.class,
+                CachedLookupServiceImpl.class,
+                BookingMapperImpl.class,
+                ValidationServiceImpl.class,
+                BookingServiceImpl.class
+        );
+        context.scan(BookingRule.class.getPackageName());
+        context.refresh();
+        return context;
+    }
+
+    /**
+     * Repositorio en memoria: responde por nombre de método y devuelve valores vacíos para el resto
+     */
+    static <T> T repository(Class<T> type, Map<String, Function<Object[], Object>> answers) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            Function<Object[], Object> answer = answers.get(method.getName());
+            if (answer != null) {
+                return answer.apply(args);
+            }
+
+            switch (method.getName()) {
+                case "toString":
+                    return type.getSimpleName() + "Stub";
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                default:
+                    break;
+            }
+
+            Class<?> returnType = method.getReturnType();
+            if (returnType == Optional.class) {
+                return Optional.empty();
+            }
+            if (Collection.class.isAssignableFrom(returnType) || returnType == Iterable.class) {
+                return List.of();
+            }
+            if (returnType == boolean.class) {
+                return false;
+            }
+            if (returnType == long.class) {
+                return 0L;
+            }
+            if (returnType == int.class) {
+                return 0;
+            }
+            return null;
+        }));
+    }
+
+    /**
+     * Sin base de datos: las transacciones no hacen nada
+     */
+    private static final class NoOpTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package org.salva.task.court_reservation_system.benchmark;
+
+import org.salva.task.court_reservation_system.CourtReservationSystemApplication;
+import org.salva.task.court_reservation_system.dto.response.BookingImportSummaryDTO;
+import org.salva.task.court_reservation_system.entity.Court;
+import org.salva.task.court_reservation_system.entity.User;
+import org.salva.task.court_reservation_system.enums.BookingImportFormat;
+import org.salva.task.court_reservation_system.enums.MembershipType;
+import org.salva.task.court_reservation_system.repository.BookingRepository;
+import org.salva.task.court_reservation_system.repository.CourtRepository;
+import org.salva.task.court_reservation_system.repository.UserRepository;
+import org.salva.task.court_reservation_system.service.BookingImportService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Importación masiva de punta a punta (lectura, validación, solapamientos e inserción en lote)
+ * con el perfil dev (H2 en memoria). El archivo se genera fila por fila mientras se lee, así
+ * el benchmark tampoco lo materializa; con -prof gc se comprueba que la memoria no crece con rows.
+ * Cada invocación usa canchas nuevas para que todas las filas se creen.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx512m")
+@State(Scope.Benchmark)
+public class BookingImportBenchmark {
+
+    // Reservas de una hora entre las 8:00 y las 22:00, desde pasado mañana y dentro de la ventana VIP
+    private static final int FIRST_HOUR = 8;
+    private static final int HOURS_PER_DAY = 14;
+    private static final int DAYS = 28;
+    private static final int SLOTS_PER_COURT = HOURS_PER_DAY * DAYS;
+
+    @Param({"10000", "100000"})
+    private int rows;
+
+    @Param({"JSON", "CSV"})
+    private BookingImportFormat format;
+
+    private ConfigurableApplicationContext context;
+    private BookingImportService bookingImportService;
+    private BookingRepository bookingRepository;
+    private CourtRepository courtRepository;
+
+    private User user;
+    private List<Long> courtIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(CourtReservationSystemApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("dev")
+                .run(
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+                );
+
+        bookingImportService = context.getBean(BookingImportService.class);
+        bookingRepository = context.getBean(BookingRepository.class);
+        courtRepository = context.getBean(CourtRepository.class);
+
+        User newUser = BenchmarkFixtures.user(MembershipType.VIP);
+        newUser.setId(null);
+        user = context.getBean(UserRepository.class).save(newUser);
+    }
+
+    @Setup(Level.Invocation)
+    public void createCourts() {
+        int courts = (rows + SLOTS_PER_COURT - 1) / SLOTS_PER_COURT;
+        courtIds = new ArrayList<>(courts);
+
+        for (int i = 0; i < courts; i++) {
+            Court newCourt = BenchmarkFixtures.court();
+            newCourt.setId(0);
+            courtIds.add((long) courtRepository.save(newCourt).getId());
+        }
+    }
+
+    @TearDown(Level.Invocation)
+    public void deleteBookings() {
+        bookingRepository.deleteAllInBatch();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int importBookings() {
+        int[] results = new int[1];
+        BookingImportSummaryDTO summary = bookingImportService.importBookings(input(), format, result -> results[0]++);
+
+        if (summary.getCreatedRows() != rows) {
+            throw new IllegalStateException("Filas no importadas: " + summary);
+        }
+        return results[0];
+    }
+
+    // ========== MÉTODOS PRIVADOS ==========
+
+    /**
+     * Archivo generado a medida que se lee: cancha, fecha y hora se recorren en ese orden
+     */
+    private InputStream input() {
+        LocalDate firstDate = LocalDate.now().plusDays(2);
+        boolean json = format == BookingImportFormat.JSON;
+
+        Enumeration<InputStream> parts = new Enumeration<>() {
+            private int next = -1;  // -1: encabezado o apertura del arreglo
+
+            @Override
+            public boolean hasMoreElements() {
+                return next <= rows;
+            }
+
+            @Override
+            public InputStream nextElement() {
+                String text;
+                if (next < 0) {
+                    text = json ? "[" : "userId,courtId,bookingDate,startTime,endTime\n";
+                } else if (next == rows) {
+                    text = json ? "]" : "";
+                } else {
+                    text = row(next, firstDate, json);
+                }
+                next++;
+                return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+            }
+        };
+
+        return new SequenceInputStream(parts);
+    }
+
+    private String row(int index, LocalDate firstDate, boolean json) {
+        long courtId = courtIds.get(index / SLOTS_PER_COURT);
+        int slot = index % SLOTS_PER_COURT;
+        LocalDate date = firstDate.plusDays(slot / HOURS_PER_DAY);
+        int hour = FIRST_HOUR + slot % HOURS_PER_DAY;
+
+        if (!json) {
+            return String.format("%d,%d,%s,%02d:00,%02d:00%n", user.getId(), courtId, date, hour, hour + 1);
+        }
+        return String.format("%s{\"userId\":%d,\"courtId\":%d,\"bookingDate\":\"%s\",\"startTime\":\"%02d:00\",\"endTime\":\"%02d:00\"}",
+                index == 0 ? "" : ",", user.getId(), courtId, date, hour, hour + 1);
+    }
+}
@@ -0,0 +1,42 @@
+package org.salva.task.court_reservation_system.benchmark;
+
+import org.salva.task.court_reservation_system.dto.response.BookingResponseDTO;
+import org.salva.task.court_reservation_system.entity.Booking;
+import org.salva.task.court_reservation_system.entity.Court;
+import org.salva.task.court_reservation_system.enums.MembershipType;
+import org.salva.task.court_reservation_system.mapper.BookingMapper;
+import org.salva.task.court_reservation_system.mapper.BookingMapperImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de la conversión de listas de reservas a DTO (BookingMapper.toResponseDTOList)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BookingMapperBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    private int bookingsPerDay;
+
+    private BookingMapper bookingMapper;
+    private List<Booking> bookings;
+
+    @Setup
+    public void setUp() {
+        Court court = BenchmarkFixtures.court();
+        bookingMapper = new BookingMapperImpl();
+        bookings = BenchmarkFixtures.bookings(bookingsPerDay, court, BenchmarkFixtures.user(MembershipType.BASICA));
+    }
+
+    @Benchmark
+    public List<BookingResponseDTO> toResponseDTOList() {
+        return bookingMapper.toResponseDTOList(bookings);
+    }
+}
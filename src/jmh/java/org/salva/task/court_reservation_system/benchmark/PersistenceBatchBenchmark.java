@@ -0,0 +1,149 @@
+package org.salva.task.court_reservation_system.benchmark;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.salva.task.court_reservation_system.CourtReservationSystemApplication;
+import org.salva.task.court_reservation_system.entity.Booking;
+import org.salva.task.court_reservation_system.entity.Court;
+import org.salva.task.court_reservation_system.entity.User;
+import org.salva.task.court_reservation_system.enums.BookingStatus;
+import org.salva.task.court_reservation_system.enums.MembershipType;
+import org.salva.task.court_reservation_system.repository.BookingRepository;
+import org.salva.task.court_reservation_system.repository.CourtRepository;
+import org.salva.task.court_reservation_system.repository.UserRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+
+/**
+ * Sentencias JDBC por operación masiva con y sin inserción/actualización en lote.
+ * Levanta la aplicación con el perfil dev (H2 en memoria); batchSize = 1 equivale
+ * al comportamiento anterior (IDENTITY, una sentencia por fila).
+ * Cada operación se revierte al final para que todas las invocaciones partan del mismo estado.
+ * Las sentencias de cada operación se publican como métrica secundaria (statements).
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PersistenceBatchBenchmark {
+
+    @Param({"1", "50"})
+    private int batchSize;
+
+    @Param({"100", "1000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private BookingRepository bookingRepository;
+    private TransactionTemplate transactionTemplate;
+    private Statistics statistics;
+
+    private Court court;
+    private User user;
+    private List<Long> storedBookingIds;
+
+    /**
+     * Contador de JMH: con SingleShotTime cada iteración es una sola operación,
+     * así que el promedio por iteración es el número de sentencias por operación
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class StatementCounter {
+
+        public long statements;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            statements = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(CourtReservationSystemApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("dev")
+                .run(
+                        "--spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize,
+                        "--spring.jpa.properties.hibernate.generate_statistics=true",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+                );
+
+        bookingRepository = context.getBean(BookingRepository.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+
+        Court newCourt = BenchmarkFixtures.court();
+        newCourt.setId(0);
+        court = context.getBean(CourtRepository.class).save(newCourt);
+
+        User newUser = BenchmarkFixtures.user(MembershipType.NINGUNA);
+        newUser.setId(null);
+        user = context.getBean(UserRepository.class).save(newUser);
+
+        storedBookingIds = bookingRepository.saveAll(newBookings()).stream()
+                .map(Booking::getId)
+                .toList();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * Inserción de una serie de reservas (creación de reservas recurrentes)
+     */
+    @Benchmark
+    public int insertBookings(StatementCounter counter) {
+        return measure(counter, () -> bookingRepository.saveAll(newBookings()).size());
+    }
+
+    /**
+     * Cambio de estado de reservas existentes cargadas en memoria (cancelación de una serie recurrente)
+     */
+    @Benchmark
+    public int updateBookings(StatementCounter counter) {
+        return measure(counter, () -> {
+            List<Booking> bookings = bookingRepository.findAllById(storedBookingIds);
+            bookings.forEach(booking -> booking.setStatus(BookingStatus.COMPLETADA));
+            return bookingRepository.saveAll(bookings).size();
+        });
+    }
+
+    // ========== MÉTODOS PRIVADOS ==========
+
+    private int measure(StatementCounter counter, IntSupplier operation) {
+        long before = statistics.getPrepareStatementCount();
+
+        Integer result = transactionTemplate.execute(status -> {
+            int affected = operation.getAsInt();
+            bookingRepository.flush();
+            status.setRollbackOnly();
+            return affected;
+        });
+
+        counter.statements += statistics.getPrepareStatementCount() - before;
+        return result;
+    }
+
+    private List<Booking> newBookings() {
+        List<Booking> bookings = BenchmarkFixtures.bookings(rows, court, user);
+        bookings.forEach(booking -> booking.setId(null));
+        return bookings;
+    }
+}
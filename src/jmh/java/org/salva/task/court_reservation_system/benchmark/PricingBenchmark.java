@@ -0,0 +1,86 @@
+package org.salva.task.court_reservation_system.benchmark;
+
+import org.salva.task.court_reservation_system.config.BusinessRulesProperties;
+import org.salva.task.court_reservation_system.entity.Booking;
+import org.salva.task.court_reservation_system.entity.Court;
+import org.salva.task.court_reservation_system.entity.User;
+import org.salva.task.court_reservation_system.enums.MembershipType;
+import org.salva.task.court_reservation_system.service.PricingService;
+import org.salva.task.court_reservation_system.service.impl.BusinessRulesServiceImpl;
+import org.salva.task.court_reservation_system.service.impl.PricingServiceImpl;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark del cálculo de precios (calculateAndSetPrices / calculatePriceFactor)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PricingBenchmark {
+
+    @Param({"NINGUNA", "VIP"})
+    private MembershipType membershipType;
+
+    @Param({"false", "true"})
+    private boolean recurrent;
+
+    private AnnotationConfigApplicationContext context;
+    private PricingService pricingService;
+    private Court court;
+    private User user;
+    private List<Booking> bookings;
+
+    @Setup
+    public void setUp() {
+        context = new AnnotationConfigApplicationContext(
+                BusinessRulesProperties.class, BusinessRulesServiceImpl.class, PricingServiceImpl.class);
+        pricingService = context.getBean(PricingService.class);
+        court = BenchmarkFixtures.court();
+        user = BenchmarkFixtures.user(membershipType);
+        bookings = BenchmarkFixtures.bookings(64, court, user);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(64)
+    public void applyPrices(Blackhole blackhole) {
+        for (Booking booking : bookings) {
+            pricingService.applyPrices(booking, court, user, recurrent);
+            blackhole.consume(booking.getTotalPrice());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(64)
+    public void priceFactor(Blackhole blackhole) {
+        for (Booking booking : bookings) {
+            BigDecimal factor = pricingService.getPriceFactor(booking.getBookingDate(), booking.getStartTime());
+            blackhole.consume(factor);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(17)
+    public void estimatePrice(Blackhole blackhole) {
+        long priceBaseHourCents = pricingService.toCents(court.getPriceBaseHour());
+        for (int hour = 6; hour < 23; hour++) {
+            LocalTime start = LocalTime.of(hour, 0);
+            blackhole.consume(pricingService.estimatePrice(
+                    priceBaseHourCents, BenchmarkFixtures.BOOKING_DATE, start, start.plusHours(1)));
+        }
+    }
+}
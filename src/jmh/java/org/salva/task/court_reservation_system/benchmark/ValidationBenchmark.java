@@ -0,0 +1,83 @@
+package org.salva.task.court_reservation_system.benchmark;
+
+import org.salva.task.court_reservation_system.dto.request.BookingRequestDTO;
+import org.salva.task.court_reservation_system.entity.Booking;
+import org.salva.task.court_reservation_system.entity.Court;
+import org.salva.task.court_reservation_system.entity.User;
+import org.salva.task.court_reservation_system.enums.MembershipType;
+import org.salva.task.court_reservation_system.service.ValidationService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo por solicitud del pipeline de validación de reservas.
+ * valid: pasa todas las reglas; invalid: viola varias reglas en memoria (no consulta el índice);
+ * conflict: pasa las reglas en memoria y choca con una reserva del índice de ocupación.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ValidationBenchmark {
+
+    @Param({"valid", "invalid", "conflict"})
+    private String scenario;
+
+    private AnnotationConfigApplicationContext context;
+    private ValidationService validationService;
+    private User user;
+    private Court court;
+    private BookingRequestDTO request;
+
+    @Setup
+    public void setUp() {
+        court = BenchmarkFixtures.court();
+        user = BenchmarkFixtures.user(MembershipType.BASICA);
+
+        List<Booking> bookings = scenario.equals("conflict")
+                ? BenchmarkFixtures.bookings(64, court, user)
+                : List.of();
+        context = BenchmarkFixtures.bookingContext(court, bookings);
+        validationService = context.getBean(ValidationService.class);
+
+        request = scenario.equals("invalid")
+                // Fecha pasada, fuera de horario y de 5 horas
+                ? request(LocalDate.now().minusDays(1), LocalTime.of(5, 0), LocalTime.of(10, 0))
+                : request(LocalDate.now().plusDays(3), LocalTime.of(18, 0), LocalTime.of(20, 0));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object validateBookingRequest() {
+        try {
+            validationService.validateBookingRequest(request, user, court);
+            return request;
+        } catch (RuntimeException e) {
+            return e;
+        }
+    }
+
+    // ========== MÉTODOS PRIVADOS ==========
+
+    private static BookingRequestDTO request(LocalDate date, LocalTime startTime, LocalTime endTime) {
+        return BookingRequestDTO.builder()
+                .userId(1L)
+                .courtId(1L)
+                .bookingDate(date)
+                .startTime(startTime)
+                .endTime(endTime)
+                .usesPackage(false)
+                .build();
+    }
+}
@@ -0,0 +1,101 @@
+package org.salva.task.court_reservation_system.benchmark;
+
+import org.salva.task.court_reservation_system.CourtReservationSystemApplication;
+import org.salva.task.court_reservation_system.entity.Booking;
+import org.salva.task.court_reservation_system.entity.Court;
+import org.salva.task.court_reservation_system.entity.User;
+import org.salva.task.court_reservation_system.enums.MembershipType;
+import org.salva.task.court_reservation_system.repository.BookingRepository;
+import org.salva.task.court_reservation_system.repository.CourtRepository;
+import org.salva.task.court_reservation_system.repository.UserRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prueba de carga HTTP: hilos de plataforma contra hilos virtuales (virtualThreads=true).
+ * Levanta la aplicación con el perfil dev (H2 en memoria) en un puerto libre y un pool Hikari
+ * de 10 conexiones; 256 clientes consultan a la vez el historial de un usuario (una consulta
+ * a la base de datos por solicitud). Throughput da solicitudes por segundo y SampleTime los
+ * percentiles de latencia (p0.99). Con -t se cambia la cantidad de clientes.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Threads(256)
+@Fork(1)
+@State(Scope.Benchmark)
+public class VirtualThreadLoadBenchmark {
+
+    private static final int BOOKINGS = 200;
+
+    @Param({"false", "true"})
+    private boolean virtualThreads;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private HttpRequest historyRequest;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(CourtReservationSystemApplication.class)
+                .web(WebApplicationType.SERVLET)
+                .profiles("dev")
+                .run(
+                        "--server.port=0",
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--spring.datasource.hikari.maximum-pool-size=10",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.salva.task.court_reservation_system=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN"
+                );
+
+        Court newCourt = BenchmarkFixtures.court();
+        newCourt.setId(0);
+        Court court = context.getBean(CourtRepository.class).save(newCourt);
+
+        User newUser = BenchmarkFixtures.user(MembershipType.NINGUNA);
+        newUser.setId(null);
+        User user = context.getBean(UserRepository.class).save(newUser);
+
+        List<Booking> bookings = BenchmarkFixtures.bookings(BOOKINGS, court, user);
+        bookings.forEach(booking -> booking.setId(null));
+        context.getBean(BookingRepository.class).saveAll(bookings);
+
+        String port = context.getEnvironment().getProperty("local.server.port");
+        httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        historyRequest = HttpRequest.newBuilder(
+                        URI.create("http://localhost:" + port + "/api/bookings/user/" + user.getId() + "/history?size=20"))
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int bookingHistory() throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = httpClient.send(historyRequest, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Unexpected status " + response.statusCode());
+        }
+        return response.body().length;
+    }
+}
@@ -0,0 +1,244 @@
+package org.salva.task.court_reservation_system.config;
+
+import org.salva.task.court_reservation_system.enums.MembershipType;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Instantánea inmutable de las reglas de negocio, compilada desde {@link BusinessRulesProperties}.
+ * Los valores por membresía quedan en arreglos indexados por ordinal y los factores de precio
+ * en una tabla por (día de la semana, minuto del día): el camino caliente solo indexa.
+ * Se reemplaza completa al recargar la configuración, nunca se modifica.
+ */
+@Getter
+public final class BusinessRules {
+
+    public static final int FACTOR_DECIMALS = 6;
+    public static final int RATE_DECIMALS = 4;
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    private final BusinessRulesProperties source;
+
+    private final int minAdvanceHours;
+    private final int minDurationHours;
+    private final int maxDurationHours;
+    private final LocalTime operationStartTime;
+    private final LocalTime operationEndTime;
+
+    // [membresía]
+    @Getter(AccessLevel.NONE)
+    private final int[] maxDaysAdvance;
+    @Getter(AccessLevel.NONE)
+    private final BigDecimal[] membershipDiscount;
+    @Getter(AccessLevel.NONE)
+    private final long[] membershipDiscountBp;
+    @Getter(AccessLevel.NONE)
+    private final int[] membershipDiscountBias;
+
+    // [día de la semana][minuto del día]
+    @Getter(AccessLevel.NONE)
+    private final long[][] factorMicros;
+    @Getter(AccessLevel.NONE)
+    private final BigDecimal[][] factorValues;
+
+    private final BigDecimal recurrentDiscount;
+    private final long recurrentDiscountBp;
+
+    private final BigDecimal penalty24h;
+    private final BigDecimal penalty12h;
+    private final BigDecimal penaltyLate;
+    private final BigDecimal penaltyNoshow;
+    private final int vipGraceHours;
+
+    private final int waitlistTimeoutMinutes;
+    private final int distinctPriceFactors;
+
+    private BusinessRules(BusinessRulesProperties source) {
+        BusinessRulesProperties.Booking booking = source.getBooking();
+        BusinessRulesProperties.Pricing pricing = source.getPricing();
+        BusinessRulesProperties.Cancellation cancellation = source.getCancellation();
+
+        this.source = source;
+        this.minAdvanceHours = booking.getMinAdvanceHours();
+        this.minDurationHours = booking.getMinDurationHours();
+        this.maxDurationHours = booking.getMaxDurationHours();
+        this.operationStartTime = booking.getOperationStartTime();
+        this.operationEndTime = booking.getOperationEndTime();
+
+        int memberships = MembershipType.values().length;
+        this.maxDaysAdvance = new int[memberships];
+        this.membershipDiscount = new BigDecimal[memberships];
+        this.membershipDiscountBp = new long[memberships];
+        this.membershipDiscountBias = new int[memberships];
+        for (MembershipType membershipType : MembershipType.values()) {
+            int index = membershipType.ordinal();
+            maxDaysAdvance[index] = maxDaysAdvance(booking.getMaxDaysAdvance(), membershipType);
+            membershipDiscount[index] = membershipDiscount(source.getMembership(), membershipType);
+            membershipDiscountBp[index] = toFixed(membershipDiscount[index], RATE_DECIMALS, "descuento de membresía");
+            // El cálculo histórico aplica el descuento como new BigDecimal(double): en empates exactos
+            // de medio centavo el error binario del double decide el sentido del redondeo
+            membershipDiscountBias[index] = new BigDecimal(membershipDiscount[index].doubleValue())
+                    .compareTo(membershipDiscount[index]);
+        }
+
+        this.factorMicros = new long[7][MINUTES_PER_DAY];
+        this.factorValues = new BigDecimal[7][MINUTES_PER_DAY];
+        Map<BigDecimal, BigDecimal> distinctFactors = new HashMap<>();
+        for (DayOfWeek dayOfWeek : DayOfWeek.values()) {
+            for (int minute = 0; minute < MINUTES_PER_DAY; minute++) {
+                BigDecimal factor = distinctFactors.computeIfAbsent(
+                        computeFactor(pricing, dayOfWeek, LocalTime.of(minute / 60, minute % 60)), f -> f);
+
+                factorValues[dayOfWeek.ordinal()][minute] = factor;
+                factorMicros[dayOfWeek.ordinal()][minute] = toFixed(factor, FACTOR_DECIMALS, "factor de precio");
+            }
+        }
+        this.distinctPriceFactors = distinctFactors.size();
+
+        this.recurrentDiscount = pricing.getRecurrentDiscount();
+        this.recurrentDiscountBp = toFixed(recurrentDiscount, RATE_DECIMALS, "descuento recurrente");
+
+        this.penalty24h = cancellation.getPenalty24h();
+        this.penalty12h = cancellation.getPenalty12h();
+        this.penaltyLate = cancellation.getPenaltyLate();
+        this.penaltyNoshow = cancellation.getPenaltyNoshow();
+        this.vipGraceHours = cancellation.getVipGraceHours();
+
+        this.waitlistTimeoutMinutes = source.getWaitlist().getNotificationTimeoutMinutes();
+    }
+
+    /**
+     * Valida y compila las reglas.
+     *
+     * @throws IllegalStateException si la configuración es inconsistente
+     */
+    public static BusinessRules compile(BusinessRulesProperties source) {
+        validate(source);
+        return new BusinessRules(source);
+    }
+
+    public int getMaxDaysAdvance(MembershipType membershipType) {
+        return maxDaysAdvance[membershipType.ordinal()];
+    }
+
+    public BigDecimal getMembershipDiscount(MembershipType membershipType) {
+        return membershipDiscount[membershipType.ordinal()];
+    }
+
+    public long getMembershipDiscountBp(MembershipType membershipType) {
+        return membershipDiscountBp[membershipType.ordinal()];
+    }
+
+    /**
+     * Signo del error del descuento de membresía como double (-1, 0 o 1)
+     */
+    public int getMembershipDiscountBias(MembershipType membershipType) {
+        return membershipDiscountBias[membershipType.ordinal()];
+    }
+
+    public long getFactorMicros(LocalDate date, int minuteOfDay) {
+        return factorMicros[date.getDayOfWeek().ordinal()][minuteOfDay];
+    }
+
+    public BigDecimal getFactorValue(LocalDate date, int minuteOfDay) {
+        return factorValues[date.getDayOfWeek().ordinal()][minuteOfDay];
+    }
+
+    /**
+     * Porcentaje de penalización por cancelar con las horas de anticipación indicadas (RN-020 a RN-025)
+     */
+    public BigDecimal getCancellationPenalty(MembershipType membershipType, long hoursInAdvance) {
+        if (membershipType == MembershipType.VIP && hoursInAdvance >= vipGraceHours) {
+            return BigDecimal.ZERO;
+        }
+        if (hoursInAdvance >= 24) {
+            return penalty24h;
+        }
+        if (hoursInAdvance >= 12) {
+            return penalty12h;
+        }
+        return penaltyLate;
+    }
+
+    // ========== MÉTODOS PRIVADOS ==========
+
+    private static void validate(BusinessRulesProperties source) {
+        BusinessRulesProperties.Booking booking = source.getBooking();
+
+        if (booking.getMinDurationHours() < 1 || booking.getMinDurationHours() > booking.getMaxDurationHours()) {
+            throw new IllegalStateException("Duración de reserva inválida: " + booking.getMinDurationHours() +
+                    " a " + booking.getMaxDurationHours() + " horas");
+        }
+        if (!booking.getOperationStartTime().isBefore(booking.getOperationEndTime())) {
+            throw new IllegalStateException("El horario de operación debe empezar antes de terminar");
+        }
+        if (source.getWaitlist().getNotificationTimeoutMinutes() < 1) {
+            throw new IllegalStateException("El tiempo de respuesta de la lista de espera debe ser positivo");
+        }
+
+        BusinessRulesProperties.Cancellation cancellation = source.getCancellation();
+        for (BigDecimal penalty : new BigDecimal[]{cancellation.getPenalty24h(), cancellation.getPenalty12h(),
+                cancellation.getPenaltyLate(), cancellation.getPenaltyNoshow()}) {
+            if (penalty.signum() < 0 || penalty.compareTo(BigDecimal.ONE) > 0) {
+                throw new IllegalStateException("La penalización " + penalty + " debe estar entre 0 y 1");
+            }
+        }
+    }
+
+    private static BigDecimal computeFactor(BusinessRulesProperties.Pricing pricing, DayOfWeek dayOfWeek, LocalTime time) {
+        BigDecimal factor = BigDecimal.ONE;
+
+        // RN-007: Fin de semana
+        if (dayOfWeek == DayOfWeek.SATURDAY || dayOfWeek == DayOfWeek.SUNDAY) {
+            factor = factor.multiply(pricing.getWeekendMultiplier());
+        }
+
+        // RN-006: Horario pico
+        if (!time.isBefore(pricing.getPeakHoursStart()) && time.isBefore(pricing.getPeakHoursEnd())) {
+            factor = factor.multiply(pricing.getPeakHoursMultiplier());
+        }
+
+        // RN-009: Horario valle
+        if (!time.isBefore(pricing.getValleyHoursStart()) && time.isBefore(pricing.getValleyHoursEnd())) {
+            factor = factor.multiply(pricing.getValleyHoursMultiplier());
+        }
+
+        return factor;
+    }
+
+    private static int maxDaysAdvance(BusinessRulesProperties.MaxDaysAdvance maxDays, MembershipType membershipType) {
+        return switch (membershipType) {
+            case NINGUNA -> maxDays.getNoMembership();
+            case BASICA -> maxDays.getBasic();
+            case PREMIUN -> maxDays.getPremium();
+            case VIP -> maxDays.getVip();
+        };
+    }
+
+    private static BigDecimal membershipDiscount(BusinessRulesProperties.Membership membership, MembershipType membershipType) {
+        return switch (membershipType) {
+            case NINGUNA -> BigDecimal.ZERO;
+            case BASICA -> membership.getBasicDiscount();
+            case PREMIUN -> membership.getPremiumDiscount();
+            case VIP -> membership.getVipDiscount();
+        };
+    }
+
+    private static long toFixed(BigDecimal value, int decimals, String description) {
+        try {
+            return value.setScale(decimals, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalStateException("El " + description + " " + value +
+                    " admite como máximo " + decimals + " decimales", e);
+        }
+    }
+}
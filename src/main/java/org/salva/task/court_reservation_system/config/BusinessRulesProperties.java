@@ -0,0 +1,125 @@
+package org.salva.task.court_reservation_system.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.math.BigDecimal;
+import java.time.LocalTime;
+
+/**
+ * Reglas de negocio configurables (app.business-rules en application.yml).
+ * Los valores por defecto corresponden a las reglas RN-002 a RN-034.
+ * No se leen directamente: se compilan en una instantánea inmutable ({@link BusinessRules}).
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.business-rules")
+public class BusinessRulesProperties {
+
+    private Booking booking = new Booking();
+    private Pricing pricing = new Pricing();
+    private Membership membership = new Membership();
+    private Cancellation cancellation = new Cancellation();
+    private Waitlist waitlist = new Waitlist();
+
+    @Getter
+    @Setter
+    public static class Booking {
+
+        // RN-004: Anticipación mínima
+        private int minAdvanceHours = 2;
+
+        // RN-002: Duración entre 1 y 4 horas
+        private int minDurationHours = 1;
+        private int maxDurationHours = 4;
+
+        // RN-003: Horario de operación
+        @DateTimeFormat(pattern = "HH:mm")
+        private LocalTime operationStartTime = LocalTime.of(6, 0);
+
+        @DateTimeFormat(pattern = "HH:mm")
+        private LocalTime operationEndTime = LocalTime.of(23, 0);
+
+        // RN-005: Días de anticipación según membresía
+        private MaxDaysAdvance maxDaysAdvance = new MaxDaysAdvance();
+    }
+
+    @Getter
+    @Setter
+    public static class MaxDaysAdvance {
+
+        private int noMembership = 7;
+        private int basic = 14;
+        private int premium = 30;
+        private int vip = 30;
+    }
+
+    @Getter
+    @Setter
+    public static class Pricing {
+
+        // RN-006: Horario pico (+50%)
+        private BigDecimal peakHoursMultiplier = new BigDecimal("1.5");
+
+        @DateTimeFormat(pattern = "HH:mm")
+        private LocalTime peakHoursStart = LocalTime.of(18, 0);
+
+        @DateTimeFormat(pattern = "HH:mm")
+        private LocalTime peakHoursEnd = LocalTime.of(22, 0);
+
+        // RN-007: Fin de semana (+30%)
+        private BigDecimal weekendMultiplier = new BigDecimal("1.3");
+
+        // RN-009: Horario valle (-20%)
+        private BigDecimal valleyHoursMultiplier = new BigDecimal("0.8");
+
+        @DateTimeFormat(pattern = "HH:mm")
+        private LocalTime valleyHoursStart = LocalTime.of(6, 0);
+
+        @DateTimeFormat(pattern = "HH:mm")
+        private LocalTime valleyHoursEnd = LocalTime.of(12, 0);
+
+        // RN-029: Descuento adicional por reserva recurrente
+        private BigDecimal recurrentDiscount = new BigDecimal("0.05");
+    }
+
+    @Getter
+    @Setter
+    public static class Membership {
+
+        // RN-011 a RN-013
+        private BigDecimal basicDiscount = new BigDecimal("0.10");
+        private BigDecimal premiumDiscount = new BigDecimal("0.20");
+        private BigDecimal vipDiscount = new BigDecimal("0.30");
+    }
+
+    @Getter
+    @Setter
+    public static class Cancellation {
+
+        // RN-020: Más de 24 horas
+        private BigDecimal penalty24h = BigDecimal.ZERO;
+
+        // RN-021: Entre 12 y 24 horas
+        private BigDecimal penalty12h = new BigDecimal("0.30");
+
+        // RN-022: Menos de 12 horas
+        private BigDecimal penaltyLate = new BigDecimal("0.50");
+
+        // No presentarse (no show)
+        private BigDecimal penaltyNoshow = BigDecimal.ONE;
+
+        // RN-025: Cancelación gratuita VIP hasta estas horas antes
+        private int vipGraceHours = 12;
+    }
+
+    @Getter
+    @Setter
+    public static class Waitlist {
+
+        // RN-032: Minutos que tiene el usuario para responder
+        private int notificationTimeoutMinutes = 30;
+    }
+}
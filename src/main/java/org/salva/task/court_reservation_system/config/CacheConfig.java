@@ -0,0 +1,41 @@
+package org.salva.task.court_reservation_system.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuración de cachés en memoria (Caffeine).
+ * Las invalidaciones se aplican al confirmar la transacción, para que una lectura concurrente
+ * no vuelva a cachear el estado anterior. Las estadísticas (hits, misses, evictions) se publican
+ * como métricas cache.* en /actuator/metrics.
+ */
+@Configuration
+@EnableCaching
+@Slf4j
+public class CacheConfig {
+
+    public static final String COURTS = "courts";
+    public static final String ACTIVE_COURTS = "activeCourts";
+    public static final String PACKAGES = "packages";
+    public static final String ACTIVE_PACKAGES = "activePackages";
+    public static final String USERS = "users";
+
+    @Bean
+    public CacheManager cacheManager(CachePolicyProperties cachePolicyProperties) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setAllowNullValues(false);
+
+        cachePolicyProperties.getSpecs().forEach((name, spec) -> {
+            cacheManager.registerCustomCache(name, Caffeine.from(spec).recordStats().build());
+            log.info("Cache '{}' configured with spec: {}", name, spec);
+        });
+
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
@@ -0,0 +1,26 @@
+package org.salva.task.court_reservation_system.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Políticas de las cachés (app.cache en application.yml).
+ * Cada entrada es una especificación de Caffeine: tamaño máximo y tiempo de vida.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.cache")
+public class CachePolicyProperties {
+
+    private Map<String, String> specs = new LinkedHashMap<>(Map.of(
+            CacheConfig.COURTS, "maximumSize=500,expireAfterWrite=10m",
+            CacheConfig.ACTIVE_COURTS, "maximumSize=1,expireAfterWrite=10m",
+            CacheConfig.PACKAGES, "maximumSize=200,expireAfterWrite=30m",
+            CacheConfig.ACTIVE_PACKAGES, "maximumSize=1,expireAfterWrite=30m",
+            CacheConfig.USERS, "maximumSize=10000,expireAfterWrite=5m"
+    ));
+}
@@ -0,0 +1,115 @@
+package org.salva.task.court_reservation_system.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * DataSource que limita las conexiones en uso con un semáforo justo (FIFO).
+ * Con hilos virtuales puede haber miles de solicitudes a la vez: esperan aquí, sin ocupar
+ * hilos portadores, en lugar de competir todas dentro del pool. El permiso se libera al
+ * cerrar la conexión (devolverla al pool).
+ */
+public class ConcurrencyLimitingDataSource extends DelegatingDataSource implements MeterBinder {
+
+    private final Semaphore permits;
+    private final int maxPermits;
+    private final long acquireTimeoutMillis;
+    private final LongAdder timeouts = new LongAdder();
+
+    public ConcurrencyLimitingDataSource(DataSource target, int maxPermits, long acquireTimeoutMillis) {
+        super(target);
+        this.permits = new Semaphore(maxPermits, true);
+        this.maxPermits = maxPermits;
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return releasingOnClose(super.getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return releasingOnClose(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("db.concurrency.waiting", permits, Semaphore::getQueueLength)
+                .description("Hilos esperando un permiso de conexión")
+                .register(registry);
+        Gauge.builder("db.concurrency.active", permits, semaphore -> maxPermits - semaphore.availablePermits())
+                .description("Conexiones en uso bajo el límite de concurrencia")
+                .register(registry);
+        FunctionCounter.builder("db.concurrency.timeouts", timeouts, LongAdder::sum)
+                .description("Solicitudes que no obtuvieron un permiso de conexión a tiempo")
+                .register(registry);
+    }
+
+    // ========== MÉTODOS PRIVADOS ==========
+
+    private void acquire() throws SQLException {
+        try {
+            if (!permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                timeouts.increment();
+                throw new SQLTransientConnectionException(
+                        "No connection permit available after " + acquireTimeoutMillis + " ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a connection permit", e);
+        }
+    }
+
+    private Connection releasingOnClose(Connection connection) {
+        AtomicBoolean released = new AtomicBoolean();
+
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        default:
+                            break;
+                    }
+
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    } finally {
+                        if (method.getName().equals("close") && released.compareAndSet(false, true)) {
+                            permits.release();
+                        }
+                    }
+                });
+    }
+}
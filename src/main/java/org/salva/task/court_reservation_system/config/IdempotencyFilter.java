@@ -0,0 +1,214 @@
+package org.salva.task.court_reservation_system.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.salva.task.court_reservation_system.dto.response.ErrorResponse;
+import org.salva.task.court_reservation_system.exception.BusinessException;
+import org.salva.task.court_reservation_system.exception.ConflictException;
+import org.salva.task.court_reservation_system.service.IdempotencyService;
+import org.salva.task.court_reservation_system.service.IdempotencyService.StoredResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Set;
+
+/**
+ * Filtro de idempotencia para los POST que crean reservas y compras de paquetes.
+ * Con el header Idempotency-Key, un reintento del cliente recibe la respuesta de la primera
+ * ejecución (header Idempotent-Replayed: true) en lugar de volver a validar y crear el recurso.
+ * Los errores del filtro se escriben aquí porque el manejador global no cubre los filtros.
+ */
+@Component
+@Slf4j
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 100;
+
+    private final IdempotencyService idempotencyService;
+    private final ObjectMapper objectMapper;
+    private final Set<String> paths;
+
+    public IdempotencyFilter(
+            IdempotencyService idempotencyService,
+            ObjectMapper objectMapper,
+            @Value("${app.idempotency.paths:/api/bookings,/api/bookings/recurrent,/api/user-packages/purchase}") Set<String> paths
+    ) {
+        this.idempotencyService = idempotencyService;
+        this.objectMapper = objectMapper;
+        this.paths = paths;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.POST.matches(request.getMethod())
+                || request.getHeader(IDEMPOTENCY_KEY_HEADER) == null
+                || !paths.contains(request.getRequestURI().substring(request.getContextPath().length()));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String key = request.getHeader(IDEMPOTENCY_KEY_HEADER).strip();
+        if (!isValidKey(key)) {
+            writeError(request, response, HttpStatus.BAD_REQUEST,
+                    "El header " + IDEMPOTENCY_KEY_HEADER + " debe tener entre 1 y " + MAX_KEY_LENGTH + " caracteres visibles");
+            return;
+        }
+
+        byte[] body = request.getInputStream().readAllBytes();
+
+        StoredResponse stored;
+        try {
+            stored = idempotencyService.claim(key, requestHash(request, body));
+        } catch (ConflictException e) {
+            writeError(request, response, HttpStatus.CONFLICT, e.getMessage());
+            return;
+        } catch (BusinessException e) {
+            writeError(request, response, HttpStatus.UNPROCESSABLE_ENTITY, e.getMessage());
+            return;
+        }
+
+        if (stored != null) {
+            log.debug("Replaying stored response for idempotency key {}", key);
+            replay(response, stored);
+            return;
+        }
+
+        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(new CachedBodyRequest(request, body), responseWrapper);
+        } catch (IOException | ServletException | RuntimeException e) {
+            idempotencyService.release(key);
+            throw e;
+        }
+
+        idempotencyService.complete(key, new StoredResponse(
+                responseWrapper.getStatus(), responseWrapper.getContentType(), responseWrapper.getContentAsByteArray()));
+        responseWrapper.copyBodyToResponse();
+    }
+
+    // ========== MÉTODOS PRIVADOS ==========
+
+    private boolean isValidKey(String key) {
+        return !key.isEmpty() && key.length() <= MAX_KEY_LENGTH
+                && key.chars().allMatch(c -> c > 0x20 && c < 0x7f);
+    }
+
+    /**
+     * SHA-256 de método, ruta y cuerpo
+     */
+    private String requestHash(HttpServletRequest request, byte[] body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((request.getMethod() + " " + request.getRequestURI() + "\n").getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    private void replay(HttpServletResponse response, StoredResponse stored) throws IOException {
+        response.setStatus(stored.status());
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    private void writeError(HttpServletRequest request, HttpServletResponse response, HttpStatus status, String message)
+            throws IOException {
+        log.warn("Idempotency check rejected request: {}", message);
+
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .status(status.value())
+                .error(status.getReasonPhrase())
+                .message(message)
+                .timestamp(LocalDateTime.now())
+                .path(request.getRequestURI())
+                .build();
+
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getOutputStream(), errorResponse);
+    }
+
+    /**
+     * Solicitud con el cuerpo ya leído (se necesitó para calcular el hash)
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        private CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException("Lectura asíncrona no soportada");
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return input.read(buffer, offset, length);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+    }
+}
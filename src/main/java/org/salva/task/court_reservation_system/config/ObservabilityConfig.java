@@ -0,0 +1,26 @@
+package org.salva.task.court_reservation_system.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuración de métricas de la aplicación.
+ * Los servicios anotados con @Timed(SERVICE_CALLS_METRIC) registran un timer por clase y método;
+ * las consultas de repositorios (spring.data.repository.invocations) y el pool Hikari
+ * (hikaricp.connections.*) los instrumenta Spring Boot. Todo se publica en /actuator/prometheus.
+ */
+@Configuration
+public class ObservabilityConfig {
+
+    public static final String SERVICE_CALLS_METRIC = "service.calls";
+
+    /**
+     * Aspecto que aplica @Timed a los beans anotados
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+}
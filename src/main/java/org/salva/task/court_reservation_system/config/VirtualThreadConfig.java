@@ -0,0 +1,62 @@
+package org.salva.task.court_reservation_system.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Modo de hilos virtuales (spring.threads.virtual.enabled=true).
+ * Spring Boot ya ejecuta en hilos virtuales las solicitudes de Tomcat, el executor de tareas
+ * (@Async, respuestas asíncronas de MVC) y el scheduler; aquí se agrega el límite de
+ * concurrencia sobre la base de datos, igual por defecto al tamaño del pool Hikari.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+@Slf4j
+public class VirtualThreadConfig {
+
+    @Bean
+    public static BeanPostProcessor dataSourceConcurrencyLimiter(
+            @Value("${app.db-concurrency.permits:0}") int permits,
+            @Value("${app.db-concurrency.acquire-timeout-millis:0}") long acquireTimeoutMillis
+    ) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ConcurrencyLimitingDataSource) {
+                    return bean;
+                }
+
+                // Por defecto: tamaño y tiempo de espera del pool Hikari
+                int maxPermits = permits;
+                long timeoutMillis = acquireTimeoutMillis;
+                if (bean instanceof HikariDataSource hikari) {
+                    maxPermits = maxPermits > 0 ? maxPermits : hikari.getMaximumPoolSize();
+                    timeoutMillis = timeoutMillis > 0 ? timeoutMillis : hikari.getConnectionTimeout();
+                }
+                maxPermits = maxPermits > 0 ? maxPermits : 10;
+                timeoutMillis = timeoutMillis > 0 ? timeoutMillis : 30_000L;
+
+                log.info("Limiting DataSource '{}' to {} concurrent connections", beanName, maxPermits);
+                return new ConcurrencyLimitingDataSource(dataSource, maxPermits, timeoutMillis);
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder dataSourceConcurrencyMetrics(DataSource dataSource) {
+        return registry -> {
+            if (dataSource instanceof ConcurrencyLimitingDataSource limitingDataSource) {
+                limitingDataSource.bindTo(registry);
+            }
+        };
+    }
+}
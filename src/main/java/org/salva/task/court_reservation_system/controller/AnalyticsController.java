@@ -0,0 +1,57 @@
+package org.salva.task.court_reservation_system.controller;
+
+import org.salva.task.court_reservation_system.dto.response.CourtStatsResponseDTO;
+import org.salva.task.court_reservation_system.dto.response.DailyStatsResponseDTO;
+import org.salva.task.court_reservation_system.service.AnalyticsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Controller para los reportes de ingresos y ocupación de canchas
+ */
+@RestController
+@RequestMapping("/api/analytics")
+@RequiredArgsConstructor
+@Tag(name = "Analytics", description = "API de reportes de ingresos y ocupación")
+public class AnalyticsController {
+
+    private final AnalyticsService analyticsService;
+
+    @GetMapping("/courts")
+    @Operation(summary = "Ingresos y ocupación por cancha",
+            description = "Totales por cancha en el rango (hasta app.analytics.max-range-days), ordenados por ingresos")
+    public ResponseEntity<List<CourtStatsResponseDTO>> getCourtReport(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate
+    ) {
+        return ResponseEntity.ok(analyticsService.getCourtReport(startDate, endDate));
+    }
+
+    @GetMapping("/daily")
+    @Operation(summary = "Ingresos y ocupación por día",
+            description = "Serie diaria de una cancha o, sin courtId, de todas las canchas")
+    public ResponseEntity<List<DailyStatsResponseDTO>> getDailyReport(
+            @RequestParam(required = false) Long courtId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate
+    ) {
+        return ResponseEntity.ok(analyticsService.getDailyReport(courtId, startDate, endDate));
+    }
+
+    @PostMapping("/reconcile")
+    @Operation(summary = "Recalcular estadísticas",
+            description = "Recalcula desde las reservas las estadísticas diarias del rango (solo días cerrados)")
+    public ResponseEntity<Integer> reconcile(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate
+    ) {
+        return ResponseEntity.ok(analyticsService.reconcile(startDate, endDate));
+    }
+}
@@ -4,17 +4,29 @@ import org.salva.task.court_reservation_system.dto.request.BookingRequestDTO;
 import org.salva.task.court_reservation_system.dto.request.CancellationRequestDTO;
 import org.salva.task.court_reservation_system.dto.request.RecurrentBookingRequestDTO;
 import org.salva.task.court_reservation_system.dto.response.*;
+import org.salva.task.court_reservation_system.enums.BookingImportFormat;
 import org.salva.task.court_reservation_system.enums.BookingStatus;
+import org.salva.task.court_reservation_system.enums.SportType;
+import org.salva.task.court_reservation_system.service.AvailabilityFeedService;
+import org.salva.task.court_reservation_system.service.BookingHistoryService;
+import org.salva.task.court_reservation_system.service.BookingImportService;
 import org.salva.task.court_reservation_system.service.BookingService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -27,7 +39,14 @@ import java.util.List;
 @Tag(name = "Bookings", description = "API para gestión de reservas de canchas")
 public class BookingController {
 
+    private static final String TEXT_CSV_VALUE = "text/csv";
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType(TEXT_CSV_VALUE);
+
     private final BookingService bookingService;
+    private final BookingHistoryService bookingHistoryService;
+    private final BookingImportService bookingImportService;
+    private final AvailabilityFeedService availabilityFeedService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     @Operation(summary = "Crear una reserva simple", description = "Crea una nueva reserva validando disponibilidad y calculando precios")
@@ -45,6 +64,35 @@ public class BookingController {
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
+    @PostMapping(value = "/import",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, TEXT_CSV_VALUE},
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Importar reservas en forma masiva",
+            description = "Recibe un arreglo JSON de reservas o un CSV con encabezado (userId,courtId,bookingDate,startTime,endTime). "
+                    + "Responde una línea NDJSON por fila, en el orden del archivo, y al final el resumen")
+    public ResponseEntity<StreamingResponseBody> importBookings(HttpServletRequest request) {
+        BookingImportFormat format = MediaType.parseMediaType(request.getContentType()).isCompatibleWith(TEXT_CSV)
+                ? BookingImportFormat.CSV
+                : BookingImportFormat.JSON;
+
+        // El archivo se lee mientras se escriben los resultados: nunca está completo en memoria
+        StreamingResponseBody body = outputStream -> {
+            BookingImportSummaryDTO summary = bookingImportService.importBookings(request.getInputStream(), format, result -> {
+                try {
+                    outputStream.write(objectMapper.writeValueAsBytes(result));
+                    outputStream.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            outputStream.write(objectMapper.writeValueAsBytes(summary));
+            outputStream.write('\n');
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Obtener reserva por ID", description = "Obtiene los detalles completos de una reserva")
     public ResponseEntity<BookingDetailResponseDTO> getBookingById(@PathVariable Long id) {
@@ -69,6 +117,40 @@ public class BookingController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/user/{userId}/history")
+    @Operation(summary = "Obtener el historial de reservas de un usuario paginado por cursor",
+            description = "Ordenado por fecha, hora de inicio e id. Para la página siguiente se envía el nextCursor de la respuesta")
+    public ResponseEntity<BookingPageResponseDTO> getBookingHistory(
+            @PathVariable Long userId,
+            @RequestParam(required = false) BookingStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        BookingPageResponseDTO response = bookingHistoryService.getBookingHistory(userId, status, cursor, size);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping(value = "/user/{userId}/history/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Descargar el historial completo de reservas de un usuario",
+            description = "Una reserva JSON por línea (NDJSON), escrita a medida que se lee de la base de datos")
+    public ResponseEntity<StreamingResponseBody> streamBookingHistory(
+            @PathVariable Long userId,
+            @RequestParam(required = false) BookingStatus status
+    ) {
+        // Solicitud asíncrona: su límite es spring.mvc.async.request-timeout, no el de Tomcat
+        StreamingResponseBody body = outputStream -> bookingHistoryService.streamBookingHistory(userId, status, booking -> {
+            try {
+                outputStream.write(objectMapper.writeValueAsBytes(booking));
+                outputStream.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     @GetMapping("/user/{userId}/future")
     @Operation(summary = "Obtener reservas futuras de un usuario")
     public ResponseEntity<List<BookingResponseDTO>> getFutureBookingsByUser(@PathVariable Long userId) {
@@ -86,6 +168,30 @@ public class BookingController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping(value = "/court/{courtId}/availability/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Disponibilidad en vivo de una cancha (SSE)",
+            description = "Envía la disponibilidad actual (evento snapshot) y luego cada reserva, liberación u oferta de lista de espera de esa fecha")
+    public SseEmitter streamCourtAvailability(
+            @PathVariable Long courtId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date
+    ) {
+        return availabilityFeedService.subscribe(courtId, date, () -> bookingService.getCourtAvailability(courtId, date));
+    }
+
+    @GetMapping("/availability/matrix")
+    @Operation(summary = "Obtener disponibilidad de varias canchas en un rango de fechas",
+            description = "Devuelve slots libres y ocupados por cancha y día. Filtra por IDs de cancha o por tipo de deporte")
+    public ResponseEntity<AvailabilityMatrixResponseDTO> getAvailabilityMatrix(
+            @RequestParam(required = false) List<Long> courtIds,
+            @RequestParam(required = false) SportType sportType,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate
+    ) {
+        AvailabilityMatrixResponseDTO response =
+                bookingService.getAvailabilityMatrix(courtIds, sportType, startDate, endDate);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/check-overlap")
     @Operation(summary = "Verificar solapamiento de horarios")
     public ResponseEntity<Boolean> checkOverlap(
@@ -0,0 +1,34 @@
+package org.salva.task.court_reservation_system.controller;
+
+import org.salva.task.court_reservation_system.config.BusinessRulesProperties;
+import org.salva.task.court_reservation_system.service.BusinessRulesService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Controller para consultar y recargar las reglas de negocio
+ */
+@RestController
+@RequestMapping("/api/business-rules")
+@RequiredArgsConstructor
+@Tag(name = "Business Rules", description = "API para consultar y recargar las reglas de negocio")
+public class BusinessRulesController {
+
+    private final BusinessRulesService businessRulesService;
+
+    @GetMapping
+    @Operation(summary = "Obtener las reglas vigentes")
+    public ResponseEntity<BusinessRulesProperties> getBusinessRules() {
+        return ResponseEntity.ok(businessRulesService.current().getSource());
+    }
+
+    @PostMapping("/reload")
+    @Operation(summary = "Recargar las reglas",
+            description = "Vuelve a leer app.business-rules y el archivo de recarga, si se configuró")
+    public ResponseEntity<BusinessRulesProperties> reloadBusinessRules() {
+        return ResponseEntity.ok(businessRulesService.reload().getSource());
+    }
+}
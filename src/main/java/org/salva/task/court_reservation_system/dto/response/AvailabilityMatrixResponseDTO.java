@@ -0,0 +1,67 @@
+package org.salva.task.court_reservation_system.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * DTO para mostrar disponibilidad de varias canchas en un rango de fechas.
+ * Los horarios, fechas y factores de precio se escriben una sola vez;
+ * cada cancha solo referencia índices de slot.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AvailabilityMatrixResponseDTO {
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate startDate;
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate endDate;
+
+    private Integer slotDurationMinutes;
+
+    @JsonFormat(pattern = "HH:mm")
+    private List<LocalTime> slotStartTimes;
+
+    private List<DayDTO> days;
+    private List<CourtRowDTO> courts;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class DayDTO {
+        @JsonFormat(pattern = "yyyy-MM-dd")
+        private LocalDate date;
+
+        private List<BigDecimal> priceFactors;  // Un factor por slot (mismo orden que slotStartTimes)
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class CourtRowDTO {
+        private Long courtId;
+        private String courtName;
+        private BigDecimal basePricePerHour;
+
+        private List<CourtDayDTO> availability;  // Un elemento por día (mismo orden que days)
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class CourtDayDTO {
+        private List<Integer> freeSlots;      // Índices en slotStartTimes
+        private List<Integer> occupiedSlots;  // Índices en slotStartTimes
+    }
+}
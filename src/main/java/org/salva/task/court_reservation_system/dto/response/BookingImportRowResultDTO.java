@@ -0,0 +1,25 @@
+package org.salva.task.court_reservation_system.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * DTO con el resultado de una fila de la importación masiva (una línea NDJSON por fila)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BookingImportRowResultDTO {
+
+    private Integer row;       // Número de fila en el archivo, desde 1
+    private String status;     // "CREATED", "FAILED"
+    private Long bookingId;
+    private BigDecimal price;
+    private String reason;     // Si falló
+    private List<ErrorResponse.FieldError> fieldErrors;
+}
@@ -0,0 +1,21 @@
+package org.salva.task.court_reservation_system.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+
+/**
+ * DTO con el resumen de la importación masiva (última línea de la respuesta)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BookingImportSummaryDTO {
+
+    private Integer totalRows;
+    private Integer createdRows;
+    private Integer failedRows;
+    private Long durationMillis;
+    private String error;      // Si el archivo no se pudo leer completo (las filas anteriores quedan importadas)
+}
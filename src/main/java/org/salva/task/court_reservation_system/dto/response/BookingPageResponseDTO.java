@@ -0,0 +1,21 @@
+package org.salva.task.court_reservation_system.dto.response;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * DTO de una página del historial de reservas (paginación por cursor).
+ * nextCursor es opaco: se envía tal cual para pedir la página siguiente.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BookingPageResponseDTO {
+
+    private List<BookingResponseDTO> bookings;
+
+    private String nextCursor;
+    private Boolean hasMore;
+}
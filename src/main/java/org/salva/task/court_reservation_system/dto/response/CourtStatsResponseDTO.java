@@ -0,0 +1,26 @@
+package org.salva.task.court_reservation_system.dto.response;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO de respuesta con los ingresos y la ocupación de una cancha en un periodo
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CourtStatsResponseDTO {
+
+    private Long courtId;
+    private String courtName;
+    private Long bookings;
+    private BigDecimal bookedHours;
+    private BigDecimal utilizationPercentage;  // Horas reservadas sobre horas de operación del periodo
+    private BigDecimal revenue;
+    private Long cancellations;
+    private BigDecimal penalties;
+    private BigDecimal totalIncome;            // Ingresos de reservas + penalizaciones
+    private BigDecimal packageHours;
+}
@@ -0,0 +1,26 @@
+package org.salva.task.court_reservation_system.dto.response;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * DTO de respuesta con los ingresos y la ocupación de un día (de una cancha o de todas)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DailyStatsResponseDTO {
+
+    private LocalDate date;
+    private Long bookings;
+    private BigDecimal bookedHours;
+    private BigDecimal utilizationPercentage;  // Horas reservadas sobre horas de operación del día
+    private BigDecimal revenue;
+    private Long cancellations;
+    private BigDecimal penalties;
+    private BigDecimal totalIncome;            // Ingresos de reservas + penalizaciones
+    private BigDecimal packageHours;
+}
@@ -0,0 +1,35 @@
+package org.salva.task.court_reservation_system.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import org.salva.task.court_reservation_system.enums.SlotChangeType;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * DTO de un cambio de disponibilidad (evento del feed en vivo de una cancha y fecha)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlotChangeDTO {
+
+    private SlotChangeType type;
+    private Long courtId;
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate date;
+
+    @JsonFormat(pattern = "HH:mm")
+    private LocalTime startTime;
+
+    @JsonFormat(pattern = "HH:mm")
+    private LocalTime endTime;
+
+    // Solo para OFERTA_LISTA_ESPERA: el horario vuelve a estar libre si la oferta vence
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime offerExpiresAt;
+}
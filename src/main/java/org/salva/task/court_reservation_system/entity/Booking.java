@@ -19,7 +19,8 @@ import java.time.LocalTime;
         indexes = {
                 @Index(name = "idx_booking_date_time", columnList = "booking_date, start_time, end_time"),
                 @Index(name = "idx_booking_status", columnList = "status"),
-                @Index(name = "idx_booking_user", columnList = "user_id")
+                @Index(name = "idx_booking_user_history", columnList = "user_id, booking_date, start_time, id"),
+                @Index(name = "idx_booking_reminder_due", columnList = "starts_at")
         }
 )
 @Getter
@@ -29,8 +30,10 @@ import java.time.LocalTime;
 @Builder
 public class Booking {
 
+    // Secuencia con asignación por bloques (pooled-lo): permite insertar reservas en lote
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "booking_seq")
+    @SequenceGenerator(name = "booking_seq", sequenceName = "bookings_seq", allocationSize = 50)
     private Long id;
 
     // ========== RELACIONES ==========
@@ -128,12 +131,22 @@ public class Booking {
     @Column(name = "penalty_amount", precision = 10, scale = 2)
     private BigDecimal penaltyAmount;
 
+    // ========== RECORDATORIOS ==========
+
+    // Fecha y hora de inicio combinadas: permite buscar por rango aunque cruce la medianoche
+    @Column(name = "starts_at", nullable = false)
+    private LocalDateTime startsAt;
+
+    @Column(name = "reminder_sent_at")
+    private LocalDateTime reminderSentAt;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
         if (status == null) {
             status = BookingStatus.PENDIENTE;
         }
+        startsAt = LocalDateTime.of(bookingDate, startTime);
     }
 
     @PreUpdate
@@ -141,5 +154,6 @@ public class Booking {
         if (status == BookingStatus.CANCELADA && cancelledAt == null) {
             cancelledAt = LocalDateTime.now();
         }
+        startsAt = LocalDateTime.of(bookingDate, startTime);
     }
 }
@@ -16,7 +16,8 @@ import java.math.BigDecimal;
 @Builder
 public class Court {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "court_seq")
+    @SequenceGenerator(name = "court_seq", sequenceName = "courts_seq", allocationSize = 50)
     private int id;
 
     @NotBlank(message = "El nombre es obligatorio")
@@ -24,7 +25,7 @@ public class Court {
     @Column(nullable = false, length = 100)
     private String name;
 
-    @NotBlank(message = "El tipo de deporte es obligatorio")
+    @NotNull(message = "El tipo de deporte es obligatorio")
     @Enumerated(EnumType.STRING)
     @Column(nullable = false, length = 20)
     private SportType sportType;
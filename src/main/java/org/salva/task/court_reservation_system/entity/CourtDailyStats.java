@@ -0,0 +1,63 @@
+package org.salva.task.court_reservation_system.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Estadísticas pre-agregadas de una cancha en un día (rollup).
+ * Se actualizan con los eventos de reservas y se recalculan cada noche desde la tabla de reservas.
+ */
+@Entity
+@Table(name = "court_daily_stats",
+        uniqueConstraints = @UniqueConstraint(name = "uk_court_daily_stats_court_date",
+                columnNames = {"court_id", "stat_date"}),
+        indexes = @Index(name = "idx_court_daily_stats_date", columnList = "stat_date, court_id")
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CourtDailyStats {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "court_daily_stats_seq")
+    @SequenceGenerator(name = "court_daily_stats_seq", sequenceName = "court_daily_stats_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "court_id", nullable = false, updatable = false)
+    private Long courtId;
+
+    @Column(name = "stat_date", nullable = false, updatable = false)
+    private LocalDate statDate;
+
+    // Reservas confirmadas o completadas
+    @Column(nullable = false)
+    private Integer bookings;
+
+    @Column(name = "booked_minutes", nullable = false)
+    private Long bookedMinutes;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal revenue;
+
+    @Column(nullable = false)
+    private Integer cancellations;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal penalties;
+
+    @Column(name = "package_hours", nullable = false, precision = 10, scale = 2)
+    private BigDecimal packageHours;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    // Inicio de la última reconciliación: las variaciones observadas antes ya están incluidas
+    @Column(name = "reconciled_at")
+    private LocalDateTime reconciledAt;
+}
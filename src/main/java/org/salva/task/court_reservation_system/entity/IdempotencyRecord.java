@@ -0,0 +1,80 @@
+package org.salva.task.court_reservation_system.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.salva.task.court_reservation_system.enums.IdempotencyStatus;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Respuesta guardada de una solicitud POST con Idempotency-Key.
+ * Mientras la solicitud se ejecuta la fila queda EN_PROCESO y bloquea la clave en todas las instancias.
+ */
+@Entity
+@Table(name = "idempotency_records",
+        indexes = {
+                @Index(name = "idx_idempotency_expires", columnList = "expires_at")
+        }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IdempotencyRecord implements Persistable<String> {
+
+    @Id
+    @Column(name = "idempotency_key", length = 100)
+    private String idempotencyKey;
+
+    // SHA-256 de método, ruta y cuerpo: la misma clave con otra solicitud se rechaza
+    @Column(name = "request_hash", nullable = false, length = 64, updatable = false)
+    private String requestHash;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private IdempotencyStatus status;
+
+    // Ejecución que tiene la clave EN_PROCESO: solo ella guarda la respuesta o la libera
+    @Column(name = "owner_token", length = 36)
+    private String ownerToken;
+
+    @Column(name = "response_status")
+    private Integer responseStatus;
+
+    @Column(name = "content_type", length = 100)
+    private String contentType;
+
+    @Column(name = "response_body", length = 65536)
+    private byte[] responseBody;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    // EN_PROCESO: plazo para que otra instancia retome la clave si esta cae; COMPLETADA: fin del TTL
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    // Solo al crear la fila: save() hace INSERT y una instancia concurrente falla por clave duplicada
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @Builder.Default
+    private boolean newRow = false;
+
+    @Override
+    public String getId() {
+        return idempotencyKey;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newRow;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
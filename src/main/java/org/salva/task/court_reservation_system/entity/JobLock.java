@@ -0,0 +1,51 @@
+package org.salva.task.court_reservation_system.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Lock de un job programado: solo el nodo que lo tiene hasta lockedUntil ejecuta el job
+ */
+@Entity
+@Table(name = "job_locks")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class JobLock implements Persistable<String> {
+
+    @Id
+    @Column(length = 100)
+    private String name;
+
+    @Column(name = "locked_until", nullable = false)
+    private LocalDateTime lockedUntil;
+
+    @Column(name = "locked_at", nullable = false)
+    private LocalDateTime lockedAt;
+
+    @Column(name = "locked_by", nullable = false, length = 150)
+    private String lockedBy;
+
+    // Solo al crear la fila: save() hace INSERT en lugar de merge, así un nodo concurrente
+    // falla por clave duplicada en vez de sobrescribir el lock recién tomado
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @Builder.Default
+    private boolean newRow = false;
+
+    @Override
+    public String getId() {
+        return name;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newRow;
+    }
+}
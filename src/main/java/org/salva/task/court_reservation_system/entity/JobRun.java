@@ -0,0 +1,55 @@
+package org.salva.task.court_reservation_system.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import lombok.*;
+import org.salva.task.court_reservation_system.enums.JobRunStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Ejecución de un job programado (historial de solo inserción)
+ */
+@Entity
+@Table(name = "job_runs",
+        indexes = {
+                @Index(name = "idx_job_run_name_started", columnList = "job_name, started_at")
+        }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class JobRun {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "job_run_seq")
+    @SequenceGenerator(name = "job_run_seq", sequenceName = "job_runs_seq", allocationSize = 50)
+    private Long id;
+
+    @NotBlank
+    @Column(name = "job_name", nullable = false, length = 100, updatable = false)
+    private String jobName;
+
+    @NotBlank
+    @Column(nullable = false, length = 150, updatable = false)
+    private String node;
+
+    @Column(name = "started_at", nullable = false, updatable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "duration_millis", nullable = false, updatable = false)
+    private Long durationMillis;
+
+    @Column(name = "rows_processed", nullable = false, updatable = false)
+    private Integer rowsProcessed;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20, updatable = false)
+    private JobRunStatus status;
+
+    @Column(name = "error_message", length = 500, updatable = false)
+    private String errorMessage;
+}
@@ -0,0 +1,73 @@
+package org.salva.task.court_reservation_system.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import lombok.*;
+import org.salva.task.court_reservation_system.enums.NotificationStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Notificación pendiente de envío (outbox transaccional).
+ * Se inserta en la misma transacción que el cambio que la origina y se envía después del commit.
+ */
+@Entity
+@Table(name = "notification_outbox",
+        indexes = {
+                @Index(name = "idx_notification_status_next", columnList = "status, next_attempt_at")
+        }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NotificationOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notification_outbox_seq")
+    @SequenceGenerator(name = "notification_outbox_seq", sequenceName = "notification_outbox_seq", allocationSize = 50)
+    private Long id;
+
+    @NotBlank
+    @Column(nullable = false, length = 30, updatable = false)
+    private String channel;
+
+    @NotBlank
+    @Column(nullable = false, length = 150, updatable = false)
+    private String recipient;
+
+    @NotBlank
+    @Column(nullable = false, length = 200, updatable = false)
+    private String subject;
+
+    @NotBlank
+    @Column(nullable = false, length = 2000, updatable = false)
+    private String body;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private NotificationStatus status;
+
+    @Column(nullable = false)
+    private Integer attempts;
+
+    // Próximo intento: también actúa como plazo para que el despachador en memoria la envíe
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
@@ -16,7 +16,8 @@ import java.math.BigDecimal;
 public class Package {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "package_seq")
+    @SequenceGenerator(name = "package_seq", sequenceName = "packages_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "El nombre del paquete es obligatorio")
@@ -0,0 +1,57 @@
+package org.salva.task.court_reservation_system.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import lombok.*;
+import org.salva.task.court_reservation_system.enums.PackageMovementType;
+
+import java.time.LocalDateTime;
+
+/**
+ * Movimiento de horas de un paquete (registro de solo inserción).
+ * El saldo vigente está en UserPackage.remainingHours; aquí queda el historial de cada cambio.
+ */
+@Entity
+@Table(name = "package_hours_movements",
+        indexes = {
+                @Index(name = "idx_package_movement_package", columnList = "user_package_id"),
+                @Index(name = "idx_package_movement_booking", columnList = "booking_id")
+        }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PackageHoursMovement {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "package_movement_seq")
+    @SequenceGenerator(name = "package_movement_seq", sequenceName = "package_hours_movements_seq", allocationSize = 50)
+    private Long id;
+
+    @NotNull
+    @Column(name = "user_package_id", nullable = false, updatable = false)
+    private Long userPackageId;
+
+    @Column(name = "booking_id", updatable = false)
+    private Long bookingId;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20, updatable = false)
+    private PackageMovementType type;
+
+    @NotNull
+    @Min(value = 1)
+    @Column(nullable = false, updatable = false)
+    private Integer hours;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
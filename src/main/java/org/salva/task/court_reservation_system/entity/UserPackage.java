@@ -25,7 +25,8 @@ import java.time.LocalDateTime;
 public class UserPackage {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_package_seq")
+    @SequenceGenerator(name = "user_package_seq", sequenceName = "user_packages_seq", allocationSize = 50)
     private Long id;
 
     // ========== RELACIONES ==========
@@ -61,28 +62,17 @@ public class UserPackage {
     @Column(nullable = false)
     private Boolean active = true;
 
+    // Control de concurrencia optimista (las actualizaciones masivas también lo incrementan)
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
         purchaseDate = LocalDateTime.now();
         remainingHours = initialHours;
     }
 
-    /**
-     * Descuenta horas del paquete
-     * @param hours Cantidad de horas a descontar
-     * @return true si se descontó exitosamente, false si no hay suficientes horas
-     */
-    public boolean deductHours(int hours) {
-        if (remainingHours >= hours && active && !isExpired()) {
-            remainingHours -= hours;
-            if (remainingHours == 0) {
-                active = false;
-            }
-            return true;
-        }
-        return false;
-    }
-
     /**
      * Verifica si el paquete está vencido
      */
@@ -17,6 +17,11 @@ import java.time.LocalTime;
                 @Index(name = "idx_waiting_court_date", columnList = "court_id, desired_date"),
                 @Index(name = "idx_waiting_user", columnList = "user_id"),
                 @Index(name = "idx_waiting_notified", columnList = "notified")
+        },
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_waiting_slot_sequence", columnNames = {
+                        "court_id", "desired_date", "desired_start_time", "desired_end_time", "queue_sequence"
+                })
         }
 )
 @Getter
@@ -27,7 +32,8 @@ import java.time.LocalTime;
 public class WaitingList {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "waiting_list_seq")
+    @SequenceGenerator(name = "waiting_list_seq", sequenceName = "waiting_list_seq", allocationSize = 50)
     private Long id;
 
     // ========== RELACIONES ==========
@@ -54,6 +60,10 @@ public class WaitingList {
     @Column(name = "desired_end_time", nullable = false)
     private LocalTime desiredEndTime;
 
+    // Orden de llegada dentro del horario (1, 2, 3...): define la posición en la cola
+    @Column(name = "queue_sequence", nullable = false, updatable = false)
+    private Long queueSequence;
+
     // ========== CONTROL DE NOTIFICACIONES ==========
 
     @Column(name = "request_date", nullable = false, updatable = false)
@@ -0,0 +1,7 @@
+package org.salva.task.court_reservation_system.enums;
+
+public enum IdempotencyStatus {
+
+    EN_PROCESO,
+    COMPLETADA
+}
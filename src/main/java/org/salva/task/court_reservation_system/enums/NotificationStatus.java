@@ -0,0 +1,8 @@
+package org.salva.task.court_reservation_system.enums;
+
+public enum NotificationStatus {
+
+    PENDIENTE,
+    ENVIADA,
+    FALLIDA
+}
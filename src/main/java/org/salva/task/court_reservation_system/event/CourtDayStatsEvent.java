@@ -0,0 +1,57 @@
+package org.salva.task.court_reservation_system.event;
+
+import org.salva.task.court_reservation_system.entity.Booking;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Evento con la variación de las estadísticas diarias de una cancha
+ * (reserva confirmada: valores positivos; cancelación: se restan y suma la penalización)
+ */
+public record CourtDayStatsEvent(
+        Long courtId,
+        LocalDate date,
+        int bookings,
+        long bookedMinutes,
+        BigDecimal revenue,
+        int cancellations,
+        BigDecimal penalties,
+        BigDecimal packageHours
+) {
+
+    public static CourtDayStatsEvent booked(Booking booking) {
+        return new CourtDayStatsEvent(
+                (long) booking.getCourt().getId(),
+                booking.getBookingDate(),
+                1,
+                minutes(booking),
+                orZero(booking.getTotalPrice()),
+                0,
+                BigDecimal.ZERO,
+                orZero(booking.getHoursDeducted())
+        );
+    }
+
+    public static CourtDayStatsEvent cancelled(Booking booking) {
+        return new CourtDayStatsEvent(
+                (long) booking.getCourt().getId(),
+                booking.getBookingDate(),
+                -1,
+                -minutes(booking),
+                orZero(booking.getTotalPrice()).negate(),
+                1,
+                orZero(booking.getPenaltyAmount()),
+                orZero(booking.getHoursDeducted()).negate()
+        );
+    }
+
+    private static long minutes(Booking booking) {
+        return ChronoUnit.MINUTES.between(booking.getStartTime(), booking.getEndTime());
+    }
+
+    private static BigDecimal orZero(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
+    }
+}
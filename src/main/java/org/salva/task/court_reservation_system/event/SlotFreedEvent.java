@@ -0,0 +1,10 @@
+package org.salva.task.court_reservation_system.event;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Evento publicado al liberarse el horario de una reserva (cancelación)
+ */
+public record SlotFreedEvent(Long courtId, LocalDate date, LocalTime startTime, LocalTime endTime) {
+}
@@ -0,0 +1,19 @@
+package org.salva.task.court_reservation_system.event;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Evento publicado al notificar a un usuario de la lista de espera por un horario;
+ * la oferta vence en expiresAt si no la confirma
+ */
+public record WaitingOfferSentEvent(
+        Long waitingListId,
+        Long courtId,
+        LocalDate date,
+        LocalTime startTime,
+        LocalTime endTime,
+        LocalDateTime expiresAt
+) {
+}
@@ -0,0 +1,10 @@
+package org.salva.task.court_reservation_system.exception;
+
+/**
+ * Conflicto con el estado actual (por ejemplo, el horario ya fue tomado por otra reserva)
+ */
+public class ConflictException extends BusinessException {
+    public ConflictException(String message) {
+        super(message);
+    }
+}
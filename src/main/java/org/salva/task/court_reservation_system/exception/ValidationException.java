@@ -1,7 +1,23 @@
 package org.salva.task.court_reservation_system.exception;
 
+import org.salva.task.court_reservation_system.dto.response.ErrorResponse;
+
+import java.util.List;
+
 public class ValidationException extends RuntimeException {
+
+    private final List<ErrorResponse.FieldError> fieldErrors;
+
     public ValidationException(String message) {
+        this(message, List.of());
+    }
+
+    public ValidationException(String message, List<ErrorResponse.FieldError> fieldErrors) {
         super(message);
+        this.fieldErrors = List.copyOf(fieldErrors);
+    }
+
+    public List<ErrorResponse.FieldError> getFieldErrors() {
+        return fieldErrors;
     }
 }
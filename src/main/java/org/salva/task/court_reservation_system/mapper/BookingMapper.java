@@ -58,6 +58,8 @@ public interface BookingMapper {
     @Mapping(target = "cancellationReason", ignore = true)
     @Mapping(target = "penaltyPercentage", ignore = true)
     @Mapping(target = "penaltyAmount", ignore = true)
+    @Mapping(target = "startsAt", ignore = true)
+    @Mapping(target = "reminderSentAt", ignore = true)
     Booking toEntity(BookingRequestDTO requestDTO);
 
     /**
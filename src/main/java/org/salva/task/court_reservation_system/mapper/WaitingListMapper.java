@@ -26,6 +26,7 @@ public interface WaitingListMapper {
     @Mapping(target = "user", ignore = true)
     @Mapping(target = "court", ignore = true)
     @Mapping(target = "requestDate", ignore = true)
+    @Mapping(target = "queueSequence", ignore = true)
     @Mapping(target = "notified", constant = "false")
     @Mapping(target = "notificationDate", ignore = true)
     @Mapping(target = "notificationExpirationDate", ignore = true)
@@ -0,0 +1,87 @@
+package org.salva.task.court_reservation_system.notification;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Canal local para desarrollo y pruebas: registra cada notificación en el log,
+ * conserva las últimas en memoria y, si se configura un archivo, las agrega a él (una por línea)
+ */
+@Component
+@Slf4j
+public class LocalNotificationChannel implements NotificationChannel {
+
+    public static final String NAME = "local";
+
+    private static final int MAX_RETAINED = 1000;
+
+    private final Deque<NotificationMessage> sent = new ArrayDeque<>();
+    private final Path file;
+
+    public LocalNotificationChannel(@Value("${app.notifications.local.file:}") String file) {
+        this.file = file.isBlank() ? null : Path.of(file);
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public void send(List<NotificationMessage> messages) {
+        if (file != null) {
+            appendToFile(messages);
+        }
+
+        synchronized (sent) {
+            for (NotificationMessage message : messages) {
+                log.info("NOTIFICATION to {}: {}", message.recipient(), message.subject());
+                sent.addLast(message);
+                if (sent.size() > MAX_RETAINED) {
+                    sent.removeFirst();
+                }
+            }
+        }
+    }
+
+    /**
+     * Últimas notificaciones enviadas, de la más antigua a la más reciente
+     */
+    public List<NotificationMessage> getSent() {
+        synchronized (sent) {
+            return new ArrayList<>(sent);
+        }
+    }
+
+    // ========== MÉTODOS PRIVADOS ==========
+
+    private void appendToFile(List<NotificationMessage> messages) {
+        StringBuilder lines = new StringBuilder();
+        for (NotificationMessage message : messages) {
+            lines.append(LocalDateTime.now()).append('\t')
+                    .append(message.recipient()).append('\t')
+                    .append(message.subject()).append('\t')
+                    .append(message.body().replace('\n', ' ')).append('\n');
+        }
+
+        try {
+            Files.writeString(file, lines, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
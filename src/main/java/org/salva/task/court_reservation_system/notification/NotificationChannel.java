@@ -0,0 +1,22 @@
+package org.salva.task.court_reservation_system.notification;
+
+import java.util.List;
+
+/**
+ * Canal de envío de notificaciones (email, SMS, webhook...).
+ * Cada implementación registrada como bean queda disponible por su nombre
+ * (app.notifications.channel elige el canal por defecto).
+ */
+public interface NotificationChannel {
+
+    /**
+     * Nombre del canal, guardado en cada notificación del outbox
+     */
+    String getName();
+
+    /**
+     * Envía un lote de notificaciones del canal.
+     * Si lanza una excepción, todo el lote se reintenta más tarde.
+     */
+    void send(List<NotificationMessage> messages);
+}
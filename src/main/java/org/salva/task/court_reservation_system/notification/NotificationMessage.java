@@ -0,0 +1,7 @@
+package org.salva.task.court_reservation_system.notification;
+
+/**
+ * Notificación a entregar por un canal
+ */
+public record NotificationMessage(Long id, String recipient, String subject, String body) {
+}
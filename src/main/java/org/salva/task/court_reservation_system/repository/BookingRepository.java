@@ -1,15 +1,27 @@
 package org.salva.task.court_reservation_system.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.salva.task.court_reservation_system.dto.response.BookingResponseDTO;
 import org.salva.task.court_reservation_system.entity.Booking;
 import org.salva.task.court_reservation_system.enums.BookingStatus;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository para operaciones de base de datos de Booking
@@ -18,14 +30,91 @@ import java.util.List;
 public interface BookingRepository extends JpaRepository<Booking, Long> {
 
     /**
-     * Busca reservas por usuario
+     * Proyección de las listas de reservas: una sola consulta con JOIN a usuario y cancha
+     * (sin cargar entidades ni asociaciones LAZY)
      */
-    List<Booking> findByUserId(Long userId);
+    String BOOKING_SUMMARY_SELECT = "SELECT new org.salva.task.court_reservation_system.dto.response.BookingResponseDTO(" +
+            "b.id, u.id, CAST(c.id AS Long), u.name, c.name, b.bookingDate, b.startTime, b.endTime, " +
+            "b.status, b.totalPrice, b.isRecurrent, b.usesPackage) " +
+            "FROM Booking b JOIN b.user u JOIN b.court c ";
 
     /**
-     * Busca reservas por usuario y estado
+     * Busca una reserva con su usuario y cancha en la misma consulta (vista de detalle)
      */
-    List<Booking> findByUserIdAndStatus(Long userId, BookingStatus status);
+    @EntityGraph(attributePaths = {"user", "court"})
+    Optional<Booking> findWithUserAndCourtById(Long id);
+
+    /**
+     * Resumen de las reservas de un usuario
+     */
+    @Query(BOOKING_SUMMARY_SELECT + "WHERE u.id = :userId")
+    List<BookingResponseDTO> findSummariesByUserId(@Param("userId") Long userId);
+
+    /**
+     * Resumen de las reservas de un usuario en un estado
+     */
+    @Query(BOOKING_SUMMARY_SELECT + "WHERE u.id = :userId AND b.status = :status")
+    List<BookingResponseDTO> findSummariesByUserIdAndStatus(
+            @Param("userId") Long userId,
+            @Param("status") BookingStatus status
+    );
+
+    /**
+     * Resumen de las reservas de un usuario desde una fecha, en orden cronológico
+     */
+    @Query(BOOKING_SUMMARY_SELECT + "WHERE u.id = :userId " +
+            "AND b.bookingDate >= :today " +
+            "AND b.status = :status " +
+            "ORDER BY b.bookingDate ASC, b.startTime ASC")
+    List<BookingResponseDTO> findFutureSummariesByUserId(
+            @Param("userId") Long userId,
+            @Param("today") LocalDate today,
+            @Param("status") BookingStatus status
+    );
+
+    /**
+     * Primera página del historial de un usuario, ordenado por (fecha, hora de inicio, id)
+     */
+    @Query(BOOKING_SUMMARY_SELECT + "WHERE u.id = :userId AND b.status IN :statuses " +
+            "ORDER BY b.bookingDate ASC, b.startTime ASC, b.id ASC")
+    List<BookingResponseDTO> findHistoryFirstPage(
+            @Param("userId") Long userId,
+            @Param("statuses") Collection<BookingStatus> statuses,
+            Pageable pageable
+    );
+
+    /**
+     * Página del historial de un usuario posterior al cursor (fecha, hora de inicio, id) indicado
+     */
+    @Query(BOOKING_SUMMARY_SELECT + "WHERE u.id = :userId AND b.status IN :statuses " +
+            "AND (b.bookingDate > :date " +
+            "OR (b.bookingDate = :date AND b.startTime > :time) " +
+            "OR (b.bookingDate = :date AND b.startTime = :time AND b.id > :id)) " +
+            "ORDER BY b.bookingDate ASC, b.startTime ASC, b.id ASC")
+    List<BookingResponseDTO> findHistoryPageAfter(
+            @Param("userId") Long userId,
+            @Param("statuses") Collection<BookingStatus> statuses,
+            @Param("date") LocalDate date,
+            @Param("time") LocalTime time,
+            @Param("id") Long id,
+            Pageable pageable
+    );
+
+    /**
+     * Recorre el historial completo de un usuario leyendo de la base de datos por bloques
+     * (debe consumirse dentro de una transacción y cerrarse al terminar)
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT b FROM Booking b JOIN FETCH b.user u JOIN FETCH b.court c " +
+            "WHERE u.id = :userId AND b.status IN :statuses " +
+            "ORDER BY b.bookingDate ASC, b.startTime ASC, b.id ASC")
+    Stream<Booking> streamHistory(
+            @Param("userId") Long userId,
+            @Param("statuses") Collection<BookingStatus> statuses
+    );
 
     /**
      * Busca reservas por cancha y fecha
@@ -51,7 +140,7 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
      */
     @Query("SELECT COUNT(b) > 0 FROM Booking b WHERE b.court.id = :courtId " +
             "AND b.bookingDate = :date " +
-            "AND b.status = 'CONFIRMED' " +
+            "AND b.status = 'CONFIRMADA' " +
             "AND (" +
             "  (b.startTime < :endTime AND b.endTime > :startTime)" +
             ")")
@@ -63,36 +152,93 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     );
 
     /**
-     * Busca reservas recurrentes hijas de una reserva padre
+     * Fechas (de las indicadas) en las que la cancha ya tiene una reserva
+     * que se solapa con el horario (creación de reservas recurrentes en una sola consulta)
      */
-    List<Booking> findByParentBookingId(Long parentBookingId);
+    @Query("SELECT DISTINCT b.bookingDate FROM Booking b WHERE b.court.id = :courtId " +
+            "AND b.bookingDate IN :dates " +
+            "AND b.status = :status " +
+            "AND b.startTime < :endTime " +
+            "AND b.endTime > :startTime")
+    List<LocalDate> findOverlappingBookingDates(
+            @Param("courtId") Long courtId,
+            @Param("dates") Collection<LocalDate> dates,
+            @Param("startTime") LocalTime startTime,
+            @Param("endTime") LocalTime endTime,
+            @Param("status") BookingStatus status
+    );
 
     /**
-     * Busca reservas futuras de un usuario (para validar límites)
+     * Horarios de las reservas de una cancha en una fecha y estado
+     * (carga de un día en el índice de ocupación)
+     * Cada fila: [id, startTime, endTime]
      */
-    @Query("SELECT b FROM Booking b WHERE b.user.id = :userId " +
-            "AND b.bookingDate >= :today " +
-            "AND b.status = 'CONFIRMED' " +
-            "ORDER BY b.bookingDate ASC, b.startTime ASC")
-    List<Booking> findFutureBookingsByUser(
-            @Param("userId") Long userId,
-            @Param("today") LocalDate today
+    @Query("SELECT b.id, b.startTime, b.endTime FROM Booking b WHERE b.court.id = :courtId " +
+            "AND b.bookingDate = :date " +
+            "AND b.status = :status")
+    List<Object[]> findTimeSlotsByCourtAndDate(
+            @Param("courtId") Long courtId,
+            @Param("date") LocalDate date,
+            @Param("status") BookingStatus status
+    );
+
+    /**
+     * Horarios de todas las reservas en un estado dentro de un rango de fechas
+     * (reconstrucción del índice de ocupación al iniciar)
+     * Cada fila: [id, courtId, bookingDate, startTime, endTime]
+     */
+    @Query("SELECT b.id, b.court.id, b.bookingDate, b.startTime, b.endTime FROM Booking b " +
+            "WHERE b.status = :status " +
+            "AND b.bookingDate BETWEEN :startDate AND :endDate")
+    List<Object[]> findTimeSlotsByStatusAndDateRange(
+            @Param("status") BookingStatus status,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate
+    );
+
+    /**
+     * Horarios de las reservas de varias canchas en un rango de fechas y estado
+     * (carga en bloque del índice de ocupación)
+     * Cada fila: [id, courtId, bookingDate, startTime, endTime]
+     */
+    @Query("SELECT b.id, b.court.id, b.bookingDate, b.startTime, b.endTime FROM Booking b " +
+            "WHERE b.court.id IN :courtIds " +
+            "AND b.bookingDate BETWEEN :startDate AND :endDate " +
+            "AND b.status = :status")
+    List<Object[]> findTimeSlotsByCourtsAndDateRange(
+            @Param("courtIds") Collection<Long> courtIds,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            @Param("status") BookingStatus status
     );
 
+    /**
+     * Busca reservas recurrentes hijas de una reserva padre
+     */
+    List<Booking> findByParentBookingId(Long parentBookingId);
+
     /**
      * Busca reservas que usan un paquete específico
      */
     List<Booking> findByUserPackageId(Long userPackageId);
 
     /**
-     * Busca reservas pendientes de completar (para marcar como COMPLETED automáticamente)
+     * Cambia el estado de hasta chunkSize reservas ya terminadas, en una sola sentencia
+     * y con su propio commit (job de completado por bloques)
+     * @return Cantidad de reservas actualizadas
      */
-    @Query("SELECT b FROM Booking b WHERE b.status = 'CONFIRMED' " +
-            "AND b.bookingDate < :date " +
-            "OR (b.bookingDate = :date AND b.endTime < :time)")
-    List<Booking> findPastConfirmedBookings(
+    @Transactional
+    @Modifying
+    @Query("UPDATE Booking b SET b.status = :newStatus WHERE b.id IN (" +
+            "SELECT p.id FROM Booking p WHERE p.status = :status " +
+            "AND (p.bookingDate < :date OR (p.bookingDate = :date AND p.endTime < :time)) " +
+            "ORDER BY p.id LIMIT :chunkSize)")
+    int updatePastBookingsStatus(
+            @Param("status") BookingStatus status,
+            @Param("newStatus") BookingStatus newStatus,
             @Param("date") LocalDate date,
-            @Param("time") LocalTime time
+            @Param("time") LocalTime time,
+            @Param("chunkSize") int chunkSize
     );
 
     /**
@@ -110,28 +256,56 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     );
 
     /**
-     * Estadísticas: Total recaudado por cancha en un periodo
+     * Estadísticas diarias por cancha calculadas desde las reservas (reconciliación de los rollups).
+     * Columnas: courtId, bookingDate, bookings, bookedMinutes, revenue, cancellations, penalties, packageHours;
+     * las reservas confirmadas o completadas suman ocupación e ingresos, las canceladas su penalización.
      */
-    @Query("SELECT b.court.id, b.court.name, SUM(b.totalPrice) " +
+    @Query("SELECT b.court.id, b.bookingDate, " +
+            "SUM(CASE WHEN b.status IN :activeStatuses THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN b.status IN :activeStatuses " +
+            "THEN (HOUR(b.endTime) - HOUR(b.startTime)) * 60 + MINUTE(b.endTime) - MINUTE(b.startTime) " +
+            "ELSE 0 END), " +
+            "SUM(CASE WHEN b.status IN :activeStatuses THEN b.totalPrice ELSE 0 END), " +
+            "SUM(CASE WHEN b.status = :cancelledStatus THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN b.status = :cancelledStatus THEN COALESCE(b.penaltyAmount, 0) ELSE 0 END), " +
+            "SUM(CASE WHEN b.status IN :activeStatuses THEN COALESCE(b.hoursDeducted, 0) ELSE 0 END) " +
             "FROM Booking b " +
             "WHERE b.bookingDate BETWEEN :startDate AND :endDate " +
-            "AND b.status IN ('CONFIRMED', 'COMPLETED') " +
-            "GROUP BY b.court.id, b.court.name " +
-            "ORDER BY SUM(b.totalPrice) DESC")
-    List<Object[]> getTotalRevenueByCourtInPeriod(
+            "GROUP BY b.court.id, b.bookingDate")
+    List<Object[]> aggregateDailyStats(
             @Param("startDate") LocalDate startDate,
-            @Param("endDate") LocalDate endDate
+            @Param("endDate") LocalDate endDate,
+            @Param("activeStatuses") Collection<BookingStatus> activeStatuses,
+            @Param("cancelledStatus") BookingStatus cancelledStatus
     );
 
     /**
-     * Busca reservas a punto de iniciar (para notificaciones)
+     * Reservas sin recordatorio que empiezan en (from, until] y que aún no fueron cargadas:
+     * las que empiezan después de loadedUntil o se crearon desde createdSince
+     * (la carga anterior menos un margen para los commits tardíos)
      */
-    @Query("SELECT b FROM Booking b WHERE b.status = 'CONFIRMED' " +
-            "AND b.bookingDate = :date " +
-            "AND b.startTime BETWEEN :startTime AND :endTime")
-    List<Booking> findBookingsStartingSoon(
-            @Param("date") LocalDate date,
-            @Param("startTime") LocalTime startTime,
-            @Param("endTime") LocalTime endTime
+    @Query("SELECT b.id, b.startsAt FROM Booking b WHERE b.status = :status " +
+            "AND b.reminderSentAt IS NULL " +
+            "AND b.startsAt > :from AND b.startsAt <= :until " +
+            "AND (b.startsAt > :loadedUntil OR b.createdAt >= :createdSince)")
+    List<Object[]> findPendingReminders(
+            @Param("status") BookingStatus status,
+            @Param("from") LocalDateTime from,
+            @Param("until") LocalDateTime until,
+            @Param("loadedUntil") LocalDateTime loadedUntil,
+            @Param("createdSince") LocalDateTime createdSince
+    );
+
+    /**
+     * Marca el recordatorio como enviado solo si la reserva sigue confirmada y sin recordatorio
+     * (devuelve 0 si otro proceso ya lo envió)
+     */
+    @Modifying
+    @Query("UPDATE Booking b SET b.reminderSentAt = :sentAt " +
+            "WHERE b.id = :id AND b.status = :status AND b.reminderSentAt IS NULL")
+    int markReminderSent(
+            @Param("id") Long id,
+            @Param("status") BookingStatus status,
+            @Param("sentAt") LocalDateTime sentAt
     );
 }
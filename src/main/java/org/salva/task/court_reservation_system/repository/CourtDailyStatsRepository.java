@@ -0,0 +1,112 @@
+package org.salva.task.court_reservation_system.repository;
+
+import jakarta.persistence.LockModeType;
+import org.salva.task.court_reservation_system.entity.CourtDailyStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository para las estadísticas diarias pre-agregadas por cancha
+ */
+@Repository
+public interface CourtDailyStatsRepository extends JpaRepository<CourtDailyStats, Long> {
+
+    /**
+     * Suma las variaciones a la fila de (cancha, fecha) si no se reconcilió después de observarlas (since).
+     * Devuelve 0 si la fila aún no existe o si la reconciliación ya las incluye.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE CourtDailyStats s SET " +
+            "s.bookings = s.bookings + :bookings, " +
+            "s.bookedMinutes = s.bookedMinutes + :bookedMinutes, " +
+            "s.revenue = s.revenue + :revenue, " +
+            "s.cancellations = s.cancellations + :cancellations, " +
+            "s.penalties = s.penalties + :penalties, " +
+            "s.packageHours = s.packageHours + :packageHours, " +
+            "s.updatedAt = :now " +
+            "WHERE s.courtId = :courtId AND s.statDate = :date " +
+            "AND (s.reconciledAt IS NULL OR s.reconciledAt < :since)")
+    int increment(
+            @Param("courtId") Long courtId,
+            @Param("date") LocalDate date,
+            @Param("bookings") int bookings,
+            @Param("bookedMinutes") long bookedMinutes,
+            @Param("revenue") BigDecimal revenue,
+            @Param("cancellations") int cancellations,
+            @Param("penalties") BigDecimal penalties,
+            @Param("packageHours") BigDecimal packageHours,
+            @Param("now") LocalDateTime now,
+            @Param("since") LocalDateTime since
+    );
+
+    boolean existsByCourtIdAndStatDate(Long courtId, LocalDate statDate);
+
+    /**
+     * Filas de un rango de fechas bloqueadas para la reconciliación: los UPDATE incrementales
+     * de otras instancias esperan a que termine y se aplican sobre los valores recalculados
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM CourtDailyStats s " +
+            "WHERE s.statDate BETWEEN :startDate AND :endDate " +
+            "ORDER BY s.statDate, s.courtId")
+    List<CourtDailyStats> lockByStatDateBetween(
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate
+    );
+
+    /**
+     * Totales por cancha en un rango, ordenados por ingresos.
+     * Columnas: courtId, courtName, bookings, bookedMinutes, revenue, cancellations, penalties, packageHours
+     */
+    @Query("SELECT s.courtId, c.name, SUM(s.bookings), SUM(s.bookedMinutes), SUM(s.revenue), " +
+            "SUM(s.cancellations), SUM(s.penalties), SUM(s.packageHours) " +
+            "FROM CourtDailyStats s JOIN Court c ON c.id = s.courtId " +
+            "WHERE s.statDate BETWEEN :startDate AND :endDate " +
+            "GROUP BY s.courtId, c.name " +
+            "ORDER BY SUM(s.revenue) DESC")
+    List<Object[]> sumByCourt(
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate
+    );
+
+    /**
+     * Totales por día de todas las canchas en un rango.
+     * Columnas: statDate, bookings, bookedMinutes, revenue, cancellations, penalties, packageHours
+     */
+    @Query("SELECT s.statDate, SUM(s.bookings), SUM(s.bookedMinutes), SUM(s.revenue), " +
+            "SUM(s.cancellations), SUM(s.penalties), SUM(s.packageHours) " +
+            "FROM CourtDailyStats s " +
+            "WHERE s.statDate BETWEEN :startDate AND :endDate " +
+            "GROUP BY s.statDate " +
+            "ORDER BY s.statDate")
+    List<Object[]> sumByDate(
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate
+    );
+
+    /**
+     * Totales por día de una cancha en un rango (mismas columnas que sumByDate)
+     */
+    @Query("SELECT s.statDate, SUM(s.bookings), SUM(s.bookedMinutes), SUM(s.revenue), " +
+            "SUM(s.cancellations), SUM(s.penalties), SUM(s.packageHours) " +
+            "FROM CourtDailyStats s " +
+            "WHERE s.courtId = :courtId AND s.statDate BETWEEN :startDate AND :endDate " +
+            "GROUP BY s.statDate " +
+            "ORDER BY s.statDate")
+    List<Object[]> sumByDateForCourt(
+            @Param("courtId") Long courtId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate
+    );
+}
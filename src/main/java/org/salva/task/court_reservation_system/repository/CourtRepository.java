@@ -1,8 +1,10 @@
 package org.salva.task.court_reservation_system.repository;
 
 import org.salva.task.court_reservation_system.entity.Court;
+import jakarta.persistence.LockModeType;
 import org.salva.task.court_reservation_system.enums.SportType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -23,6 +25,11 @@ public interface CourtRepository extends JpaRepository<Court, Long> {
      */
     List<Court> findByActiveTrue();
 
+    /**
+     * Cuenta las canchas activas
+     */
+    long countByActiveTrue();
+
     /**
      * Busca canchas por tipo de deporte
      * Query: SELECT * FROM courts WHERE tipo_deporte = ? AND activa = true
@@ -58,6 +65,14 @@ public interface CourtRepository extends JpaRepository<Court, Long> {
             @Param("maxPrice") BigDecimal maxPrice
     );
 
+    /**
+     * Busca una cancha bloqueando su fila hasta el fin de la transacción
+     * (SELECT ... FOR UPDATE, serializa la creación de reservas de la cancha entre instancias)
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Court c WHERE c.id = :id")
+    Optional<Court> findByIdForUpdate(@Param("id") Long id);
+
     /**
      * Verifica si existe una cancha activa con ese nombre
      */
@@ -0,0 +1,78 @@
+package org.salva.task.court_reservation_system.repository;
+
+import org.salva.task.court_reservation_system.entity.IdempotencyRecord;
+import org.salva.task.court_reservation_system.enums.IdempotencyStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Repository para las respuestas guardadas por Idempotency-Key
+ */
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    /**
+     * Retoma una clave EN_PROCESO o COMPLETADA cuyo plazo ya venció (UPDATE condicional)
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.status = :status, r.requestHash = :requestHash, " +
+            "r.ownerToken = :ownerToken, r.responseStatus = null, r.contentType = null, r.responseBody = null, " +
+            "r.expiresAt = :expiresAt " +
+            "WHERE r.idempotencyKey = :key AND r.expiresAt <= :now")
+    int takeOverExpired(
+            @Param("key") String key,
+            @Param("requestHash") String requestHash,
+            @Param("ownerToken") String ownerToken,
+            @Param("status") IdempotencyStatus status,
+            @Param("now") LocalDateTime now,
+            @Param("expiresAt") LocalDateTime expiresAt
+    );
+
+    /**
+     * Guarda la respuesta de una clave EN_PROCESO de la ejecución indicada.
+     * Devuelve 0 si otra ejecución retomó la clave.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.status = :completed, r.responseStatus = :responseStatus, " +
+            "r.contentType = :contentType, r.responseBody = :responseBody, r.expiresAt = :expiresAt " +
+            "WHERE r.idempotencyKey = :key AND r.ownerToken = :ownerToken AND r.status = :inProgress")
+    int complete(
+            @Param("key") String key,
+            @Param("ownerToken") String ownerToken,
+            @Param("inProgress") IdempotencyStatus inProgress,
+            @Param("completed") IdempotencyStatus completed,
+            @Param("responseStatus") int responseStatus,
+            @Param("contentType") String contentType,
+            @Param("responseBody") byte[] responseBody,
+            @Param("expiresAt") LocalDateTime expiresAt
+    );
+
+    /**
+     * Libera una clave EN_PROCESO de la ejecución indicada (la solicitud falló y puede reintentarse)
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r " +
+            "WHERE r.idempotencyKey = :key AND r.ownerToken = :ownerToken AND r.status = :status")
+    int release(
+            @Param("key") String key,
+            @Param("ownerToken") String ownerToken,
+            @Param("status") IdempotencyStatus status
+    );
+
+    /**
+     * Elimina las claves vencidas
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,44 @@
+package org.salva.task.court_reservation_system.repository;
+
+import org.salva.task.court_reservation_system.entity.JobLock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Repository para los locks de jobs programados
+ */
+@Repository
+public interface JobLockRepository extends JpaRepository<JobLock, String> {
+
+    /**
+     * Toma el lock si está libre (vencido). Devuelve 1 si lo obtuvo este nodo.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE JobLock l SET l.lockedBy = :node, l.lockedAt = :now, l.lockedUntil = :until " +
+            "WHERE l.name = :name AND l.lockedUntil <= :now")
+    int acquire(
+            @Param("name") String name,
+            @Param("node") String node,
+            @Param("now") LocalDateTime now,
+            @Param("until") LocalDateTime until
+    );
+
+    /**
+     * Libera el lock del nodo a partir del instante indicado
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE JobLock l SET l.lockedUntil = :until WHERE l.name = :name AND l.lockedBy = :node")
+    int release(
+            @Param("name") String name,
+            @Param("node") String node,
+            @Param("until") LocalDateTime until
+    );
+}
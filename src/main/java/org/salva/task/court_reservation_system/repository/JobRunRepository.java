@@ -0,0 +1,19 @@
+package org.salva.task.court_reservation_system.repository;
+
+import org.salva.task.court_reservation_system.entity.JobRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository para el historial de ejecuciones de jobs
+ */
+@Repository
+public interface JobRunRepository extends JpaRepository<JobRun, Long> {
+
+    /**
+     * Últimas ejecuciones de un job
+     */
+    List<JobRun> findTop20ByJobNameOrderByStartedAtDesc(String jobName);
+}
@@ -0,0 +1,84 @@
+package org.salva.task.court_reservation_system.repository;
+
+import org.salva.task.court_reservation_system.entity.NotificationOutbox;
+import org.salva.task.court_reservation_system.enums.NotificationStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository para el outbox de notificaciones
+ */
+@Repository
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutbox, Long> {
+
+    /**
+     * Notificaciones de los IDs indicados que siguen en el estado indicado
+     */
+    List<NotificationOutbox> findByIdInAndStatus(Collection<Long> ids, NotificationStatus status);
+
+    /**
+     * IDs de notificaciones cuyo próximo intento ya venció, las más antiguas primero
+     */
+    @Query("SELECT n.id FROM NotificationOutbox n WHERE n.status = :status " +
+            "AND n.nextAttemptAt <= :now " +
+            "ORDER BY n.nextAttemptAt ASC")
+    List<Long> findDueIds(
+            @Param("status") NotificationStatus status,
+            @Param("now") LocalDateTime now,
+            Pageable pageable
+    );
+
+    /**
+     * Toma una notificación vencida posponiendo su próximo intento (la reserva para el despachador
+     * de este nodo). Condicional: devuelve 1 solo al nodo que la tomó.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE NotificationOutbox n SET n.nextAttemptAt = :nextAttemptAt " +
+            "WHERE n.id = :id AND n.status = :status AND n.nextAttemptAt <= :now")
+    int claim(
+            @Param("id") Long id,
+            @Param("status") NotificationStatus status,
+            @Param("now") LocalDateTime now,
+            @Param("nextAttemptAt") LocalDateTime nextAttemptAt
+    );
+
+    /**
+     * Marca como enviadas
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE NotificationOutbox n SET n.status = :status, n.sentAt = :sentAt, " +
+            "n.attempts = n.attempts + 1, n.lastError = null " +
+            "WHERE n.id IN :ids")
+    int markSent(
+            @Param("ids") Collection<Long> ids,
+            @Param("status") NotificationStatus status,
+            @Param("sentAt") LocalDateTime sentAt
+    );
+
+    /**
+     * Registra un intento fallido con su próximo reintento (o el estado final)
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE NotificationOutbox n SET n.status = :status, n.attempts = :attempts, " +
+            "n.nextAttemptAt = :nextAttemptAt, n.lastError = :lastError " +
+            "WHERE n.id = :id")
+    int markFailed(
+            @Param("id") Long id,
+            @Param("status") NotificationStatus status,
+            @Param("attempts") int attempts,
+            @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+            @Param("lastError") String lastError
+    );
+}
@@ -0,0 +1,19 @@
+package org.salva.task.court_reservation_system.repository;
+
+import org.salva.task.court_reservation_system.entity.PackageHoursMovement;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository para el historial de movimientos de horas de paquetes
+ */
+@Repository
+public interface PackageHoursMovementRepository extends JpaRepository<PackageHoursMovement, Long> {
+
+    /**
+     * Movimientos de un paquete en orden cronológico
+     */
+    List<PackageHoursMovement> findByUserPackageIdOrderByCreatedAtAsc(Long userPackageId);
+}
@@ -2,9 +2,11 @@ package org.salva.task.court_reservation_system.repository;
 
 import org.salva.task.court_reservation_system.entity.UserPackage;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -51,12 +53,59 @@ public interface UserPackageRepository extends JpaRepository<UserPackage, Long>
     );
 
     /**
-     * Busca paquetes vencidos que aún están marcados como activos
-     * (para job de limpieza)
+     * Desactiva hasta chunkSize paquetes vencidos, en una sola sentencia
+     * y con su propio commit (job de limpieza por bloques)
+     * @return Cantidad de paquetes desactivados
      */
-    @Query("SELECT up FROM UserPackage up WHERE up.active = true " +
-            "AND up.expirationDate < :now")
-    List<UserPackage> findExpiredPackagesStillActive(@Param("now") LocalDateTime now);
+    @Transactional
+    @Modifying
+    @Query("UPDATE UserPackage up SET up.active = false, up.version = up.version + 1 WHERE up.id IN (" +
+            "SELECT p.id FROM UserPackage p WHERE p.active = true " +
+            "AND p.expirationDate < :now " +
+            "ORDER BY p.id LIMIT :chunkSize)")
+    int deactivateExpiredPackages(
+            @Param("now") LocalDateTime now,
+            @Param("chunkSize") int chunkSize
+    );
+
+    /**
+     * Descuenta horas en una sola sentencia, solo si el paquete está activo, vigente
+     * y tiene saldo suficiente. Se desactiva al llegar a 0 horas.
+     * @return 1 si se descontó, 0 si no se cumplen las condiciones
+     */
+    @Modifying
+    @Query("UPDATE UserPackage up SET " +
+            "up.remainingHours = up.remainingHours - :hours, " +
+            "up.active = CASE WHEN up.remainingHours = :hours THEN false ELSE true END, " +
+            "up.version = up.version + 1 " +
+            "WHERE up.id = :id " +
+            "AND up.active = true " +
+            "AND up.expirationDate > :now " +
+            "AND up.remainingHours >= :hours")
+    int deductHours(
+            @Param("id") Long id,
+            @Param("hours") int hours,
+            @Param("now") LocalDateTime now
+    );
+
+    /**
+     * Devuelve horas en una sola sentencia, solo si el paquete está vigente
+     * y el saldo no supera las horas iniciales
+     * @return 1 si se devolvieron, 0 si no se cumplen las condiciones
+     */
+    @Modifying
+    @Query("UPDATE UserPackage up SET " +
+            "up.remainingHours = up.remainingHours + :hours, " +
+            "up.active = true, " +
+            "up.version = up.version + 1 " +
+            "WHERE up.id = :id " +
+            "AND up.expirationDate > :now " +
+            "AND up.remainingHours + :hours <= up.initialHours")
+    int refundHours(
+            @Param("id") Long id,
+            @Param("hours") int hours,
+            @Param("now") LocalDateTime now
+    );
 
     /**
      * Cuenta paquetes activos de un usuario
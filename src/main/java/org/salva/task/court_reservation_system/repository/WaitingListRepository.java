@@ -2,6 +2,7 @@ package org.salva.task.court_reservation_system.repository;
 
 import org.salva.task.court_reservation_system.entity.WaitingList;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -31,7 +32,7 @@ public interface WaitingListRepository extends JpaRepository<WaitingList, Long>
             "AND wl.desiredStartTime = :startTime " +
             "AND wl.desiredEndTime = :endTime " +
             "AND wl.notified = false " +
-            "ORDER BY wl.requestDate ASC")
+            "ORDER BY wl.queueSequence ASC")
     List<WaitingList> findPendingByCourtAndTimeSlot(
             @Param("courtId") Long courtId,
             @Param("date") LocalDate date,
@@ -40,30 +41,57 @@ public interface WaitingListRepository extends JpaRepository<WaitingList, Long>
     );
 
     /**
-     * Busca usuarios notificados pero que no han respondido
+     * Números de orden de las solicitudes pendientes (no notificadas) de un horario
      */
-    List<WaitingList> findByNotifiedTrue();
+    @Query("SELECT wl.queueSequence FROM WaitingList wl WHERE wl.court.id = :courtId " +
+            "AND wl.desiredDate = :date " +
+            "AND wl.desiredStartTime = :startTime " +
+            "AND wl.desiredEndTime = :endTime " +
+            "AND wl.notified = false")
+    List<Long> findPendingQueueSequences(
+            @Param("courtId") Long courtId,
+            @Param("date") LocalDate date,
+            @Param("startTime") LocalTime startTime,
+            @Param("endTime") LocalTime endTime
+    );
 
     /**
-     * Busca notificaciones expiradas (usuarios no respondieron a tiempo)
+     * Último número de orden asignado en un horario (0 si no hay solicitudes)
      */
-    @Query("SELECT wl FROM WaitingList wl WHERE wl.notified = true " +
-            "AND wl.notificationExpirationDate < :now")
-    List<WaitingList> findExpiredNotifications(@Param("now") LocalDateTime now);
+    @Query("SELECT COALESCE(MAX(wl.queueSequence), 0) FROM WaitingList wl WHERE wl.court.id = :courtId " +
+            "AND wl.desiredDate = :date " +
+            "AND wl.desiredStartTime = :startTime " +
+            "AND wl.desiredEndTime = :endTime")
+    long findMaxQueueSequence(
+            @Param("courtId") Long courtId,
+            @Param("date") LocalDate date,
+            @Param("startTime") LocalTime startTime,
+            @Param("endTime") LocalTime endTime
+    );
 
     /**
-     * Elimina solicitudes antiguas (limpieza de datos)
+     * Busca usuarios notificados pero que no han respondido
      */
-    @Query("DELETE FROM WaitingList wl WHERE wl.desiredDate < :cutoffDate")
-    void deleteOldRequests(@Param("cutoffDate") LocalDate cutoffDate);
+    List<WaitingList> findByNotifiedTrue();
 
     /**
-     * Cuenta cuántas personas están esperando un horario específico
+     * Marca la solicitud como notificada solo si sigue pendiente (UPDATE condicional).
+     * Devuelve 0 si otro proceso ya la notificó.
      */
-    long countByCourtIdAndDesiredDateAndDesiredStartTimeAndDesiredEndTime(
-            Long courtId,
-            LocalDate desiredDate,
-            LocalTime desiredStartTime,
-            LocalTime desiredEndTime
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE WaitingList wl SET wl.notified = true, wl.notificationDate = :now, " +
+            "wl.notificationExpirationDate = :expiresAt " +
+            "WHERE wl.id = :id AND wl.notified = false")
+    int markNotified(
+            @Param("id") Long id,
+            @Param("now") LocalDateTime now,
+            @Param("expiresAt") LocalDateTime expiresAt
     );
+
+    /**
+     * Elimina solicitudes antiguas (limpieza de datos)
+     */
+    @Modifying
+    @Query("DELETE FROM WaitingList wl WHERE wl.desiredDate < :cutoffDate")
+    int deleteOldRequests(@Param("cutoffDate") LocalDate cutoffDate);
 }
@@ -0,0 +1,52 @@
+package org.salva.task.court_reservation_system.service;
+
+import org.salva.task.court_reservation_system.dto.response.CourtStatsResponseDTO;
+import org.salva.task.court_reservation_system.dto.response.DailyStatsResponseDTO;
+import org.salva.task.court_reservation_system.event.CourtDayStatsEvent;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Interface para los reportes de ingresos y ocupación
+ * (sobre estadísticas diarias pre-agregadas por cancha)
+ */
+public interface AnalyticsService {
+
+    /**
+     * Nombre del lock de la reconciliación (compartido por el job nocturno y la manual)
+     */
+    String RECONCILE_JOB = "reconcileDailyStats";
+
+    /**
+     * Ingresos y ocupación por cancha en un rango de fechas, ordenados por ingresos
+     */
+    List<CourtStatsResponseDTO> getCourtReport(LocalDate startDate, LocalDate endDate);
+
+    /**
+     * Ingresos y ocupación por día en un rango de fechas, de una cancha o de todas (courtId null)
+     */
+    List<DailyStatsResponseDTO> getDailyReport(Long courtId, LocalDate startDate, LocalDate endDate);
+
+    /**
+     * Acumula la variación de una reserva creada o cancelada (se aplica al confirmar la transacción)
+     */
+    void onStatsChanged(CourtDayStatsEvent event);
+
+    /**
+     * Escribe en base de datos las variaciones acumuladas. Devuelve los (cancha, día) actualizados.
+     */
+    int flushPendingStats();
+
+    /**
+     * Recalcula desde la tabla de reservas las estadísticas de un rango de días cerrados
+     * (hasta ayer), con el lock de la reconciliación. Devuelve los (cancha, día) recalculados.
+     */
+    int reconcile(LocalDate startDate, LocalDate endDate);
+
+    /**
+     * Recalcula los últimos días cerrados (ventana de app.analytics).
+     * Lo invoca el job nocturno, que ya tiene el lock de la reconciliación.
+     */
+    int reconcileRecent();
+}
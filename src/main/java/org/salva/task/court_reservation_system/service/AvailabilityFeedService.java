@@ -0,0 +1,37 @@
+package org.salva.task.court_reservation_system.service;
+
+import org.salva.task.court_reservation_system.event.SlotBookedEvent;
+import org.salva.task.court_reservation_system.event.SlotFreedEvent;
+import org.salva.task.court_reservation_system.event.WaitingOfferSentEvent;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDate;
+import java.util.function.Supplier;
+
+/**
+ * Interface para el feed en vivo (Server-Sent Events) de disponibilidad por cancha y fecha
+ */
+public interface AvailabilityFeedService {
+
+    /**
+     * Suscribe un cliente: primero recibe el evento "snapshot" con la disponibilidad actual
+     * y después un evento por cada cambio confirmado del horario. Si se atrasa, recibe otro
+     * "snapshot" en lugar de los cambios descartados.
+     */
+    SseEmitter subscribe(Long courtId, LocalDate date, Supplier<Object> snapshot);
+
+    /**
+     * Difunde una reserva confirmada (después del commit)
+     */
+    void onSlotBooked(SlotBookedEvent event);
+
+    /**
+     * Difunde un horario liberado por cancelación (después del commit)
+     */
+    void onSlotFreed(SlotFreedEvent event);
+
+    /**
+     * Difunde una oferta enviada a la lista de espera (después del commit)
+     */
+    void onOfferSent(WaitingOfferSentEvent event);
+}
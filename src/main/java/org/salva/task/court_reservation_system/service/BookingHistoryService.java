@@ -0,0 +1,26 @@
+package org.salva.task.court_reservation_system.service;
+
+import org.salva.task.court_reservation_system.dto.response.BookingPageResponseDTO;
+import org.salva.task.court_reservation_system.dto.response.BookingResponseDTO;
+import org.salva.task.court_reservation_system.enums.BookingStatus;
+
+import java.util.function.Consumer;
+
+/**
+ * Interface para el historial de reservas de un usuario sin límite de tamaño:
+ * paginación por cursor (keyset) y lectura completa en streaming
+ */
+public interface BookingHistoryService {
+
+    /**
+     * Obtiene una página del historial, ordenado por (fecha, hora de inicio, id).
+     * Sin cursor devuelve la primera página; status null incluye todos los estados.
+     */
+    BookingPageResponseDTO getBookingHistory(Long userId, BookingStatus status, String cursor, int size);
+
+    /**
+     * Recorre el historial completo en el mismo orden, entregando cada reserva al consumidor
+     * sin mantenerlas en memoria
+     */
+    void streamBookingHistory(Long userId, BookingStatus status, Consumer<BookingResponseDTO> consumer);
+}
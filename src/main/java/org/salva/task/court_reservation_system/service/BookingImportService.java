@@ -0,0 +1,23 @@
+package org.salva.task.court_reservation_system.service;
+
+import org.salva.task.court_reservation_system.dto.response.BookingImportRowResultDTO;
+import org.salva.task.court_reservation_system.dto.response.BookingImportSummaryDTO;
+import org.salva.task.court_reservation_system.enums.BookingImportFormat;
+
+import java.io.InputStream;
+import java.util.function.Consumer;
+
+/**
+ * Interface para la importación masiva de reservas (calendarios de ligas y colegios)
+ */
+public interface BookingImportService {
+
+    /**
+     * Importa las reservas del flujo (arreglo JSON o CSV con encabezado) leyéndolo por bloques:
+     * cada bloque se valida, se compara con las reservas existentes y se inserta en lote.
+     * El resultado de cada fila se entrega al consumidor en el orden del archivo, sin mantener
+     * el archivo en memoria.
+     */
+    BookingImportSummaryDTO importBookings(InputStream input, BookingImportFormat format,
+                                           Consumer<BookingImportRowResultDTO> rowConsumer);
+}
@@ -0,0 +1,24 @@
+package org.salva.task.court_reservation_system.service;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.function.Supplier;
+
+/**
+ * Interface para bloqueos en memoria por (cancha, fecha) al crear reservas
+ */
+public interface BookingLockService {
+
+    /**
+     * Bloquea los horarios de una cancha en las fechas indicadas hasta que termine
+     * la transacción actual (commit o rollback)
+     */
+    void lockUntilTransactionEnd(Long courtId, Collection<LocalDate> dates);
+
+    /**
+     * Ejecuta la acción con los horarios de la cancha bloqueados en las fechas indicadas.
+     * Se llama fuera de una transacción: la espera no retiene una conexión del pool, y la acción
+     * abre y confirma su propia transacción antes de liberar el lock
+     */
+    <T> T callLocked(Long courtId, Collection<LocalDate> dates, Supplier<T> action);
+}
@@ -5,6 +5,7 @@ import org.salva.task.court_reservation_system.dto.request.CancellationRequestDT
 import org.salva.task.court_reservation_system.dto.request.RecurrentBookingRequestDTO;
 import org.salva.task.court_reservation_system.dto.response.*;
 import org.salva.task.court_reservation_system.enums.BookingStatus;
+import org.salva.task.court_reservation_system.enums.SportType;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -49,6 +50,16 @@ public interface BookingService {
      */
     CourtAvailabilityResponseDTO getCourtAvailability(Long courtId, LocalDate date);
 
+    /**
+     * Obtiene la disponibilidad de varias canchas (por IDs o tipo de deporte) en un rango de fechas
+     */
+    AvailabilityMatrixResponseDTO getAvailabilityMatrix(
+            List<Long> courtIds,
+            SportType sportType,
+            LocalDate startDate,
+            LocalDate endDate
+    );
+
     /**
      * Verifica si existe solapamiento de horarios
      */
@@ -61,6 +72,7 @@ public interface BookingService {
 
     /**
      * Marca reservas pasadas como completadas (job automático)
+     * @return Cantidad de reservas completadas
      */
-    void markPastBookingsAsCompleted();
+    int markPastBookingsAsCompleted();
 }
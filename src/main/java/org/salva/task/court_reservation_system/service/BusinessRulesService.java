@@ -0,0 +1,22 @@
+package org.salva.task.court_reservation_system.service;
+
+import org.salva.task.court_reservation_system.config.BusinessRules;
+
+/**
+ * Interface para acceder a las reglas de negocio vigentes y recargarlas sin redesplegar
+ */
+public interface BusinessRulesService {
+
+    /**
+     * Instantánea vigente. Una operación debe leerla una sola vez y usar esa instancia
+     * para que todas sus reglas provengan de la misma versión.
+     */
+    BusinessRules current();
+
+    /**
+     * Vuelve a leer app.business-rules (incluido el archivo de recarga, si se configuró),
+     * compila una nueva instantánea y la publica de forma atómica.
+     * Si la configuración es inválida se mantiene la instantánea anterior.
+     */
+    BusinessRules reload();
+}
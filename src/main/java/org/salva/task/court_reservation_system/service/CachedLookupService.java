@@ -0,0 +1,21 @@
+package org.salva.task.court_reservation_system.service;
+
+import org.salva.task.court_reservation_system.entity.Court;
+import org.salva.task.court_reservation_system.entity.User;
+
+/**
+ * Interface para la lectura cacheada de canchas y usuarios usados en reservas y lista de espera.
+ * Las entidades devueltas están desacopladas de la sesión y son compartidas: no deben modificarse.
+ */
+public interface CachedLookupService {
+
+    /**
+     * Obtiene una cancha por id o lanza ResourceNotFoundException
+     */
+    Court getCourt(Long courtId);
+
+    /**
+     * Obtiene un usuario por id o lanza ResourceNotFoundException
+     */
+    User getUser(Long userId);
+}
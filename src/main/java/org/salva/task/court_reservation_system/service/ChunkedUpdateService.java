@@ -0,0 +1,19 @@
+package org.salva.task.court_reservation_system.service;
+
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Interface para ejecutar actualizaciones masivas en bloques de tamaño acotado
+ * (cada bloque es una sentencia UPDATE con su propio commit)
+ */
+public interface ChunkedUpdateService {
+
+    /**
+     * Ejecuta la actualización por bloques hasta que un bloque afecte menos filas que el tamaño
+     * y publica duración, filas y filas por segundo del job
+     * @param jobName Nombre del job (etiqueta de las métricas)
+     * @param chunkUpdate Recibe el tamaño del bloque y devuelve las filas afectadas
+     * @return Total de filas actualizadas
+     */
+    int runInChunks(String jobName, IntUnaryOperator chunkUpdate);
+}
@@ -0,0 +1,39 @@
+package org.salva.task.court_reservation_system.service;
+
+/**
+ * Interface para las claves de idempotencia (Idempotency-Key) de los POST que crean recursos:
+ * la primera respuesta se guarda y los reintentos la reciben sin volver a ejecutar la solicitud
+ */
+public interface IdempotencyService {
+
+    /**
+     * Reserva la clave para ejecutar la solicitud o devuelve la respuesta ya guardada.
+     * Si la misma clave se está ejecutando en este nodo, espera a esa ejecución y devuelve su respuesta.
+     *
+     * @return null si quien llama debe ejecutar la solicitud y luego llamar a complete o release
+     */
+    StoredResponse claim(String key, String requestHash);
+
+    /**
+     * Registra la respuesta de la ejecución (solo las 2xx se guardan para reintentos posteriores)
+     */
+    void complete(String key, StoredResponse response);
+
+    /**
+     * Libera la clave sin respuesta (la solicitud terminó con una excepción)
+     */
+    void release(String key);
+
+    /**
+     * Elimina las claves vencidas
+     *
+     * @return número de claves eliminadas
+     */
+    int purgeExpired();
+
+    /**
+     * Respuesta HTTP guardada
+     */
+    record StoredResponse(int status, String contentType, byte[] body) {
+    }
+}
@@ -0,0 +1,21 @@
+package org.salva.task.court_reservation_system.service;
+
+import java.time.Duration;
+import java.util.function.IntSupplier;
+
+/**
+ * Interface para coordinar jobs programados entre instancias:
+ * cada ejecución la realiza un solo nodo y queda registrada en el historial
+ */
+public interface JobCoordinatorService {
+
+    /**
+     * Ejecuta el job si este nodo obtiene su lock.
+     * lockAtMostFor libera el lock si el nodo cae; lockAtLeastFor evita que otro nodo
+     * con el reloj levemente atrasado lo vuelva a ejecutar en el mismo ciclo.
+     * El job devuelve las filas procesadas.
+     *
+     * @return false si otro nodo tiene el lock
+     */
+    boolean runExclusively(String jobName, Duration lockAtMostFor, Duration lockAtLeastFor, IntSupplier job);
+}
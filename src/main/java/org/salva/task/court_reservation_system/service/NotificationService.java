@@ -0,0 +1,19 @@
+package org.salva.task.court_reservation_system.service;
+
+/**
+ * Interface para el envío asíncrono de notificaciones (outbox transaccional + despachador en memoria)
+ */
+public interface NotificationService {
+
+    /**
+     * Registra una notificación para el canal por defecto.
+     * Dentro de una transacción se guarda con ella y se envía solo si confirma.
+     */
+    void enqueue(String recipient, String subject, String body);
+
+    /**
+     * Pasa al despachador las notificaciones pendientes cuyo próximo intento ya venció
+     * (reintentos y las que no entraron en la cola)
+     */
+    int dispatchDue();
+}
@@ -0,0 +1,73 @@
+package org.salva.task.court_reservation_system.service;
+
+import org.salva.task.court_reservation_system.dto.response.CourtAvailabilityResponseDTO;
+import org.salva.task.court_reservation_system.entity.Booking;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Interface para el índice en memoria de ocupación de canchas
+ * (un bitmap por cancha y fecha, un bit por slot).
+ * Es local a cada instancia: los días cargados vencen y se vuelven a leer de la base de datos
+ */
+public interface OccupancyIndexService {
+
+    /**
+     * Verifica si existe una reserva confirmada que se solape con el horario
+     */
+    boolean hasOverlap(Long courtId, LocalDate date, LocalTime startTime, LocalTime endTime);
+
+    /**
+     * Ocupación de las canchas y el rango de fechas indicados. Los días que faltan en el índice
+     * (o que quedan fuera de su ventana) se leen con una sola consulta; solo los de la ventana se guardan
+     */
+    OccupancySnapshot snapshot(Collection<Long> courtIds, LocalDate startDate, LocalDate endDate);
+
+    /**
+     * Registra una reserva confirmada (se aplica al confirmar la transacción)
+     */
+    void registerBooking(Booking booking);
+
+    /**
+     * Libera el horario de una reserva cancelada o completada
+     * (se aplica al confirmar la transacción)
+     */
+    void releaseBooking(Booking booking);
+
+    /**
+     * Descarta un día del índice para que se vuelva a leer de la base de datos
+     * (por ejemplo, tras detectar una reserva creada por otra instancia)
+     */
+    void invalidate(Long courtId, LocalDate date);
+
+    /**
+     * Descarta del índice los días anteriores a la fecha indicada
+     */
+    void evictBefore(LocalDate date);
+
+    /**
+     * Reconstruye el índice desde la tabla de reservas
+     */
+    void rebuild();
+
+    /**
+     * Ocupación de varias canchas y días, ya leída
+     */
+    interface OccupancySnapshot {
+
+        /**
+         * Obtiene los horarios de inicio libres de una cancha en un rango,
+         * en bloques de la duración indicada
+         */
+        List<LocalTime> findFreeSlots(Long courtId, LocalDate date, LocalTime from, LocalTime to,
+                                      int slotLengthMinutes);
+
+        /**
+         * Obtiene los horarios ocupados por reservas confirmadas, ordenados por hora de inicio
+         */
+        List<CourtAvailabilityResponseDTO.TimeSlotDTO> getOccupiedSlots(Long courtId, LocalDate date);
+    }
+}
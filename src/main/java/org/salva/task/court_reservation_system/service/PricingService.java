@@ -0,0 +1,35 @@
+package org.salva.task.court_reservation_system.service;
+
+import org.salva.task.court_reservation_system.entity.Booking;
+import org.salva.task.court_reservation_system.entity.Court;
+import org.salva.task.court_reservation_system.entity.User;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Interface para el motor de precios dinámicos
+ */
+public interface PricingService {
+
+    /**
+     * Calcula y asigna precio base, recargos, descuentos y total de una reserva
+     */
+    void applyPrices(Booking booking, Court court, User user, boolean isRecurrent);
+
+    /**
+     * Obtiene el factor de precio (fin de semana, pico, valle) para una fecha y hora de inicio
+     */
+    BigDecimal getPriceFactor(LocalDate date, LocalTime startTime);
+
+    /**
+     * Convierte un precio por hora a centavos (para reutilizarlo en varios cálculos)
+     */
+    long toCents(BigDecimal amount);
+
+    /**
+     * Estima el precio de un horario sin descuentos
+     */
+    BigDecimal estimatePrice(long priceBaseHourCents, LocalDate date, LocalTime startTime, LocalTime endTime);
+}
@@ -0,0 +1,19 @@
+package org.salva.task.court_reservation_system.service;
+
+/**
+ * Interface para los recordatorios de reservas próximas
+ * (una cola de temporizadores en memoria alimentada por cargas incrementales)
+ */
+public interface ReminderService {
+
+    /**
+     * Agenda los recordatorios de las reservas que empiezan dentro del horizonte
+     * y aún no estaban agendadas. Devuelve la cantidad de recordatorios nuevos.
+     */
+    int loadUpcomingReminders();
+
+    /**
+     * Envía el recordatorio de una reserva si sigue confirmada y no se envió antes
+     */
+    boolean sendReminder(Long bookingId);
+}
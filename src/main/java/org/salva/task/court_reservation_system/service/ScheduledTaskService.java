@@ -16,12 +16,6 @@ public interface ScheduledTaskService {
      */
     void markExpiredPackagesAsInactive();
 
-    /**
-     * Procesa notificaciones expiradas de lista de espera
-     * Ejecuta cada 5 minutos
-     */
-    void processExpiredWaitingListNotifications();
-
     /**
      * Limpia solicitudes antiguas de lista de espera
      * Ejecuta una vez al día
@@ -29,8 +23,20 @@ public interface ScheduledTaskService {
     void cleanOldWaitingListRequests();
 
     /**
-     * Envía recordatorios de reservas próximas
-     * Ejecuta cada hora
+     * Agenda los recordatorios de reservas próximas (se envían a su hora)
+     * Ejecuta cada minuto
      */
     void sendUpcomingBookingReminders();
+
+    /**
+     * Elimina las claves de idempotencia vencidas
+     * Ejecuta cada hora
+     */
+    void purgeExpiredIdempotencyKeys();
+
+    /**
+     * Recalcula las estadísticas diarias de los días recientes y próximos
+     * Ejecuta una vez al día
+     */
+    void reconcileDailyStats();
 }
@@ -37,6 +37,7 @@ public interface UserPackageService {
 
     /**
      * Marca paquetes vencidos como inactivos (job automático)
+     * @return Cantidad de paquetes desactivados
      */
-    void markExpiredPackagesAsInactive();
+    int markExpiredPackagesAsInactive();
 }
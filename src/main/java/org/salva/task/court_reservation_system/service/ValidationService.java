@@ -1,52 +1,30 @@
 package org.salva.task.court_reservation_system.service;
 
+import org.salva.task.court_reservation_system.config.BusinessRules;
 import org.salva.task.court_reservation_system.dto.request.BookingRequestDTO;
-import org.salva.task.court_reservation_system.entity.Booking;
+import org.salva.task.court_reservation_system.dto.response.ErrorResponse;
 import org.salva.task.court_reservation_system.entity.Court;
 import org.salva.task.court_reservation_system.entity.User;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 /**
  * Interface para servicios de validación centralizados
  */
 public interface ValidationService {
 
     /**
-     * Valida todas las reglas de negocio para una reserva
+     * Valida todas las reglas de negocio para una reserva en una sola pasada.
+     * Lanza ValidationException con todas las violaciones encontradas,
+     * o ConflictException si el horario no está disponible.
      */
     void validateBookingRequest(BookingRequestDTO requestDTO, User user, Court court);
 
     /**
-     * Valida horarios de operación
-     */
-    void validateOperatingHours(BookingRequestDTO requestDTO);
-
-    /**
-     * Valida duración de la reserva
-     */
-    void validateDuration(BookingRequestDTO requestDTO);
-
-    /**
-     * Valida anticipación mínima
-     */
-    void validateMinimumAdvance(BookingRequestDTO requestDTO);
-
-    /**
-     * Valida límite de días según membresía
-     */
-    void validateMaxDaysAdvance(BookingRequestDTO requestDTO, User user);
-
-    /**
-     * Valida que no haya solapamiento
-     */
-    void validateNoOverlap(BookingRequestDTO requestDTO);
-
-    /**
-     * Valida que la cancha esté activa
-     */
-    void validateCourtActive(Court court);
-
-    /**
-     * Valida que el usuario esté activo
+     * Evalúa solo las reglas en memoria y devuelve sus violaciones sin lanzar excepción.
+     * Para validar muchas solicitudes con las mismas reglas y reloj; la disponibilidad se resuelve aparte.
      */
-    void validateUserActive(User user);
+    List<ErrorResponse.FieldError> checkBookingRules(BookingRequestDTO requestDTO, User user, Court court,
+                                                     BusinessRules rules, LocalDateTime now);
 }
@@ -0,0 +1,21 @@
+package org.salva.task.court_reservation_system.service;
+
+import org.salva.task.court_reservation_system.event.SlotFreedEvent;
+import org.salva.task.court_reservation_system.event.WaitingOfferSentEvent;
+
+/**
+ * Interface para la promoción de la lista de espera por eventos:
+ * notifica al siguiente al liberarse un horario y vence las ofertas no confirmadas
+ */
+public interface WaitingListPromotionService {
+
+    /**
+     * Notifica al primero en la cola del horario liberado (tras confirmar la cancelación)
+     */
+    void onSlotFreed(SlotFreedEvent event);
+
+    /**
+     * Programa el vencimiento de una oferta enviada
+     */
+    void onOfferSent(WaitingOfferSentEvent event);
+}
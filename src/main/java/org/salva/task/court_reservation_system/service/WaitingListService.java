@@ -43,9 +43,9 @@ public interface WaitingListService {
     void processCancellationNotification(Long courtId, LocalDate date, LocalTime startTime, LocalTime endTime);
 
     /**
-     * Verifica y procesa notificaciones expiradas (job automático)
+     * Vence una notificación no respondida a tiempo y notifica al siguiente en la cola
      */
-    void processExpiredNotifications();
+    void expireNotification(Long id);
 
     /**
      * Elimina una solicitud de lista de espera
@@ -54,6 +54,8 @@ public interface WaitingListService {
 
     /**
      * Limpia solicitudes antiguas (job automático)
+     *
+     * @return cantidad de solicitudes eliminadas
      */
-    void cleanOldRequests(int daysOld);
+    int cleanOldRequests(int daysOld);
 }
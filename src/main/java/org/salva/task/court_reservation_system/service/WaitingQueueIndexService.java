@@ -0,0 +1,33 @@
+package org.salva.task.court_reservation_system.service;
+
+import org.salva.task.court_reservation_system.entity.WaitingList;
+
+import java.time.LocalDate;
+
+/**
+ * Interface para el índice en memoria de las colas de espera
+ * (una cola por horario de cancha, ordenada por número de orden)
+ */
+public interface WaitingQueueIndexService {
+
+    /**
+     * Posición de la solicitud en su cola (1 = primera). Una solicitud ya notificada está primera.
+     */
+    int getPosition(WaitingList waitingList);
+
+    /**
+     * Agrega la solicitud a su cola de pendientes (se aplica al confirmar la transacción)
+     */
+    void enqueue(WaitingList waitingList);
+
+    /**
+     * Quita la solicitud de su cola de pendientes por notificación o eliminación
+     * (se aplica al confirmar la transacción)
+     */
+    void dequeue(WaitingList waitingList);
+
+    /**
+     * Descarta del índice las colas de fechas anteriores a la indicada
+     */
+    void evictBefore(LocalDate date);
+}
@@ -0,0 +1,439 @@
+package org.salva.task.court_reservation_system.service.impl;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.salva.task.court_reservation_system.config.BusinessRules;
+import org.salva.task.court_reservation_system.dto.response.CourtStatsResponseDTO;
+import org.salva.task.court_reservation_system.dto.response.DailyStatsResponseDTO;
+import org.salva.task.court_reservation_system.entity.CourtDailyStats;
+import org.salva.task.court_reservation_system.enums.BookingStatus;
+import org.salva.task.court_reservation_system.event.CourtDayStatsEvent;
+import org.salva.task.court_reservation_system.exception.ConflictException;
+import org.salva.task.court_reservation_system.exception.ValidationException;
+import org.salva.task.court_reservation_system.repository.BookingRepository;
+import org.salva.task.court_reservation_system.repository.CourtDailyStatsRepository;
+import org.salva.task.court_reservation_system.repository.CourtRepository;
+import org.salva.task.court_reservation_system.service.AnalyticsService;
+import org.salva.task.court_reservation_system.service.BusinessRulesService;
+import org.salva.task.court_reservation_system.service.JobCoordinatorService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Implementación de los reportes de ingresos y ocupación.
+ * Cada reserva creada o cancelada suma su variación a un acumulador en memoria por (cancha, día),
+ * que se escribe cada pocos segundos con un UPDATE incremental: los reportes leen a lo sumo
+ * canchas × días filas, nunca la tabla de reservas. La reconciliación nocturna recalcula
+ * las filas de los días cerrados desde las reservas y corrige lo que no pasó por eventos (otras
+ * instancias caídas, cambios hechos directo en la base de datos). Cada fila reconciliada guarda
+ * cuándo se recalculó: las variaciones observadas antes ya están incluidas y no se vuelven a sumar.
+ */
+@Service
+@Slf4j
+public class AnalyticsServiceImpl implements AnalyticsService {
+
+    private static final List<BookingStatus> ACTIVE_STATUSES = List.of(BookingStatus.CONFIRMADA, BookingStatus.COMPLETADA);
+    private static final BigDecimal MINUTES_PER_HOUR = BigDecimal.valueOf(60);
+    private static final BigDecimal ONE_HUNDRED = BigDecimal.valueOf(100);
+    private static final Duration RECONCILE_LOCK_AT_MOST = Duration.ofHours(1);
+
+    private final CourtDailyStatsRepository courtDailyStatsRepository;
+    private final BookingRepository bookingRepository;
+    private final CourtRepository courtRepository;
+    private final BusinessRulesService businessRulesService;
+    private final JobCoordinatorService jobCoordinatorService;
+    private final TransactionTemplate transactionTemplate;
+
+    // Variaciones aún no escritas, por (cancha, día)
+    private final ConcurrentMap<CourtDay, StatsDelta> pending = new ConcurrentHashMap<>();
+
+    // Rango máximo de un reporte
+    @Value("${app.analytics.max-range-days:366}")
+    private int maxRangeDays;
+
+    // Días cerrados que recalcula la reconciliación nocturna (hasta ayer)
+    @Value("${app.analytics.reconcile-days-back:7}")
+    private int reconcileDaysBack;
+
+    public AnalyticsServiceImpl(
+            CourtDailyStatsRepository courtDailyStatsRepository,
+            BookingRepository bookingRepository,
+            CourtRepository courtRepository,
+            BusinessRulesService businessRulesService,
+            JobCoordinatorService jobCoordinatorService,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry
+    ) {
+        this.courtDailyStatsRepository = courtDailyStatsRepository;
+        this.bookingRepository = bookingRepository;
+        this.courtRepository = courtRepository;
+        this.businessRulesService = businessRulesService;
+        this.jobCoordinatorService = jobCoordinatorService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+        Gauge.builder("analytics.rollup.pending", pending, Map::size)
+                .description("(Cancha, día) con variaciones aún no escritas en las estadísticas diarias")
+                .register(meterRegistry);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<CourtStatsResponseDTO> getCourtReport(LocalDate startDate, LocalDate endDate) {
+        long capacityMinutes = operatingMinutesPerDay() * validateRange(startDate, endDate);
+
+        List<CourtStatsResponseDTO> report = new ArrayList<>();
+        for (Object[] row : courtDailyStatsRepository.sumByCourt(startDate, endDate)) {
+            long bookedMinutes = toLong(row[3]);
+            BigDecimal revenue = toDecimal(row[4]);
+            BigDecimal penalties = toDecimal(row[6]);
+
+            report.add(CourtStatsResponseDTO.builder()
+                    .courtId(toLong(row[0]))
+                    .courtName((String) row[1])
+                    .bookings(toLong(row[2]))
+                    .bookedHours(hours(bookedMinutes))
+                    .utilizationPercentage(percentage(bookedMinutes, capacityMinutes))
+                    .revenue(revenue)
+                    .cancellations(toLong(row[5]))
+                    .penalties(penalties)
+                    .totalIncome(revenue.add(penalties))
+                    .packageHours(toDecimal(row[7]))
+                    .build());
+        }
+        return report;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<DailyStatsResponseDTO> getDailyReport(Long courtId, LocalDate startDate, LocalDate endDate) {
+        validateRange(startDate, endDate);
+
+        List<Object[]> rows;
+        long courts;
+        if (courtId != null) {
+            rows = courtDailyStatsRepository.sumByDateForCourt(courtId, startDate, endDate);
+            courts = 1;
+        } else {
+            rows = courtDailyStatsRepository.sumByDate(startDate, endDate);
+            courts = courtRepository.countByActiveTrue();
+        }
+        long capacityMinutes = operatingMinutesPerDay() * courts;
+
+        List<DailyStatsResponseDTO> report = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            long bookedMinutes = toLong(row[2]);
+            BigDecimal revenue = toDecimal(row[3]);
+            BigDecimal penalties = toDecimal(row[5]);
+
+            report.add(DailyStatsResponseDTO.builder()
+                    .date((LocalDate) row[0])
+                    .bookings(toLong(row[1]))
+                    .bookedHours(hours(bookedMinutes))
+                    .utilizationPercentage(percentage(bookedMinutes, capacityMinutes))
+                    .revenue(revenue)
+                    .cancellations(toLong(row[4]))
+                    .penalties(penalties)
+                    .totalIncome(revenue.add(penalties))
+                    .packageHours(toDecimal(row[6]))
+                    .build());
+        }
+        return report;
+    }
+
+    @Override
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatsChanged(CourtDayStatsEvent event) {
+        pending.merge(new CourtDay(event.courtId(), event.date()), StatsDelta.of(event, LocalDateTime.now()),
+                StatsDelta::plus);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.analytics.flush-millis:5000}")
+    public synchronized int flushPendingStats() {
+        int flushed = 0;
+
+        for (CourtDay key : pending.keySet()) {
+            StatsDelta delta = pending.remove(key);
+            if (delta == null || delta.isEmpty()) {
+                continue;
+            }
+
+            try {
+                apply(key, delta);
+                flushed++;
+            } catch (RuntimeException e) {
+                // Se vuelve a intentar en el próximo ciclo; si falla una fila, la base de datos
+                // probablemente no responde y no tiene sentido seguir con las demás
+                pending.merge(key, delta, StatsDelta::plus);
+                log.warn("Could not flush daily stats of court {} on {}: {}", key.courtId(), key.date(), e.getMessage());
+                break;
+            }
+        }
+
+        if (flushed > 0) {
+            log.debug("Flushed daily stats of {} court days", flushed);
+        }
+        return flushed;
+    }
+
+    @Override
+    public int reconcile(LocalDate startDate, LocalDate endDate) {
+        if (startDate == null || endDate == null || endDate.isBefore(startDate)) {
+            throw new ValidationException("El rango de fechas no es válido");
+        }
+        // Los días abiertos siguen recibiendo reservas y cancelaciones: se reconcilian al cerrar
+        if (!endDate.isBefore(LocalDate.now())) {
+            throw new ValidationException("Solo se pueden reconciliar días cerrados (hasta ayer)");
+        }
+
+        // Un solo nodo a la vez, con el mismo lock que la reconciliación nocturna
+        int[] reconciled = new int[1];
+        boolean ran = jobCoordinatorService.runExclusively(RECONCILE_JOB, RECONCILE_LOCK_AT_MOST, Duration.ZERO,
+                () -> reconciled[0] = reconcileRange(startDate, endDate));
+        if (!ran) {
+            throw new ConflictException("Ya hay una reconciliación de estadísticas en curso");
+        }
+        return reconciled[0];
+    }
+
+    @Override
+    public int reconcileRecent() {
+        LocalDate today = LocalDate.now();
+        return reconcileRange(today.minusDays(reconcileDaysBack), today.minusDays(1));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flushPendingStats();
+    }
+
+    // ========== MÉTODOS PRIVADOS ==========
+
+    private synchronized int reconcileRange(LocalDate startDate, LocalDate endDate) {
+        // Las variaciones pendientes de este nodo se escriben antes; las de otros nodos que se
+        // escriban después quedan fuera por la marca de reconciliación de cada fila (ver apply)
+        flushPendingStats();
+
+        Integer reconciled;
+        try {
+            reconciled = transactionTemplate.execute(status -> recompute(startDate, endDate));
+        } catch (DataIntegrityViolationException e) {
+            // Otra instancia insertó una fila del rango después del bloqueo: se repite con ella incluida
+            reconciled = transactionTemplate.execute(status -> recompute(startDate, endDate));
+        }
+
+        log.info("Reconciled {} court days between {} and {}", reconciled, startDate, endDate);
+        return reconciled != null ? reconciled : 0;
+    }
+
+    /**
+     * Sobrescribe las filas del rango con los valores calculados desde las reservas.
+     * Debe ejecutarse dentro de una transacción.
+     */
+    private int recompute(LocalDate startDate, LocalDate endDate) {
+        Map<CourtDay, CourtDailyStats> existing = new HashMap<>();
+        for (CourtDailyStats stats : courtDailyStatsRepository.lockByStatDateBetween(startDate, endDate)) {
+            existing.put(new CourtDay(stats.getCourtId(), stats.getStatDate()), stats);
+        }
+
+        // Se toma con las filas ya bloqueadas y antes de leer las reservas: una variación observada
+        // antes de este instante ya estaba confirmada, así que la consulta la incluye
+        LocalDateTime reconciledAt = LocalDateTime.now();
+
+        List<CourtDailyStats> changed = new ArrayList<>();
+        for (Object[] row : bookingRepository.aggregateDailyStats(
+                startDate, endDate, ACTIVE_STATUSES, BookingStatus.CANCELADA)) {
+            CourtDay key = new CourtDay(toLong(row[0]), (LocalDate) row[1]);
+            CourtDailyStats stats = existing.remove(key);
+            if (stats == null) {
+                stats = CourtDailyStats.builder()
+                        .courtId(key.courtId())
+                        .statDate(key.date())
+                        .build();
+            }
+            overwrite(stats, row, reconciledAt);
+            changed.add(stats);
+        }
+
+        // Días que ya no tienen reservas: quedan en cero y conservan la marca de reconciliación
+        for (CourtDailyStats stats : existing.values()) {
+            overwrite(stats, new Object[8], reconciledAt);
+            changed.add(stats);
+        }
+
+        courtDailyStatsRepository.saveAllAndFlush(changed);
+        return changed.size();
+    }
+
+    private static void overwrite(CourtDailyStats stats, Object[] row, LocalDateTime reconciledAt) {
+        stats.setBookings((int) toLong(row[2]));
+        stats.setBookedMinutes(toLong(row[3]));
+        stats.setRevenue(toDecimal(row[4]));
+        stats.setCancellations((int) toLong(row[5]));
+        stats.setPenalties(toDecimal(row[6]));
+        stats.setPackageHours(toDecimal(row[7]));
+        stats.setUpdatedAt(reconciledAt);
+        stats.setReconciledAt(reconciledAt);
+    }
+
+    /**
+     * UPDATE incremental; si la fila no existe se inserta, y si otra instancia la insertó
+     * al mismo tiempo se repite el UPDATE. Si la fila se reconcilió después de observar
+     * alguna de las variaciones, se recalcula el día en lugar de sumarlas dos veces.
+     */
+    private void apply(CourtDay key, StatsDelta delta) {
+        LocalDateTime now = LocalDateTime.now();
+        if (increment(key, delta, now) > 0) {
+            return;
+        }
+
+        if (!courtDailyStatsRepository.existsByCourtIdAndStatDate(key.courtId(), key.date())) {
+            try {
+                insert(key, delta, now);
+                return;
+            } catch (DataIntegrityViolationException e) {
+                if (increment(key, delta, now) > 0) {
+                    return;
+                }
+            }
+        }
+
+        // Las reservas ya incluyen todas estas variaciones: el recálculo toma su marca después de ellas
+        transactionTemplate.execute(status -> recompute(key.date(), key.date()));
+        log.debug("Recomputed daily stats on {} instead of applying a delta older than its reconciliation",
+                key.date());
+    }
+
+    private void insert(CourtDay key, StatsDelta delta, LocalDateTime now) {
+        courtDailyStatsRepository.saveAndFlush(CourtDailyStats.builder()
+                .courtId(key.courtId())
+                .statDate(key.date())
+                .bookings(delta.bookings())
+                .bookedMinutes(delta.bookedMinutes())
+                .revenue(delta.revenue())
+                .cancellations(delta.cancellations())
+                .penalties(delta.penalties())
+                .packageHours(delta.packageHours())
+                .updatedAt(now)
+                .build());
+    }
+
+    private int increment(CourtDay key, StatsDelta delta, LocalDateTime now) {
+        return courtDailyStatsRepository.increment(
+                key.courtId(),
+                key.date(),
+                delta.bookings(),
+                delta.bookedMinutes(),
+                delta.revenue(),
+                delta.cancellations(),
+                delta.penalties(),
+                delta.packageHours(),
+                now,
+                delta.since()
+        );
+    }
+
+    /**
+     * Valida el rango y devuelve la cantidad de días (ambos extremos incluidos)
+     */
+    private long validateRange(LocalDate startDate, LocalDate endDate) {
+        if (startDate == null || endDate == null) {
+            throw new ValidationException("Debe indicar la fecha de inicio y de fin");
+        }
+        if (endDate.isBefore(startDate)) {
+            throw new ValidationException("La fecha de fin no puede ser anterior a la de inicio");
+        }
+
+        long days = ChronoUnit.DAYS.between(startDate, endDate) + 1;
+        if (days > maxRangeDays) {
+            throw new ValidationException("El rango no puede superar " + maxRangeDays + " días");
+        }
+        return days;
+    }
+
+    private long operatingMinutesPerDay() {
+        BusinessRules rules = businessRulesService.current();
+        return Duration.between(rules.getOperationStartTime(), rules.getOperationEndTime()).toMinutes();
+    }
+
+    private static BigDecimal hours(long minutes) {
+        return BigDecimal.valueOf(minutes).divide(MINUTES_PER_HOUR, 2, RoundingMode.HALF_UP);
+    }
+
+    private static BigDecimal percentage(long bookedMinutes, long capacityMinutes) {
+        if (capacityMinutes <= 0) {
+            return BigDecimal.ZERO;
+        }
+        return BigDecimal.valueOf(bookedMinutes).multiply(ONE_HUNDRED)
+                .divide(BigDecimal.valueOf(capacityMinutes), 2, RoundingMode.HALF_UP);
+    }
+
+    // Los tipos de SUM dependen de la base de datos: se normalizan desde Number
+    private static long toLong(Object value) {
+        return value != null ? ((Number) value).longValue() : 0L;
+    }
+
+    private static BigDecimal toDecimal(Object value) {
+        if (value == null) {
+            return BigDecimal.ZERO;
+        }
+        if (value instanceof BigDecimal decimal) {
+            return decimal;
+        }
+        return new BigDecimal(value.toString());
+    }
+
+    private record CourtDay(Long courtId, LocalDate date) {
+    }
+
+    private record StatsDelta(
+            int bookings,
+            long bookedMinutes,
+            BigDecimal revenue,
+            int cancellations,
+            BigDecimal penalties,
+            BigDecimal packageHours,
+            LocalDateTime since  // Primera observación de las variaciones acumuladas
+    ) {
+
+        static StatsDelta of(CourtDayStatsEvent event, LocalDateTime observedAt) {
+            return new StatsDelta(event.bookings(), event.bookedMinutes(), event.revenue(),
+                    event.cancellations(), event.penalties(), event.packageHours(), observedAt);
+        }
+
+        StatsDelta plus(StatsDelta other) {
+            return new StatsDelta(
+                    bookings + other.bookings,
+                    bookedMinutes + other.bookedMinutes,
+                    revenue.add(other.revenue),
+                    cancellations + other.cancellations,
+                    penalties.add(other.penalties),
+                    packageHours.add(other.packageHours),
+                    since.isBefore(other.since) ? since : other.since
+            );
+        }
+
+        boolean isEmpty() {
+            return bookings == 0 && bookedMinutes == 0 && cancellations == 0
+                    && revenue.signum() == 0 && penalties.signum() == 0 && packageHours.signum() == 0;
+        }
+    }
+}
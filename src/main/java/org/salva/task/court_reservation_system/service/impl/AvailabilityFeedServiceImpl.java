@@ -0,0 +1,311 @@
+package org.salva.task.court_reservation_system.service.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.salva.task.court_reservation_system.dto.response.SlotChangeDTO;
+import org.salva.task.court_reservation_system.enums.SlotChangeType;
+import org.salva.task.court_reservation_system.event.SlotBookedEvent;
+import org.salva.task.court_reservation_system.event.SlotFreedEvent;
+import org.salva.task.court_reservation_system.event.WaitingOfferSentEvent;
+import org.salva.task.court_reservation_system.service.AvailabilityFeedService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayDeque;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Implementación del feed en vivo de disponibilidad.
+ * Cada suscriptor tiene un buffer acotado: si el cliente no consume a tiempo se descartan
+ * los cambios pendientes y recibe un snapshot nuevo en su lugar, así un cliente lento no retiene
+ * memoria ni frena a los demás, y nunca queda con una vista incompleta de la disponibilidad.
+ * El envío a cada cliente corre en un hilo virtual solo mientras tiene cambios pendientes.
+ */
+@Service
+@Slf4j
+public class AvailabilityFeedServiceImpl implements AvailabilityFeedService {
+
+    private static final String SNAPSHOT_EVENT = "snapshot";
+    private static final long RECONNECT_MILLIS = 3_000L;
+
+    private final ConcurrentMap<FeedKey, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final ExecutorService deliveryExecutor =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("availability-feed-", 0).factory());
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+
+    private final int bufferSize;
+    private final long timeoutMillis;
+    private final Counter droppedCounter;
+
+    public AvailabilityFeedServiceImpl(
+            MeterRegistry meterRegistry,
+            @Value("${app.availability-feed.buffer-size:64}") int bufferSize,
+            @Value("${app.availability-feed.timeout:30m}") Duration timeout
+    ) {
+        this.bufferSize = bufferSize;
+        this.timeoutMillis = timeout.toMillis();
+
+        Gauge.builder("availability.feed.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Clientes conectados al feed de disponibilidad")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("availability.feed.dropped")
+                .description("Cambios descartados por buffers de clientes lentos (reemplazados por un snapshot)")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public SseEmitter subscribe(Long courtId, LocalDate date, Supplier<Object> snapshot) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(new FeedKey(courtId, date), emitter, snapshot);
+
+        // Se registra antes de leer la disponibilidad: los cambios de ese intervalo quedan en el
+        // buffer y se envían después del snapshot (aplicarlos dos veces no altera el resultado)
+        subscribers.compute(subscriber.key, (key, set) -> {
+            Set<Subscriber> keySubscribers = set != null ? set : ConcurrentHashMap.newKeySet();
+            keySubscribers.add(subscriber);
+            return keySubscribers;
+        });
+        subscriberCount.incrementAndGet();
+
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(e -> remove(subscriber));
+
+        try {
+            emitter.send(snapshotEvent(snapshot).reconnectTime(RECONNECT_MILLIS));
+        } catch (IOException e) {
+            remove(subscriber);
+            emitter.completeWithError(e);
+            return emitter;
+        } catch (RuntimeException e) {
+            // Cancha inexistente u otro error: lo responde el manejador de excepciones
+            remove(subscriber);
+            throw e;
+        }
+
+        subscriber.start();
+        log.debug("Availability feed subscriber added for court {} on {}", courtId, date);
+        return emitter;
+    }
+
+    @Override
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSlotBooked(SlotBookedEvent event) {
+        broadcast(SlotChangeType.RESERVADO, event.courtId(), event.date(), event.startTime(), event.endTime(), null);
+    }
+
+    @Override
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSlotFreed(SlotFreedEvent event) {
+        broadcast(SlotChangeType.LIBERADO, event.courtId(), event.date(), event.startTime(), event.endTime(), null);
+    }
+
+    @Override
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOfferSent(WaitingOfferSentEvent event) {
+        broadcast(SlotChangeType.OFERTA_LISTA_ESPERA, event.courtId(), event.date(),
+                event.startTime(), event.endTime(), event.expiresAt());
+    }
+
+    /**
+     * Comentario periódico: mantiene viva la conexión a través de proxies y detecta clientes desconectados
+     */
+    @Scheduled(fixedDelayString = "${app.availability-feed.heartbeat-millis:20000}")
+    public void sendHeartbeats() {
+        subscribers.values().forEach(keySubscribers -> keySubscribers.forEach(
+                subscriber -> subscriber.enqueue(FeedEvent.HEARTBEAT)));
+    }
+
+    @PreDestroy
+    public void stop() {
+        subscribers.values().forEach(keySubscribers -> keySubscribers.forEach(subscriber -> subscriber.emitter.complete()));
+        deliveryExecutor.shutdownNow();
+    }
+
+    // ========== MÉTODOS PRIVADOS ==========
+
+    private void broadcast(SlotChangeType type, Long courtId, LocalDate date, LocalTime startTime, LocalTime endTime,
+                           LocalDateTime offerExpiresAt) {
+        Set<Subscriber> keySubscribers = subscribers.get(new FeedKey(courtId, date));
+        if (keySubscribers == null) {
+            return;
+        }
+
+        FeedEvent event = new FeedEvent(sequence.incrementAndGet(), type.name(), SlotChangeDTO.builder()
+                .type(type)
+                .courtId(courtId)
+                .date(date)
+                .startTime(startTime)
+                .endTime(endTime)
+                .offerExpiresAt(offerExpiresAt)
+                .build());
+
+        keySubscribers.forEach(subscriber -> subscriber.enqueue(event));
+    }
+
+    /**
+     * Se lee la secuencia antes que la disponibilidad: los cambios con id mayor pueden estar
+     * incluidos en el snapshot, y aplicarlos de nuevo no altera el resultado
+     */
+    private SseEmitter.SseEventBuilder snapshotEvent(Supplier<Object> snapshot) {
+        String id = String.valueOf(sequence.get());
+        return SseEmitter.event().id(id).name(SNAPSHOT_EVENT).data(snapshot.get());
+    }
+
+    private void remove(Subscriber subscriber) {
+        if (!subscriber.close()) {
+            return;
+        }
+
+        subscribers.computeIfPresent(subscriber.key, (key, keySubscribers) -> {
+            keySubscribers.remove(subscriber);
+            return keySubscribers.isEmpty() ? null : keySubscribers;
+        });
+        subscriberCount.decrementAndGet();
+    }
+
+    private record FeedKey(Long courtId, LocalDate date) {
+    }
+
+    /**
+     * Cambio pendiente de envío; sin nombre se envía como comentario (heartbeat)
+     */
+    private record FeedEvent(long id, String name, Object data) {
+
+        static final FeedEvent HEARTBEAT = new FeedEvent(0L, null, null);
+
+        // Reemplaza los cambios descartados: al enviarse se lee y envía un snapshot nuevo
+        static final FeedEvent RESYNC = new FeedEvent(0L, SNAPSHOT_EVENT, null);
+
+        SseEmitter.SseEventBuilder toSse() {
+            if (name == null) {
+                return SseEmitter.event().comment("heartbeat");
+            }
+            return SseEmitter.event().id(String.valueOf(id)).name(name).data(data);
+        }
+    }
+
+    private final class Subscriber {
+
+        private final FeedKey key;
+        private final SseEmitter emitter;
+        private final Supplier<Object> snapshot;
+
+        // Protegidos por this
+        private final ArrayDeque<FeedEvent> buffer = new ArrayDeque<>();
+        private boolean started;
+        private boolean draining;
+        private boolean closed;
+
+        private Subscriber(FeedKey key, SseEmitter emitter, Supplier<Object> snapshot) {
+            this.key = key;
+            this.emitter = emitter;
+            this.snapshot = snapshot;
+        }
+
+        void enqueue(FeedEvent event) {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                if (buffer.peekFirst() == FeedEvent.RESYNC) {
+                    // El snapshot pendiente se lee después de este cambio (ya confirmado) y lo incluye
+                    if (event != FeedEvent.HEARTBEAT) {
+                        droppedCounter.increment();
+                    }
+                    return;
+                }
+                if (buffer.size() >= bufferSize) {
+                    // Sin huecos silenciosos: los cambios pendientes se reemplazan por un snapshot nuevo
+                    droppedCounter.increment(buffer.size() + (event != FeedEvent.HEARTBEAT ? 1 : 0));
+                    buffer.clear();
+                    buffer.addLast(FeedEvent.RESYNC);
+                } else {
+                    buffer.addLast(event);
+                }
+
+                if (!started || draining) {
+                    return;
+                }
+                draining = true;
+            }
+            scheduleDrain();
+        }
+
+        void start() {
+            synchronized (this) {
+                started = true;
+                if (closed || draining || buffer.isEmpty()) {
+                    return;
+                }
+                draining = true;
+            }
+            scheduleDrain();
+        }
+
+        synchronized boolean close() {
+            if (closed) {
+                return false;
+            }
+            closed = true;
+            buffer.clear();
+            return true;
+        }
+
+        private void scheduleDrain() {
+            try {
+                deliveryExecutor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                remove(this);
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                FeedEvent event;
+                synchronized (this) {
+                    event = closed ? null : buffer.pollFirst();
+                    if (event == null) {
+                        draining = false;
+                        return;
+                    }
+                }
+
+                try {
+                    emitter.send(event == FeedEvent.RESYNC ? snapshotEvent(snapshot) : event.toSse());
+                } catch (IOException | IllegalStateException e) {
+                    // Cliente desconectado o emitter ya completado
+                    remove(this);
+                    return;
+                } catch (RuntimeException e) {
+                    // No se pudo leer el snapshot: el cliente reconecta y pide uno nuevo
+                    log.warn("Could not resync availability feed for court {} on {}: {}",
+                            key.courtId(), key.date(), e.getMessage());
+                    remove(this);
+                    emitter.completeWithError(e);
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package org.salva.task.court_reservation_system.service.impl;
+
+import jakarta.persistence.EntityManager;
+import org.salva.task.court_reservation_system.dto.response.BookingPageResponseDTO;
+import org.salva.task.court_reservation_system.dto.response.BookingResponseDTO;
+import org.salva.task.court_reservation_system.entity.Booking;
+import org.salva.task.court_reservation_system.enums.BookingStatus;
+import org.salva.task.court_reservation_system.exception.ValidationException;
+import org.salva.task.court_reservation_system.mapper.BookingMapper;
+import org.salva.task.court_reservation_system.repository.BookingRepository;
+import org.salva.task.court_reservation_system.service.BookingHistoryService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Implementación del historial de reservas.
+ * La paginación usa keyset sobre (fecha, hora de inicio, id): cada página cuesta lo mismo
+ * sin importar cuántas reservas tenga el usuario, a diferencia de OFFSET.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class BookingHistoryServiceImpl implements BookingHistoryService {
+
+    private final BookingRepository bookingRepository;
+    private final BookingMapper bookingMapper;
+    private final EntityManager entityManager;
+
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final String CURSOR_SEPARATOR = "|";
+
+    @Override
+    public BookingPageResponseDTO getBookingHistory(Long userId, BookingStatus status, String cursor, int size) {
+        log.debug("Getting booking history page for user: {} with status: {}", userId, status);
+
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new ValidationException("El tamaño de página debe estar entre 1 y " + MAX_PAGE_SIZE);
+        }
+
+        // Se pide un elemento extra para saber si hay una página siguiente sin contar filas
+        PageRequest limit = PageRequest.of(0, size + 1);
+        List<BookingResponseDTO> bookings;
+
+        if (cursor == null || cursor.isBlank()) {
+            bookings = bookingRepository.findHistoryFirstPage(userId, statuses(status), limit);
+        } else {
+            BookingResponseDTO last = decodeCursor(cursor);
+            bookings = bookingRepository.findHistoryPageAfter(
+                    userId,
+                    statuses(status),
+                    last.getBookingDate(),
+                    last.getStartTime(),
+                    last.getId(),
+                    limit
+            );
+        }
+
+        boolean hasMore = bookings.size() > size;
+        List<BookingResponseDTO> page = hasMore ? bookings.subList(0, size) : bookings;
+
+        return BookingPageResponseDTO.builder()
+                .bookings(page)
+                .nextCursor(hasMore ? encodeCursor(page.get(page.size() - 1)) : null)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    @Override
+    public void streamBookingHistory(Long userId, BookingStatus status, Consumer<BookingResponseDTO> consumer) {
+        log.debug("Streaming booking history for user: {} with status: {}", userId, status);
+
+        try (Stream<Booking> bookings = bookingRepository.streamHistory(userId, statuses(status))) {
+            bookings.forEach(booking -> {
+                consumer.accept(bookingMapper.toResponseDTO(booking));
+                // Cada reserva sale del contexto de persistencia una vez escrita
+                entityManager.detach(booking);
+            });
+        }
+    }
+
+    // ========== MÉTODOS PRIVADOS ==========
+
+    private Set<BookingStatus> statuses(BookingStatus status) {
+        return status != null ? EnumSet.of(status) : EnumSet.allOf(BookingStatus.class);
+    }
+
+    /**
+     * Cursor = posición de la última reserva entregada, en Base64 (URL-safe)
+     */
+    private String encodeCursor(BookingResponseDTO last) {
+        String position = last.getBookingDate() + CURSOR_SEPARATOR + last.getStartTime() + CURSOR_SEPARATOR + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private BookingResponseDTO decodeCursor(String cursor) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = position.split("\\" + CURSOR_SEPARATOR);
+            if (parts.length != 3) {
+                throw new ValidationException("Cursor inválido");
+            }
+
+            return BookingResponseDTO.builder()
+                    .bookingDate(LocalDate.parse(parts[0]))
+                    .startTime(LocalTime.parse(parts[1]))
+                    .id(Long.parseLong(parts[2]))
+                    .build();
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new ValidationException("Cursor inválido");
+        }
+    }
+}
@@ -0,0 +1,581 @@
+package org.salva.task.court_reservation_system.service.impl;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.salva.task.court_reservation_system.config.BusinessRules;
+import org.salva.task.court_reservation_system.dto.request.BookingRequestDTO;
+import org.salva.task.court_reservation_system.dto.response.BookingImportRowResultDTO;
+import org.salva.task.court_reservation_system.dto.response.BookingImportSummaryDTO;
+import org.salva.task.court_reservation_system.dto.response.ErrorResponse;
+import org.salva.task.court_reservation_system.entity.Booking;
+import org.salva.task.court_reservation_system.entity.Court;
+import org.salva.task.court_reservation_system.entity.User;
+import org.salva.task.court_reservation_system.enums.BookingImportFormat;
+import org.salva.task.court_reservation_system.enums.BookingStatus;
+import org.salva.task.court_reservation_system.event.CourtDayStatsEvent;
+import org.salva.task.court_reservation_system.event.SlotBookedEvent;
+import org.salva.task.court_reservation_system.exception.ConflictException;
+import org.salva.task.court_reservation_system.exception.ValidationException;
+import org.salva.task.court_reservation_system.repository.BookingRepository;
+import org.salva.task.court_reservation_system.repository.CourtRepository;
+import org.salva.task.court_reservation_system.repository.UserRepository;
+import org.salva.task.court_reservation_system.service.BookingImportService;
+import org.salva.task.court_reservation_system.service.BookingLockService;
+import org.salva.task.court_reservation_system.service.BusinessRulesService;
+import org.salva.task.court_reservation_system.service.OccupancyIndexService;
+import org.salva.task.court_reservation_system.service.PricingService;
+import org.salva.task.court_reservation_system.service.ValidationService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Implementación de la importación masiva en streaming.
+ * El archivo se lee de a bloques (app.booking-import.chunk-size): los usuarios y canchas del bloque
+ * se cargan con una consulta cada uno y las reglas en memoria se evalúan con el mismo reloj.
+ * Luego cada cancha del bloque va en su propia transacción: lock de sus fechas, una consulta por
+ * rango de fechas para los solapamientos e inserción en lote. Solo el bloque actual queda en memoria.
+ */
+@Service
+@Slf4j
+public class BookingImportServiceImpl implements BookingImportService {
+
+    private static final String CREATED = "CREATED";
+    private static final String FAILED = "FAILED";
+    private static final String BOOKING_TYPE_IMPORT = "import";
+    private static final String SLOT_TAKEN_MESSAGE = "Ya existe una reserva en ese horario";
+    private static final List<String> CSV_COLUMNS = List.of("userId", "courtId", "bookingDate", "startTime", "endTime");
+
+    private final BookingRepository bookingRepository;
+    private final CourtRepository courtRepository;
+    private final UserRepository userRepository;
+    private final ValidationService validationService;
+    private final BusinessRulesService businessRulesService;
+    private final PricingService pricingService;
+    private final BookingLockService bookingLockService;
+    private final OccupancyIndexService occupancyIndexService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+
+    // Filas por bloque: acota la memoria y el tamaño de cada transacción
+    @Value("${app.booking-import.chunk-size:500}")
+    private int chunkSize;
+
+    // Bloqueo adicional por fila de cancha para bases sin restricción de exclusión (H2)
+    @Value("${app.booking-locks.court-row-lock:false}")
+    private boolean courtRowLock;
+
+    public BookingImportServiceImpl(
+            BookingRepository bookingRepository,
+            CourtRepository courtRepository,
+            UserRepository userRepository,
+            ValidationService validationService,
+            BusinessRulesService businessRulesService,
+            PricingService pricingService,
+            BookingLockService bookingLockService,
+            OccupancyIndexService occupancyIndexService,
+            ApplicationEventPublisher eventPublisher,
+            Validator validator,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            EntityManager entityManager,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.bookingRepository = bookingRepository;
+        this.courtRepository = courtRepository;
+        this.userRepository = userRepository;
+        this.validationService = validationService;
+        this.businessRulesService = businessRulesService;
+        this.pricingService = pricingService;
+        this.bookingLockService = bookingLockService;
+        this.occupancyIndexService = occupancyIndexService;
+        this.eventPublisher = eventPublisher;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public BookingImportSummaryDTO importBookings(InputStream input, BookingImportFormat format,
+                                                  Consumer<BookingImportRowResultDTO> rowConsumer) {
+        log.info("Starting {} booking import", format);
+
+        long startNanos = System.nanoTime();
+        int totalRows = 0;
+        int createdRows = 0;
+        String error = null;
+
+        // Canchas ya leídas en esta importación (son pocas y se repiten en todo el archivo)
+        Map<Long, Court> courts = new HashMap<>();
+
+        try (RowReader reader = format == BookingImportFormat.CSV ? new CsvRowReader(input) : new JsonRowReader(input)) {
+            List<ImportRow> chunk = new ArrayList<>(chunkSize);
+            boolean finished = false;
+
+            while (!finished) {
+                try {
+                    ImportRow row = reader.next();
+                    if (row == null) {
+                        finished = true;
+                    } else {
+                        chunk.add(row);
+                    }
+                } catch (IOException | ValidationException e) {
+                    // Las filas anteriores se importan igual; el error se informa en el resumen
+                    error = e.getMessage();
+                    finished = true;
+                }
+
+                if (chunk.size() == chunkSize || (finished && !chunk.isEmpty())) {
+                    for (BookingImportRowResultDTO result : importChunk(chunk, courts)) {
+                        totalRows++;
+                        if (CREATED.equals(result.getStatus())) {
+                            createdRows++;
+                        }
+                        rowConsumer.accept(result);
+                    }
+                    chunk.clear();
+                    // Si el hilo tiene un EntityManager propio (open-in-view), las transacciones por
+                    // cancha se unen a él: se vacía para que las reservas del bloque no sigan gestionadas
+                    entityManager.clear();
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Could not close booking import input: {}", e.getMessage());
+        }
+
+        long durationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        meterRegistry.counter("booking.created", "type", BOOKING_TYPE_IMPORT).increment(createdRows);
+
+        log.info("Booking import completed: {} rows, {} created, {} failed in {} ms",
+                totalRows, createdRows, totalRows - createdRows, durationMillis);
+
+        return BookingImportSummaryDTO.builder()
+                .totalRows(totalRows)
+                .createdRows(createdRows)
+                .failedRows(totalRows - createdRows)
+                .durationMillis(durationMillis)
+                .error(error)
+                .build();
+    }
+
+    // ========== MÉTODOS PRIVADOS ==========
+
+    /**
+     * Importa un bloque y devuelve el resultado de cada fila en el orden del archivo
+     */
+    private BookingImportRowResultDTO[] importChunk(List<ImportRow> chunk, Map<Long, Court> courts) {
+        BookingImportRowResultDTO[] results = new BookingImportRowResultDTO[chunk.size()];
+        BusinessRules rules = businessRulesService.current();
+        LocalDateTime now = LocalDateTime.now();
+
+        // 1. Usuarios y canchas del bloque: una consulta cada uno
+        Map<Long, User> users = loadUsers(chunk);
+        loadCourts(chunk, courts);
+
+        // 2. Validaciones por fila que no consultan la base de datos
+        Map<Long, List<Candidate>> candidatesByCourt = new TreeMap<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            ImportRow row = chunk.get(i);
+            BookingRequestDTO request = row.request();
+
+            if (request == null) {
+                results[i] = failed(row.number(), "validation", row.error(), null);
+                continue;
+            }
+
+            List<ErrorResponse.FieldError> fieldErrors = constraintViolations(request);
+            if (!fieldErrors.isEmpty()) {
+                results[i] = failed(row.number(), "validation", joinMessages(fieldErrors), fieldErrors);
+                continue;
+            }
+            if (Boolean.TRUE.equals(request.getUsesPackage())) {
+                results[i] = failed(row.number(), "business_rule",
+                        "La importación masiva no descuenta horas de paquetes", null);
+                continue;
+            }
+
+            User user = users.get(request.getUserId());
+            if (user == null) {
+                results[i] = failed(row.number(), "not_found", "Usuario no encontrado con id: " + request.getUserId(), null);
+                continue;
+            }
+            Court court = courts.get(request.getCourtId());
+            if (court == null) {
+                results[i] = failed(row.number(), "not_found", "Cancha no encontrada con id: " + request.getCourtId(), null);
+                continue;
+            }
+
+            List<ErrorResponse.FieldError> violations = validationService.checkBookingRules(request, user, court, rules, now);
+            if (!violations.isEmpty()) {
+                results[i] = failed(row.number(), "validation", joinMessages(violations), violations);
+                continue;
+            }
+
+            candidatesByCourt.computeIfAbsent(request.getCourtId(), id -> new ArrayList<>())
+                    .add(new Candidate(i, row.number(), request, user));
+        }
+
+        // 3. Una transacción por cancha, en orden de id
+        candidatesByCourt.forEach((courtId, candidates) -> importCourt(courts.get(courtId), candidates, results));
+
+        return results;
+    }
+
+    private Map<Long, User> loadUsers(List<ImportRow> chunk) {
+        Set<Long> userIds = chunk.stream()
+                .map(ImportRow::request)
+                .filter(Objects::nonNull)
+                .map(BookingRequestDTO::getUserId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+
+        Map<Long, User> users = new HashMap<>(userIds.size() * 2);
+        userRepository.findAllById(userIds).forEach(user -> users.put(user.getId(), user));
+        return users;
+    }
+
+    private void loadCourts(List<ImportRow> chunk, Map<Long, Court> courts) {
+        Set<Long> missingIds = chunk.stream()
+                .map(ImportRow::request)
+                .filter(Objects::nonNull)
+                .map(BookingRequestDTO::getCourtId)
+                .filter(courtId -> courtId != null && !courts.containsKey(courtId))
+                .collect(Collectors.toSet());
+
+        if (!missingIds.isEmpty()) {
+            courtRepository.findAllById(missingIds).forEach(court -> courts.put((long) court.getId(), court));
+        }
+    }
+
+    /**
+     * Inserta las filas válidas de una cancha; si la transacción falla, todas sus filas pendientes fallan
+     */
+    private void importCourt(Court court, List<Candidate> candidates, BookingImportRowResultDTO[] results) {
+        List<Candidate> accepted = new ArrayList<>(candidates.size());
+
+        try {
+            List<Booking> saved = transactionTemplate.execute(status -> insertCourtBookings(court, candidates, accepted, results));
+
+            for (int i = 0; i < accepted.size(); i++) {
+                Candidate candidate = accepted.get(i);
+                Booking booking = saved.get(i);
+                results[candidate.index()] = BookingImportRowResultDTO.builder()
+                        .row(candidate.row())
+                        .status(CREATED)
+                        .bookingId(booking.getId())
+                        .price(booking.getTotalPrice())
+                        .build();
+            }
+        } catch (ConflictException | DataIntegrityViolationException e) {
+            // Lock no obtenido a tiempo o reserva concurrente de otra instancia (restricción de exclusión)
+            log.warn("Booking import batch for court {} rolled back: {}", court.getId(), e.getMessage());
+            candidates.forEach(candidate ->
+                    occupancyIndexService.invalidate((long) court.getId(), candidate.request().getBookingDate()));
+
+            for (Candidate candidate : candidates) {
+                if (results[candidate.index()] == null) {
+                    results[candidate.index()] = failed(candidate.row(), "conflict",
+                            "El horario fue tomado por otra reserva durante la importación. Intente nuevamente.", null);
+                }
+            }
+        }
+    }
+
+    private List<Booking> insertCourtBookings(Court court, List<Candidate> candidates, List<Candidate> accepted,
+                                              BookingImportRowResultDTO[] results) {
+        Long courtId = (long) court.getId();
+        TreeSet<LocalDate> dates = candidates.stream()
+                .map(candidate -> candidate.request().getBookingDate())
+                .collect(Collectors.toCollection(TreeSet::new));
+
+        bookingLockService.lockUntilTransactionEnd(courtId, dates);
+        if (courtRowLock) {
+            courtRepository.findByIdForUpdate(courtId);
+        }
+
+        // Horarios ocupados de la cancha en el rango de fechas del bloque: una sola consulta
+        Map<LocalDate, List<LocalTime[]>> occupied = new HashMap<>();
+        for (Object[] slot : bookingRepository.findTimeSlotsByCourtsAndDateRange(
+                List.of(courtId), dates.first(), dates.last(), BookingStatus.CONFIRMADA)) {
+            occupied.computeIfAbsent((LocalDate) slot[2], date -> new ArrayList<>())
+                    .add(new LocalTime[]{(LocalTime) slot[3], (LocalTime) slot[4]});
+        }
+
+        List<Booking> bookings = new ArrayList<>(candidates.size());
+        for (Candidate candidate : candidates) {
+            BookingRequestDTO request = candidate.request();
+            List<LocalTime[]> daySlots = occupied.computeIfAbsent(request.getBookingDate(), date -> new ArrayList<>());
+
+            if (overlaps(daySlots, request.getStartTime(), request.getEndTime())) {
+                results[candidate.index()] = failed(candidate.row(), "conflict", SLOT_TAKEN_MESSAGE, null);
+                continue;
+            }
+            // También ocupa el horario frente a las filas siguientes del archivo
+            daySlots.add(new LocalTime[]{request.getStartTime(), request.getEndTime()});
+
+            Booking booking = Booking.builder()
+                    .user(candidate.user())
+                    .court(court)
+                    .bookingDate(request.getBookingDate())
+                    .startTime(request.getStartTime())
+                    .endTime(request.getEndTime())
+                    .status(BookingStatus.CONFIRMADA)
+                    .isRecurrent(false)
+                    .usesPackage(false)
+                    .build();
+            pricingService.applyPrices(booking, court, candidate.user(), false);
+
+            bookings.add(booking);
+            accepted.add(candidate);
+        }
+
+        if (bookings.isEmpty()) {
+            return bookings;
+        }
+
+        // Inserción en lote (hibernate.jdbc.batch_size) con un solo flush
+        List<Booking> saved = bookingRepository.saveAll(bookings);
+        bookingRepository.flush();
+
+        for (Booking booking : saved) {
+            occupancyIndexService.registerBooking(booking);
+            eventPublisher.publishEvent(new SlotBookedEvent(
+                    courtId, booking.getBookingDate(), booking.getStartTime(), booking.getEndTime()));
+            eventPublisher.publishEvent(CourtDayStatsEvent.booked(booking));
+        }
+        return saved;
+    }
+
+    private boolean overlaps(List<LocalTime[]> daySlots, LocalTime startTime, LocalTime endTime) {
+        for (LocalTime[] slot : daySlots) {
+            if (startTime.isBefore(slot[1]) && endTime.isAfter(slot[0])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private List<ErrorResponse.FieldError> constraintViolations(BookingRequestDTO request) {
+        Set<ConstraintViolation<BookingRequestDTO>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return List.of();
+        }
+
+        List<ErrorResponse.FieldError> fieldErrors = new ArrayList<>(violations.size());
+        for (ConstraintViolation<BookingRequestDTO> violation : violations) {
+            fieldErrors.add(new ErrorResponse.FieldError(
+                    violation.getPropertyPath().toString(),
+                    violation.getMessage(),
+                    violation.getInvalidValue()
+            ));
+        }
+        return fieldErrors;
+    }
+
+    private String joinMessages(List<ErrorResponse.FieldError> fieldErrors) {
+        return fieldErrors.stream().map(ErrorResponse.FieldError::getMessage).collect(Collectors.joining("; "));
+    }
+
+    private BookingImportRowResultDTO failed(int row, String reasonTag, String reason,
+                                             List<ErrorResponse.FieldError> fieldErrors) {
+        meterRegistry.counter("booking.failed", "type", BOOKING_TYPE_IMPORT, "reason", reasonTag).increment();
+
+        return BookingImportRowResultDTO.builder()
+                .row(row)
+                .status(FAILED)
+                .reason(reason)
+                .fieldErrors(fieldErrors)
+                .build();
+    }
+
+    /**
+     * Fila leída del archivo: la solicitud o el motivo por el que no se pudo interpretar
+     */
+    private record ImportRow(int number, BookingRequestDTO request, String error) {
+    }
+
+    /**
+     * Fila que pasó las validaciones en memoria y espera la verificación de disponibilidad
+     */
+    private record Candidate(int index, int row, BookingRequestDTO request, User user) {
+    }
+
+    private interface RowReader extends Closeable {
+
+        /**
+         * Siguiente fila, o null al terminar el archivo
+         */
+        ImportRow next() throws IOException;
+    }
+
+    /**
+     * Lee un arreglo JSON elemento por elemento con el parser de streaming de Jackson
+     */
+    private final class JsonRowReader implements RowReader {
+
+        private final JsonParser parser;
+        private boolean started;
+        private int rowNumber;
+
+        private JsonRowReader(InputStream input) throws IOException {
+            this.parser = objectMapper.createParser(input);
+        }
+
+        @Override
+        public ImportRow next() throws IOException {
+            try {
+                if (!started) {
+                    started = true;
+                    if (parser.nextToken() != JsonToken.START_ARRAY) {
+                        throw new ValidationException("El archivo JSON debe ser un arreglo de reservas");
+                    }
+                }
+
+                JsonToken token = parser.nextToken();
+                if (token == null || token == JsonToken.END_ARRAY) {
+                    return null;
+                }
+
+                rowNumber++;
+                if (token != JsonToken.START_OBJECT) {
+                    parser.skipChildren();
+                    return new ImportRow(rowNumber, null, "La fila debe ser un objeto JSON");
+                }
+                JsonNode node = objectMapper.readTree(parser);
+
+                try {
+                    return new ImportRow(rowNumber, objectMapper.treeToValue(node, BookingRequestDTO.class), null);
+                } catch (JsonProcessingException e) {
+                    return new ImportRow(rowNumber, null, "Fila inválida: " + e.getOriginalMessage());
+                }
+            } catch (JsonProcessingException e) {
+                throw new ValidationException("JSON inválido después de la fila " + rowNumber + ": " + e.getOriginalMessage());
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            parser.close();
+        }
+    }
+
+    /**
+     * Lee un CSV línea por línea; la primera línea indica el orden de las columnas
+     */
+    private static final class CsvRowReader implements RowReader {
+
+        private final BufferedReader reader;
+        private int[] columnIndexes;
+        private int rowNumber;
+
+        private CsvRowReader(InputStream input) {
+            this.reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public ImportRow next() throws IOException {
+            if (columnIndexes == null) {
+                readHeader();
+            }
+
+            String line;
+            do {
+                line = reader.readLine();
+                if (line == null) {
+                    return null;
+                }
+            } while (line.isBlank());
+
+            rowNumber++;
+            String[] fields = line.split(",", -1);
+
+            try {
+                return new ImportRow(rowNumber, BookingRequestDTO.builder()
+                        .userId(Long.valueOf(field(fields, 0)))
+                        .courtId(Long.valueOf(field(fields, 1)))
+                        .bookingDate(LocalDate.parse(field(fields, 2)))
+                        .startTime(LocalTime.parse(field(fields, 3)))
+                        .endTime(LocalTime.parse(field(fields, 4)))
+                        .usesPackage(false)
+                        .build(), null);
+            } catch (RuntimeException e) {
+                return new ImportRow(rowNumber, null, "Fila inválida: " + e.getMessage());
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+
+        private void readHeader() throws IOException {
+            String header;
+            do {
+                header = reader.readLine();
+                if (header == null) {
+                    throw new ValidationException("El archivo CSV está vacío");
+                }
+            } while (header.isBlank());
+
+            List<String> names = Arrays.stream(header.replace("\uFEFF", "").split(","))
+                    .map(name -> unquote(name.strip()))
+                    .toList();
+
+            columnIndexes = new int[CSV_COLUMNS.size()];
+            for (int i = 0; i < CSV_COLUMNS.size(); i++) {
+                columnIndexes[i] = names.indexOf(CSV_COLUMNS.get(i));
+                if (columnIndexes[i] < 0) {
+                    throw new ValidationException("El CSV debe tener las columnas: " + String.join(",", CSV_COLUMNS));
+                }
+            }
+        }
+
+        private String field(String[] fields, int column) {
+            int index = columnIndexes[column];
+            String value = index < fields.length ? unquote(fields[index].strip()) : "";
+            if (value.isEmpty()) {
+                throw new IllegalArgumentException("falta " + CSV_COLUMNS.get(column));
+            }
+            return value;
+        }
+
+        private static String unquote(String value) {
+            if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+                return value.substring(1, value.length() - 1).strip();
+            }
+            return value;
+        }
+    }
+}
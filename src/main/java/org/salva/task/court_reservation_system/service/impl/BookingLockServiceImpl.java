@@ -0,0 +1,144 @@
+package org.salva.task.court_reservation_system.service.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.salva.task.court_reservation_system.exception.ConflictException;
+import org.salva.task.court_reservation_system.service.BookingLockService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Implementación de bloqueos por franjas (striped locks): cada (cancha, fecha) cae en uno
+ * de N locks, así las canchas con mucha demanda no serializan todo el servicio.
+ * Los locks se liberan al terminar la transacción para cubrir también el commit.
+ * Son reentrantes: una transacción que ya corre dentro de callLocked vuelve a tomarlos sin esperar.
+ */
+@Service
+@Slf4j
+public class BookingLockServiceImpl implements BookingLockService {
+
+    private final ReentrantLock[] stripes;
+    private final long waitMillis;
+    private final int maxAttempts;
+
+    private final Counter contentionCounter;
+    private final Counter retryCounter;
+    private final Counter timeoutCounter;
+
+    public BookingLockServiceImpl(
+            MeterRegistry meterRegistry,
+            @Value("${app.booking-locks.stripes:64}") int stripes,
+            @Value("${app.booking-locks.wait-millis:500}") long waitMillis,
+            @Value("${app.booking-locks.max-attempts:6}") int maxAttempts
+    ) {
+        this.stripes = new ReentrantLock[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+        this.waitMillis = waitMillis;
+        this.maxAttempts = maxAttempts;
+
+        this.contentionCounter = Counter.builder("booking.lock.contention")
+                .description("Solicitudes que encontraron el lock de (cancha, fecha) ocupado")
+                .register(meterRegistry);
+        this.retryCounter = Counter.builder("booking.lock.retries")
+                .description("Reintentos de adquisición del lock de (cancha, fecha)")
+                .register(meterRegistry);
+        this.timeoutCounter = Counter.builder("booking.lock.timeouts")
+                .description("Solicitudes rechazadas por no obtener el lock a tiempo")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void lockUntilTransactionEnd(Long courtId, Collection<LocalDate> dates) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("El bloqueo de horarios requiere una transacción activa");
+        }
+
+        List<ReentrantLock> acquired = acquireAll(courtId, dates);
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                acquired.forEach(ReentrantLock::unlock);
+            }
+        });
+    }
+
+    @Override
+    public <T> T callLocked(Long courtId, Collection<LocalDate> dates, Supplier<T> action) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("callLocked debe llamarse fuera de una transacción");
+        }
+
+        List<ReentrantLock> acquired = acquireAll(courtId, dates);
+        try {
+            return action.get();
+        } finally {
+            acquired.forEach(ReentrantLock::unlock);
+        }
+    }
+
+    // ========== MÉTODOS PRIVADOS ==========
+
+    private List<ReentrantLock> acquireAll(Long courtId, Collection<LocalDate> dates) {
+        // Orden fijo de adquisición para evitar deadlocks entre reservas de varias fechas
+        int[] stripeIndexes = dates.stream()
+                .mapToInt(date -> stripeIndex(courtId, date))
+                .distinct()
+                .sorted()
+                .toArray();
+
+        List<ReentrantLock> acquired = new ArrayList<>(stripeIndexes.length);
+        try {
+            for (int stripeIndex : stripeIndexes) {
+                acquire(stripes[stripeIndex]);
+                acquired.add(stripes[stripeIndex]);
+            }
+        } catch (RuntimeException e) {
+            acquired.forEach(ReentrantLock::unlock);
+            throw e;
+        }
+        return acquired;
+    }
+
+    private void acquire(ReentrantLock lock) {
+        if (lock.tryLock()) {
+            return;
+        }
+
+        contentionCounter.increment();
+
+        try {
+            for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+                if (lock.tryLock(waitMillis, TimeUnit.MILLISECONDS)) {
+                    return;
+                }
+                retryCounter.increment();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        timeoutCounter.increment();
+        log.warn("Could not acquire booking lock after {} attempts", maxAttempts);
+        throw new ConflictException("El horario está siendo reservado por otro usuario. Intente nuevamente.");
+    }
+
+    private int stripeIndex(Long courtId, LocalDate date) {
+        int hash = 31 * Long.hashCode(courtId) + date.hashCode();
+        hash ^= (hash >>> 16);
+        return Math.floorMod(hash, stripes.length);
+    }
+}
@@ -1,63 +1,144 @@
 package org.salva.task.court_reservation_system.service.impl;
 
+import org.salva.task.court_reservation_system.config.BusinessRules;
+import org.salva.task.court_reservation_system.config.ObservabilityConfig;
 import org.salva.task.court_reservation_system.dto.request.BookingRequestDTO;
 import org.salva.task.court_reservation_system.dto.request.CancellationRequestDTO;
 import org.salva.task.court_reservation_system.dto.request.RecurrentBookingRequestDTO;
 import org.salva.task.court_reservation_system.dto.response.*;
 import org.salva.task.court_reservation_system.entity.*;
 import org.salva.task.court_reservation_system.enums.BookingStatus;
-import org.salva.task.court_reservation_system.enums.MembershipType;
+import org.salva.task.court_reservation_system.enums.PackageMovementType;
+import org.salva.task.court_reservation_system.enums.SportType;
+import org.salva.task.court_reservation_system.event.CourtDayStatsEvent;
+import org.salva.task.court_reservation_system.event.SlotBookedEvent;
+import org.salva.task.court_reservation_system.event.SlotFreedEvent;
 import org.salva.task.court_reservation_system.exception.BusinessException;
+import org.salva.task.court_reservation_system.exception.ConflictException;
 import org.salva.task.court_reservation_system.exception.ResourceNotFoundException;
 import org.salva.task.court_reservation_system.exception.ValidationException;
 import org.salva.task.court_reservation_system.mapper.BookingMapper;
 import org.salva.task.court_reservation_system.repository.*;
+import org.salva.task.court_reservation_system.service.BookingLockService;
 import org.salva.task.court_reservation_system.service.BookingService;
-import lombok.RequiredArgsConstructor;
+import org.salva.task.court_reservation_system.service.BusinessRulesService;
+import org.salva.task.court_reservation_system.service.CachedLookupService;
+import org.salva.task.court_reservation_system.service.ChunkedUpdateService;
+import org.salva.task.court_reservation_system.service.OccupancyIndexService;
+import org.salva.task.court_reservation_system.service.PricingService;
+import org.salva.task.court_reservation_system.service.ValidationService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.annotation.Timed;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
+import java.sql.SQLException;
 import java.time.*;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
+@Timed(ObservabilityConfig.SERVICE_CALLS_METRIC)
 @Transactional
 public class BookingServiceImpl implements BookingService {
 
     private final BookingRepository bookingRepository;
-    private final UserRepository userRepository;
     private final CourtRepository courtRepository;
     private final UserPackageRepository userPackageRepository;
+    private final PackageHoursMovementRepository packageHoursMovementRepository;
     private final BookingMapper bookingMapper;
+    private final OccupancyIndexService occupancyIndexService;
+    private final PricingService pricingService;
+    private final ValidationService validationService;
+    private final BusinessRulesService businessRulesService;
+    private final BookingLockService bookingLockService;
+    private final MeterRegistry meterRegistry;
+    private final ChunkedUpdateService chunkedUpdateService;
+    private final CachedLookupService cachedLookupService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    // Bloqueo adicional por fila de cancha para bases sin restricción de exclusión (H2)
+    @Value("${app.booking-locks.court-row-lock:false}")
+    private boolean courtRowLock;
+
+    // Constantes de configuración (las reglas de negocio se leen de BusinessRulesService)
+    private static final int AVAILABILITY_SLOT_MINUTES = 60;
+    private static final int MAX_MATRIX_DAYS = 31;
+    private static final String OVERLAP_CONSTRAINT = "ex_booking_court_slot";
+    private static final String EXCLUSION_VIOLATION_SQL_STATE = "23P01";
+    private static final String SLOT_TAKEN_MESSAGE = "Ya existe una reserva en ese horario";
+    private static final String BOOKING_TYPE_SIMPLE = "simple";
+    private static final String BOOKING_TYPE_RECURRENT = "recurrent";
+
+    public BookingServiceImpl(
+            BookingRepository bookingRepository,
+            CourtRepository courtRepository,
+            UserPackageRepository userPackageRepository,
+            PackageHoursMovementRepository packageHoursMovementRepository,
+            BookingMapper bookingMapper,
+            OccupancyIndexService occupancyIndexService,
+            PricingService pricingService,
+            ValidationService validationService,
+            BusinessRulesService businessRulesService,
+            BookingLockService bookingLockService,
+            MeterRegistry meterRegistry,
+            ChunkedUpdateService chunkedUpdateService,
+            CachedLookupService cachedLookupService,
+            ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.bookingRepository = bookingRepository;
+        this.courtRepository = courtRepository;
+        this.userPackageRepository = userPackageRepository;
+        this.packageHoursMovementRepository = packageHoursMovementRepository;
+        this.bookingMapper = bookingMapper;
+        this.occupancyIndexService = occupancyIndexService;
+        this.pricingService = pricingService;
+        this.validationService = validationService;
+        this.businessRulesService = businessRulesService;
+        this.bookingLockService = bookingLockService;
+        this.meterRegistry = meterRegistry;
+        this.chunkedUpdateService = chunkedUpdateService;
+        this.cachedLookupService = cachedLookupService;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
 
-    // Constantes de configuración (idealmente desde application.yml)
-    private static final int MIN_ADVANCE_HOURS = 2;
-    private static final int MIN_DURATION_HOURS = 1;
-    private static final int MAX_DURATION_HOURS = 4;
-    private static final LocalTime OPERATION_START_TIME = LocalTime.of(6, 0);
-    private static final LocalTime OPERATION_END_TIME = LocalTime.of(23, 0);
-    private static final LocalTime PEAK_HOURS_START = LocalTime.of(18, 0);
-    private static final LocalTime PEAK_HOURS_END = LocalTime.of(22, 0);
-    private static final LocalTime VALLEY_HOURS_START = LocalTime.of(6, 0);
-    private static final LocalTime VALLEY_HOURS_END = LocalTime.of(12, 0);
-
+    /**
+     * El lock de (cancha, fecha) se toma antes de abrir la transacción: quien espera no retiene
+     * una conexión del pool, y la transacción confirma antes de liberarlo
+     */
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public BookingResponseDTO createBooking(BookingRequestDTO requestDTO) {
+        return countFailures(BOOKING_TYPE_SIMPLE, () -> bookingLockService.callLocked(
+                requestDTO.getCourtId(), List.of(requestDTO.getBookingDate()),
+                () -> transactionTemplate.execute(status -> doCreateBooking(requestDTO))));
+    }
+
+    private BookingResponseDTO doCreateBooking(BookingRequestDTO requestDTO) {
         log.info("Creating booking for user: {} on court: {}", requestDTO.getUserId(), requestDTO.getCourtId());
 
-        // 1. Obtener entidades
+        // 1. Obtener entidades (el horario (cancha, fecha) ya está bloqueado)
         User user = getUserOrThrow(requestDTO.getUserId());
-        Court court = getCourtOrThrow(requestDTO.getCourtId());
+        Court court = getCourtForBookingOrThrow(requestDTO.getCourtId());
 
-        // 2. Validaciones de reglas de negocio
-        validateBookingRules(requestDTO, user, court);
+        // 2. Validaciones de reglas de negocio (pipeline de BookingRule)
+        validationService.validateBookingRequest(requestDTO, user, court);
 
         // 3. Crear booking básico
         Booking booking = bookingMapper.toEntity(requestDTO);
@@ -66,7 +147,7 @@ public class BookingServiceImpl implements BookingService {
         booking.setStatus(BookingStatus.CONFIRMADA);
 
         // 4. Calcular precios
-        calculateAndSetPrices(booking, court, user, false);
+        pricingService.applyPrices(booking, court, user, false);
 
         // 5. Manejar paquete si aplica
         if (Boolean.TRUE.equals(requestDTO.getUsesPackage())) {
@@ -74,104 +155,125 @@ public class BookingServiceImpl implements BookingService {
         }
 
         // 6. Guardar
-        booking = bookingRepository.save(booking);
+        booking = saveBookingOrConflict(booking);
+        recordPackageDeduction(booking);
+        occupancyIndexService.registerBooking(booking);
+        publishSlotBooked(booking);
 
         log.info("Booking created successfully with id: {}", booking.getId());
+        meterRegistry.counter("booking.created", "type", BOOKING_TYPE_SIMPLE).increment();
 
         return bookingMapper.toResponseDTO(booking);
     }
 
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public RecurrentBookingResponseDTO createRecurrentBooking(RecurrentBookingRequestDTO requestDTO) {
+        // Bloquear todas las fechas de la serie antes de abrir la transacción y validar
+        List<LocalDate> bookingDates = new ArrayList<>(requestDTO.getNumberOfWeeks());
+        for (int week = 0; week < requestDTO.getNumberOfWeeks(); week++) {
+            bookingDates.add(requestDTO.getStartDate().plusWeeks(week));
+        }
+
+        return countFailures(BOOKING_TYPE_RECURRENT, () -> bookingLockService.callLocked(
+                requestDTO.getCourtId(), bookingDates,
+                () -> transactionTemplate.execute(status -> doCreateRecurrentBooking(requestDTO, bookingDates))));
+    }
+
+    private RecurrentBookingResponseDTO doCreateRecurrentBooking(RecurrentBookingRequestDTO requestDTO,
+                                                                 List<LocalDate> bookingDates) {
         log.info("Creating recurrent booking for user: {} on court: {}",
                 requestDTO.getUserId(), requestDTO.getCourtId());
 
         User user = getUserOrThrow(requestDTO.getUserId());
-        Court court = getCourtOrThrow(requestDTO.getCourtId());
+        Court court = getCourtForBookingOrThrow(requestDTO.getCourtId());
 
-        List<RecurrentBookingResponseDTO.RecurrentBookingDetail> details = new ArrayList<>();
-        int successCount = 0;
-        int failCount = 0;
-        BigDecimal totalPrice = BigDecimal.ZERO;
-
-        // Crear booking padre (primer reserva)
-        LocalDate currentDate = requestDTO.getStartDate();
-        Booking parentBooking = null;
+        // 1. Una sola consulta con las fechas de la serie que ya tienen una reserva solapada
+        Set<LocalDate> takenDates = new HashSet<>(bookingRepository.findOverlappingBookingDates(
+                requestDTO.getCourtId(),
+                bookingDates,
+                requestDTO.getStartTime(),
+                requestDTO.getEndTime(),
+                BookingStatus.CONFIRMADA
+        ));
+        takenDates.forEach(date -> countSlotConflict("database"));
+
+        // 2. Construir y tarificar en memoria las reservas de las fechas libres
+        List<Booking> bookings = new ArrayList<>(bookingDates.size() - takenDates.size());
+        for (LocalDate date : bookingDates) {
+            if (takenDates.contains(date)) {
+                continue;
+            }
 
-        for (int week = 0; week < requestDTO.getNumberOfWeeks(); week++) {
-            try {
-                // Validar disponibilidad
-                if (bookingRepository.existsOverlappingBooking(
-                        requestDTO.getCourtId(),
-                        currentDate,
-                        requestDTO.getStartTime(),
-                        requestDTO.getEndTime()
-                )) {
-                    // Cancha ocupada
-                    details.add(RecurrentBookingResponseDTO.RecurrentBookingDetail.builder()
-                            .bookingDate(currentDate)
-                            .status("FAILED")
-                            .reason("Cancha no disponible en ese horario")
-                            .build());
-                    failCount++;
-
-                } else {
-                    // Crear reserva
-                    Booking booking = Booking.builder()
-                            .user(user)
-                            .court(court)
-                            .bookingDate(currentDate)
-                            .startTime(requestDTO.getStartTime())
-                            .endTime(requestDTO.getEndTime())
-                            .status(BookingStatus.CONFIRMADA)
-                            .isRecurrent(true)
-                            .recurrenceFrequency(requestDTO.getFrequency())
-                            .build();
-
-                    // Calcular precios (con descuento recurrente)
-                    calculateAndSetPrices(booking, court, user, true);
-
-                    // Establecer padre
-                    if (week == 0) {
-                        parentBooking = bookingRepository.save(booking);
-                        booking.setParentBookingId(parentBooking.getId());
-                    } else {
-                        booking.setParentBookingId(parentBooking.getId());
-                    }
+            Booking booking = Booking.builder()
+                    .user(user)
+                    .court(court)
+                    .bookingDate(date)
+                    .startTime(requestDTO.getStartTime())
+                    .endTime(requestDTO.getEndTime())
+                    .status(BookingStatus.CONFIRMADA)
+                    .isRecurrent(true)
+                    .recurrenceFrequency(requestDTO.getFrequency())
+                    .build();
+
+            // Calcular precios (con descuento recurrente)
+            pricingService.applyPrices(booking, court, user, true);
+            bookings.add(booking);
+        }
 
-                    // Manejar paquete
-                    if (Boolean.TRUE.equals(requestDTO.getUsesPackage())) {
-                        handlePackageUsage(booking, requestDTO.getUserPackageId());
-                    }
+        // 3. Paquete: un único descuento por las horas de toda la serie
+        int hoursPerBooking = (int) ChronoUnit.HOURS.between(requestDTO.getStartTime(), requestDTO.getEndTime());
+        boolean usesPackage = Boolean.TRUE.equals(requestDTO.getUsesPackage()) && !bookings.isEmpty();
+        if (usesPackage) {
+            deductPackageHours(requestDTO.getUserPackageId(), hoursPerBooking * bookings.size());
+            bookings.forEach(booking -> applyPackage(booking, requestDTO.getUserPackageId(), hoursPerBooking));
+        }
 
-                    booking = bookingRepository.save(booking);
+        // 4. Insertar en lote: la primera reserva es la padre de la serie
+        if (!bookings.isEmpty()) {
+            Booking parentBooking = bookingRepository.save(bookings.get(0));
+            bookings.forEach(booking -> booking.setParentBookingId(parentBooking.getId()));
+            bookings = saveAllBookingsOrConflict(bookings);
+            bookings.forEach(occupancyIndexService::registerBooking);
+            bookings.forEach(this::publishSlotBooked);
 
-                    details.add(RecurrentBookingResponseDTO.RecurrentBookingDetail.builder()
-                            .bookingId(booking.getId())
-                            .bookingDate(currentDate)
-                            .status("CREATED")
-                            .price(booking.getTotalPrice())
-                            .build());
+            if (usesPackage) {
+                recordPackageMovement(parentBooking, PackageMovementType.DEDUCCION, hoursPerBooking * bookings.size());
+            }
+        }
 
-                    successCount++;
-                    totalPrice = totalPrice.add(booking.getTotalPrice());
-                }
+        // 5. Armar el detalle semana a semana
+        List<RecurrentBookingResponseDTO.RecurrentBookingDetail> details = new ArrayList<>(bookingDates.size());
+        BigDecimal totalPrice = BigDecimal.ZERO;
+        int created = 0;
 
-            } catch (Exception e) {
-                log.error("Error creating booking for date: {}", currentDate, e);
+        for (LocalDate date : bookingDates) {
+            if (takenDates.contains(date)) {
                 details.add(RecurrentBookingResponseDTO.RecurrentBookingDetail.builder()
-                        .bookingDate(currentDate)
+                        .bookingDate(date)
                         .status("FAILED")
-                        .reason("Error interno: " + e.getMessage())
+                        .reason("Cancha no disponible en ese horario")
                         .build());
-                failCount++;
+                continue;
             }
 
-            // Siguiente semana
-            currentDate = currentDate.plusWeeks(1);
+            Booking booking = bookings.get(created++);
+            details.add(RecurrentBookingResponseDTO.RecurrentBookingDetail.builder()
+                    .bookingId(booking.getId())
+                    .bookingDate(date)
+                    .status("CREATED")
+                    .price(booking.getTotalPrice())
+                    .build());
+            totalPrice = totalPrice.add(booking.getTotalPrice());
         }
 
+        int successCount = bookings.size();
+        int failCount = takenDates.size();
+
         log.info("Recurrent booking completed: {} successful, {} failed", successCount, failCount);
+        meterRegistry.counter("booking.created", "type", BOOKING_TYPE_RECURRENT).increment(successCount);
+        meterRegistry.counter("booking.failed", "type", BOOKING_TYPE_RECURRENT, "reason", "conflict")
+                .increment(failCount);
 
         return RecurrentBookingResponseDTO.builder()
                 .totalRequested(requestDTO.getNumberOfWeeks())
@@ -188,7 +290,7 @@ public class BookingServiceImpl implements BookingService {
     public BookingDetailResponseDTO getBookingById(Long id) {
         log.debug("Getting booking by id: {}", id);
 
-        Booking booking = bookingRepository.findById(id)
+        Booking booking = bookingRepository.findWithUserAndCourtById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Reserva no encontrada con id: " + id));
 
         return bookingMapper.toDetailResponseDTO(booking);
@@ -199,9 +301,7 @@ public class BookingServiceImpl implements BookingService {
     public List<BookingResponseDTO> getBookingsByUser(Long userId) {
         log.debug("Getting bookings for user: {}", userId);
 
-        List<Booking> bookings = bookingRepository.findByUserId(userId);
-
-        return bookingMapper.toResponseDTOList(bookings);
+        return bookingRepository.findSummariesByUserId(userId);
     }
 
     @Override
@@ -209,9 +309,7 @@ public class BookingServiceImpl implements BookingService {
     public List<BookingResponseDTO> getBookingsByUserAndStatus(Long userId, BookingStatus status) {
         log.debug("Getting bookings for user: {} with status: {}", userId, status);
 
-        List<Booking> bookings = bookingRepository.findByUserIdAndStatus(userId, status);
-
-        return bookingMapper.toResponseDTOList(bookings);
+        return bookingRepository.findSummariesByUserIdAndStatus(userId, status);
     }
 
     @Override
@@ -219,9 +317,7 @@ public class BookingServiceImpl implements BookingService {
     public List<BookingResponseDTO> getFutureBookingsByUser(Long userId) {
         log.debug("Getting future bookings for user: {}", userId);
 
-        List<Booking> bookings = bookingRepository.findFutureBookingsByUser(userId, LocalDate.now());
-
-        return bookingMapper.toResponseDTOList(bookings);
+        return bookingRepository.findFutureSummariesByUserId(userId, LocalDate.now(), BookingStatus.CONFIRMADA);
     }
 
     // Continúa en siguiente parte...
@@ -233,57 +329,131 @@ public class BookingServiceImpl implements BookingService {
         log.debug("Getting availability for court: {} on date: {}", courtId, date);
 
         Court court = getCourtOrThrow(courtId);
+        BusinessRules rules = businessRulesService.current();
+
+        // Slots ocupados por reservas confirmadas (desde el índice de ocupación, a lo sumo una consulta)
+        OccupancyIndexService.OccupancySnapshot occupancy =
+                occupancyIndexService.snapshot(List.of(courtId), date, date);
+        List<CourtAvailabilityResponseDTO.TimeSlotDTO> occupiedSlots = occupancy.getOccupiedSlots(courtId, date);
 
-        // Obtener reservas confirmadas del día
-        List<Booking> confirmedBookings = bookingRepository
-                .findConfirmedBookingsByCourtAndDate(courtId, date);
+        // Generar slots disponibles (cada 1 hora dentro del horario de operación)
+        List<CourtAvailabilityResponseDTO.TimeSlotDTO> availableSlots = new ArrayList<>();
+        List<LocalTime> freeSlotStarts = occupancy.findFreeSlots(courtId, date,
+                rules.getOperationStartTime(), rules.getOperationEndTime(), AVAILABILITY_SLOT_MINUTES);
+
+        long priceBaseHourCents = pricingService.toCents(court.getPriceBaseHour());
 
-        // Generar slots ocupados
-        List<CourtAvailabilityResponseDTO.TimeSlotDTO> occupiedSlots = new ArrayList<>();
-        for (Booking booking : confirmedBookings) {
-            occupiedSlots.add(CourtAvailabilityResponseDTO.TimeSlotDTO.builder()
-                    .startTime(booking.getStartTime())
-                    .endTime(booking.getEndTime())
+        for (LocalTime currentTime : freeSlotStarts) {
+            LocalTime slotEnd = currentTime.plusHours(1);
+            BigDecimal estimatedPrice = pricingService.estimatePrice(priceBaseHourCents, date, currentTime, slotEnd);
+            BigDecimal priceFactor = pricingService.getPriceFactor(date, currentTime);
+
+            availableSlots.add(CourtAvailabilityResponseDTO.TimeSlotDTO.builder()
+                    .startTime(currentTime)
+                    .endTime(slotEnd)
+                    .estimatedPrice(estimatedPrice)
+                    .priceFactor(priceFactor)
                     .build());
         }
 
-        // Generar slots disponibles (cada 1 hora desde 06:00 hasta 22:00)
-        List<CourtAvailabilityResponseDTO.TimeSlotDTO> availableSlots = new ArrayList<>();
-        LocalTime currentTime = OPERATION_START_TIME;
+        return CourtAvailabilityResponseDTO.builder()
+                .courtId(courtId)
+                .courtName(court.getName())
+                .date(date)
+                .availableSlots(availableSlots)
+                .occupiedSlots(occupiedSlots)
+                .build();
+    }
 
-        while (currentTime.isBefore(OPERATION_END_TIME)) {
-            LocalTime slotEnd = currentTime.plusHours(1);
+    @Override
+    @Transactional(readOnly = true)
+    public AvailabilityMatrixResponseDTO getAvailabilityMatrix(
+            List<Long> courtIds,
+            SportType sportType,
+            LocalDate startDate,
+            LocalDate endDate
+    ) {
+        log.debug("Getting availability matrix for courts: {} sport type: {} from {} to {}",
+                courtIds, sportType, startDate, endDate);
+
+        if (endDate.isBefore(startDate)) {
+            throw new ValidationException("La fecha de fin no puede ser anterior a la fecha de inicio");
+        }
+        if (ChronoUnit.DAYS.between(startDate, endDate) >= MAX_MATRIX_DAYS) {
+            throw new ValidationException("El rango máximo de fechas es de " + MAX_MATRIX_DAYS + " días");
+        }
 
-            // Verificar si este slot está libre
-            boolean isOccupied = false;
-            for (Booking booking : confirmedBookings) {
-                if (hasOverlap(currentTime, slotEnd, booking.getStartTime(), booking.getEndTime())) {
-                    isOccupied = true;
-                    break;
-                }
+        List<Court> courts = resolveMatrixCourts(courtIds, sportType);
+        List<Long> resolvedIds = courts.stream().map(court -> (long) court.getId()).toList();
+
+        // Una sola consulta por rango para todos los días de todas las canchas,
+        // también para las fechas fuera de la ventana del índice
+        OccupancyIndexService.OccupancySnapshot occupancy =
+                occupancyIndexService.snapshot(resolvedIds, startDate, endDate);
+
+        // Horarios y factores de precio: se escriben una vez, compartidos por todas las canchas
+        BusinessRules rules = businessRulesService.current();
+        List<LocalTime> slotStartTimes = new ArrayList<>();
+        for (LocalTime time = rules.getOperationStartTime();
+             !time.plusMinutes(AVAILABILITY_SLOT_MINUTES).isAfter(rules.getOperationEndTime());
+             time = time.plusMinutes(AVAILABILITY_SLOT_MINUTES)) {
+            slotStartTimes.add(time);
+        }
+
+        List<AvailabilityMatrixResponseDTO.DayDTO> days = new ArrayList<>();
+        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+            List<BigDecimal> priceFactors = new ArrayList<>(slotStartTimes.size());
+            for (LocalTime slotStart : slotStartTimes) {
+                priceFactors.add(pricingService.getPriceFactor(date, slotStart));
             }
+            days.add(AvailabilityMatrixResponseDTO.DayDTO.builder()
+                    .date(date)
+                    .priceFactors(priceFactors)
+                    .build());
+        }
 
-            if (!isOccupied) {
-                BigDecimal estimatedPrice = estimatePrice(court, date, currentTime, slotEnd);
-                BigDecimal priceFactor = calculatePriceFactor(date, currentTime);
+        List<AvailabilityMatrixResponseDTO.CourtRowDTO> rows = new ArrayList<>();
+        for (Court court : courts) {
+            List<AvailabilityMatrixResponseDTO.CourtDayDTO> availability = new ArrayList<>(days.size());
+
+            for (AvailabilityMatrixResponseDTO.DayDTO day : days) {
+                List<LocalTime> freeSlotStarts = occupancy.findFreeSlots((long) court.getId(),
+                        day.getDate(), rules.getOperationStartTime(), rules.getOperationEndTime(),
+                        AVAILABILITY_SLOT_MINUTES);
+
+                List<Integer> freeSlots = new ArrayList<>();
+                List<Integer> occupiedSlots = new ArrayList<>();
+                int next = 0;
+                for (int slot = 0; slot < slotStartTimes.size(); slot++) {
+                    if (next < freeSlotStarts.size() && freeSlotStarts.get(next).equals(slotStartTimes.get(slot))) {
+                        freeSlots.add(slot);
+                        next++;
+                    } else {
+                        occupiedSlots.add(slot);
+                    }
+                }
 
-                availableSlots.add(CourtAvailabilityResponseDTO.TimeSlotDTO.builder()
-                        .startTime(currentTime)
-                        .endTime(slotEnd)
-                        .estimatedPrice(estimatedPrice)
-                        .priceFactor(priceFactor)
+                availability.add(AvailabilityMatrixResponseDTO.CourtDayDTO.builder()
+                        .freeSlots(freeSlots)
+                        .occupiedSlots(occupiedSlots)
                         .build());
             }
 
-            currentTime = slotEnd;
+            rows.add(AvailabilityMatrixResponseDTO.CourtRowDTO.builder()
+                    .courtId((long) court.getId())
+                    .courtName(court.getName())
+                    .basePricePerHour(court.getPriceBaseHour())
+                    .availability(availability)
+                    .build());
         }
 
-        return CourtAvailabilityResponseDTO.builder()
-                .courtId(courtId)
-                .courtName(court.getName())
-                .date(date)
-                .availableSlots(availableSlots)
-                .occupiedSlots(occupiedSlots)
+        return AvailabilityMatrixResponseDTO.builder()
+                .startDate(startDate)
+                .endDate(endDate)
+                .slotDurationMinutes(AVAILABILITY_SLOT_MINUTES)
+                .slotStartTimes(slotStartTimes)
+                .days(days)
+                .courts(rows)
                 .build();
     }
 
@@ -293,7 +463,7 @@ public class BookingServiceImpl implements BookingService {
         LocalTime startTime = LocalTime.parse(startTimeStr);
         LocalTime endTime = LocalTime.parse(endTimeStr);
 
-        return bookingRepository.existsOverlappingBooking(courtId, date, startTime, endTime);
+        return occupancyIndexService.hasOverlap(courtId, date, startTime, endTime);
     }
 
     @Override
@@ -313,7 +483,8 @@ public class BookingServiceImpl implements BookingService {
         long hoursInAdvance = ChronoUnit.HOURS.between(LocalDateTime.now(), bookingDateTime);
 
         // Calcular penalización según RN-020 a RN-025
-        BigDecimal penaltyPercentage = calculateCancellationPenalty(booking, hoursInAdvance);
+        BusinessRules rules = businessRulesService.current();
+        BigDecimal penaltyPercentage = rules.getCancellationPenalty(booking.getUser().getMembershipType(), hoursInAdvance);
         BigDecimal penaltyAmount = booking.getTotalPrice().multiply(penaltyPercentage);
         BigDecimal refundAmount = booking.getTotalPrice().subtract(penaltyAmount);
 
@@ -325,10 +496,12 @@ public class BookingServiceImpl implements BookingService {
         booking.setPenaltyAmount(penaltyAmount);
 
         bookingRepository.save(booking);
+        occupancyIndexService.releaseBooking(booking);
+        publishSlotFreed(booking);
 
         // Manejar paquete (devolver horas si no hay penalización tardía)
         Integer hoursRefunded = null;
-        if (Boolean.TRUE.equals(booking.getUsesPackage()) && penaltyPercentage.compareTo(new BigDecimal("0.5")) < 0) {
+        if (Boolean.TRUE.equals(booking.getUsesPackage()) && penaltyPercentage.compareTo(rules.getPenaltyLate()) < 0) {
             hoursRefunded = refundHoursToPackage(booking);
         }
 
@@ -340,6 +513,8 @@ public class BookingServiceImpl implements BookingService {
 
         log.info("Booking cancelled successfully. Penalty: {}%, Refund: {}",
                 penaltyPercentage.multiply(new BigDecimal("100")), refundAmount);
+        countCancellations(String.valueOf(penaltyPercentage.movePointRight(2).intValue()), 1);
+        countCancellations("recurrent", totalCancelled - 1);
 
         return CancellationResponseDTO.builder()
                 .bookingId(booking.getId())
@@ -358,160 +533,115 @@ public class BookingServiceImpl implements BookingService {
     }
 
     @Override
-    public void markPastBookingsAsCompleted() {
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int markPastBookingsAsCompleted() {
         log.info("Marking past bookings as completed");
 
         LocalDate today = LocalDate.now();
         LocalTime now = LocalTime.now();
 
-        List<Booking> pastBookings = bookingRepository.findPastConfirmedBookings(today, now);
-
-        for (Booking booking : pastBookings) {
-            booking.setStatus(BookingStatus.COMPLETADA);
-        }
+        // UPDATE por bloques, cada uno con su commit: no se cargan las reservas en memoria
+        int completed = chunkedUpdateService.runInChunks("complete-past-bookings", chunkSize ->
+                bookingRepository.updatePastBookingsStatus(
+                        BookingStatus.CONFIRMADA, BookingStatus.COMPLETADA, today, now, chunkSize));
 
-        bookingRepository.saveAll(pastBookings);
+        // Los días anteriores salen del índice; el día actual se vuelve a leer si hubo cambios
+        occupancyIndexService.evictBefore(completed > 0 ? today.plusDays(1) : today);
 
-        log.info("Marked {} bookings as completed", pastBookings.size());
+        log.info("Marked {} bookings as completed", completed);
+        return completed;
     }
 
-    // ========== MÉTODOS PRIVADOS DE VALIDACIÓN ==========
-
-    private void validateBookingRules(BookingRequestDTO requestDTO, User user, Court court) {
-        // RN-004: Mínimo 2 horas de anticipación
-        LocalDateTime bookingDateTime = LocalDateTime.of(requestDTO.getBookingDate(), requestDTO.getStartTime());
-        long hoursUntilBooking = ChronoUnit.HOURS.between(LocalDateTime.now(), bookingDateTime);
-
-        if (hoursUntilBooking < MIN_ADVANCE_HOURS) {
-            throw new ValidationException("Debe reservar con al menos " + MIN_ADVANCE_HOURS + " horas de anticipación");
-        }
-
-        // RN-002: Duración entre 1 y 4 horas
-        long duration = ChronoUnit.HOURS.between(requestDTO.getStartTime(), requestDTO.getEndTime());
-        if (duration < MIN_DURATION_HOURS || duration > MAX_DURATION_HOURS) {
-            throw new ValidationException("La duración debe ser entre " + MIN_DURATION_HOURS +
-                    " y " + MAX_DURATION_HOURS + " horas");
-        }
+    // ========== MÉTODOS PRIVADOS DE PERSISTENCIA ==========
 
-        // RN-003: Horario de operación
-        if (requestDTO.getStartTime().isBefore(OPERATION_START_TIME) ||
-                requestDTO.getEndTime().isAfter(OPERATION_END_TIME)) {
-            throw new ValidationException("El horario de operación es de " + OPERATION_START_TIME +
-                    " a " + OPERATION_END_TIME);
-        }
+    /**
+     * Guarda la reserva forzando el INSERT para detectar aquí la restricción de exclusión
+     */
+    private Booking saveBookingOrConflict(Booking booking) {
+        return saveAllBookingsOrConflict(List.of(booking)).get(0);
+    }
 
-        // RN-005: Límite de días de anticipación según membresía
-        long daysUntilBooking = ChronoUnit.DAYS.between(LocalDate.now(), requestDTO.getBookingDate());
-        int maxDays = user.getMembershipType().getMaxDaysAdvance();
+    /**
+     * Guarda las reservas en lote (un solo flush) y traduce la restricción de exclusión a un conflicto
+     */
+    private List<Booking> saveAllBookingsOrConflict(List<Booking> bookings) {
+        try {
+            List<Booking> saved = bookingRepository.saveAll(bookings);
+            bookingRepository.flush();
+            return saved;
+        } catch (DataIntegrityViolationException e) {
+            if (!isOverlapViolation(e)) {
+                throw e;
+            }
 
-        if (daysUntilBooking > maxDays) {
-            throw new ValidationException("Con su membresía " + user.getMembershipType() +
-                    " solo puede reservar hasta " + maxDays + " días adelante");
+            Booking first = bookings.get(0);
+            log.warn("Overlap constraint rejected {} booking(s) for court: {} from date: {}",
+                    bookings.size(), first.getCourt().getId(), first.getBookingDate());
+            bookings.forEach(booking ->
+                    occupancyIndexService.invalidate((long) booking.getCourt().getId(), booking.getBookingDate()));
+            countSlotConflict("constraint");
+            throw new ConflictException(SLOT_TAKEN_MESSAGE);
         }
+    }
 
-        // RN-001: Verificar solapamiento
-        if (bookingRepository.existsOverlappingBooking(
-                requestDTO.getCourtId(),
-                requestDTO.getBookingDate(),
-                requestDTO.getStartTime(),
-                requestDTO.getEndTime()
-        )) {
-            throw new BusinessException("Ya existe una reserva en ese horario");
+    private boolean isOverlapViolation(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException
+                    && EXCLUSION_VIOLATION_SQL_STATE.equals(sqlException.getSQLState())) {
+                return true;
+            }
+            if (cause.getMessage() != null && cause.getMessage().contains(OVERLAP_CONSTRAINT)) {
+                return true;
+            }
         }
+        return false;
     }
 
-    // ========== MÉTODOS PRIVADOS DE CÁLCULO DE PRECIOS ==========
-
-    private void calculateAndSetPrices(Booking booking, Court court, User user, boolean isRecurrent) {
-        BigDecimal basePrice = court.getPriceBaseHour();
-        int hours = (int) ChronoUnit.HOURS.between(booking.getStartTime(), booking.getEndTime());
-        BigDecimal baseTotal = basePrice.multiply(new BigDecimal(hours));
-
-        booking.setBasePrice(baseTotal);
-
-        // Aplicar factores dinámicos
-        BigDecimal priceFactor = calculatePriceFactor(booking.getBookingDate(), booking.getStartTime());
-        BigDecimal subtotal = baseTotal.multiply(priceFactor);
-        BigDecimal surcharges = subtotal.subtract(baseTotal);
-
-        booking.setDynamicSurcharges(surcharges);
-
-        // Aplicar descuentos
-        BigDecimal discount = BigDecimal.ZERO;
-
-        // Descuento por membresía (RN-011 a RN-013)
-        if (user.getMembershipType() != MembershipType.NINGUNA) {
-            BigDecimal membershipDiscount = subtotal.multiply(
-                    new BigDecimal(user.getMembershipType().getDiscountPercentage())
-            );
-            discount = discount.add(membershipDiscount);
-        }
+    private void countSlotConflict(String source) {
+        meterRegistry.counter("booking.slot.conflicts", "source", source).increment();
+    }
 
-        // Descuento recurrente adicional (RN-029)
-        if (isRecurrent) {
-            BigDecimal recurrentDiscount = subtotal.multiply(new BigDecimal("0.05"));
-            discount = discount.add(recurrentDiscount);
+    // ========== MÉTODOS PRIVADOS DE MÉTRICAS ==========
+
+    /**
+     * Cuenta las creaciones fallidas por motivo (booking.failed) y relanza la excepción
+     */
+    private <T> T countFailures(String type, Supplier<T> creation) {
+        try {
+            return creation.get();
+        } catch (RuntimeException e) {
+            meterRegistry.counter("booking.failed", "type", type, "reason", failureReason(e)).increment();
+            throw e;
         }
-
-        booking.setAppliedDiscount(discount);
-
-        // Precio final
-        BigDecimal totalPrice = subtotal.subtract(discount);
-        booking.setTotalPrice(totalPrice.setScale(2, RoundingMode.HALF_UP));
     }
 
-    private BigDecimal calculatePriceFactor(LocalDate date, LocalTime time) {
-        BigDecimal factor = BigDecimal.ONE;
-
-        // RN-007: Fin de semana (+30%)
-        DayOfWeek dayOfWeek = date.getDayOfWeek();
-        if (dayOfWeek == DayOfWeek.SATURDAY || dayOfWeek == DayOfWeek.SUNDAY) {
-            factor = factor.multiply(new BigDecimal("1.3"));
+    private String failureReason(RuntimeException e) {
+        if (e instanceof ConflictException) {
+            return "conflict";
         }
-
-        // RN-006: Horario pico (+50%)
-        if (!time.isBefore(PEAK_HOURS_START) && time.isBefore(PEAK_HOURS_END)) {
-            factor = factor.multiply(new BigDecimal("1.5"));
+        if (e instanceof ValidationException) {
+            return "validation";
         }
-
-        // RN-009: Horario valle (-20%)
-        if (!time.isBefore(VALLEY_HOURS_START) && time.isBefore(VALLEY_HOURS_END)) {
-            factor = factor.multiply(new BigDecimal("0.8"));
+        if (e instanceof ResourceNotFoundException) {
+            return "not_found";
         }
-
-        return factor;
+        if (e instanceof BusinessException) {
+            return "business_rule";
+        }
+        return "error";
     }
 
-    private BigDecimal estimatePrice(Court court, LocalDate date, LocalTime startTime, LocalTime endTime) {
-        int hours = (int) ChronoUnit.HOURS.between(startTime, endTime);
-        BigDecimal basePrice = court.getPriceBaseHour().multiply(new BigDecimal(hours));
-        BigDecimal factor = calculatePriceFactor(date, startTime);
-
-        return basePrice.multiply(factor).setScale(2, RoundingMode.HALF_UP);
+    /**
+     * Cancelaciones por tramo de penalización (porcentaje: 0, 30, 50...) o "recurrent" para el resto de la serie
+     */
+    private void countCancellations(String penaltyTier, int count) {
+        if (count > 0) {
+            meterRegistry.counter("booking.cancellations", "penalty", penaltyTier).increment(count);
+        }
     }
 
     // ========== MÉTODOS PRIVADOS DE CANCELACIÓN ==========
 
-    private BigDecimal calculateCancellationPenalty(Booking booking, long hoursInAdvance) {
-        // RN-025: VIP tiene cancelación gratuita hasta 12 horas antes
-        if (booking.getUser().getMembershipType() == MembershipType.VIP && hoursInAdvance >= 12) {
-            return BigDecimal.ZERO;
-        }
-
-        // RN-020: Más de 24 horas = sin penalización
-        if (hoursInAdvance >= 24) {
-            return BigDecimal.ZERO;
-        }
-
-        // RN-021: Entre 12-24 horas = 30%
-        if (hoursInAdvance >= 12) {
-            return new BigDecimal("0.30");
-        }
-
-        // RN-022: Menos de 12 horas = 50%
-        return new BigDecimal("0.50");
-    }
-
     private String buildCancellationMessage(BigDecimal penaltyPercentage) {
         if (penaltyPercentage.compareTo(BigDecimal.ZERO) == 0) {
             return "Cancelación exitosa sin penalización";
@@ -529,6 +659,8 @@ public class BookingServiceImpl implements BookingService {
             if (booking.getStatus() == BookingStatus.CONFIRMADA) {
                 booking.setStatus(BookingStatus.CANCELADA);
                 booking.setCancelledAt(LocalDateTime.now());
+                occupancyIndexService.releaseBooking(booking);
+                publishSlotFreed(booking);
                 count++;
             }
         }
@@ -537,24 +669,58 @@ public class BookingServiceImpl implements BookingService {
         return count;
     }
 
+    /**
+     * Avisa al feed de disponibilidad del horario reservado y suma la reserva a las estadísticas
+     * diarias (se procesa al confirmar la transacción)
+     */
+    private void publishSlotBooked(Booking booking) {
+        eventPublisher.publishEvent(new SlotBookedEvent(
+                (long) booking.getCourt().getId(),
+                booking.getBookingDate(),
+                booking.getStartTime(),
+                booking.getEndTime()
+        ));
+        eventPublisher.publishEvent(CourtDayStatsEvent.booked(booking));
+    }
+
+    /**
+     * Avisa a la lista de espera del horario liberado y descuenta la reserva cancelada de las
+     * estadísticas diarias (se procesa al confirmar la transacción)
+     */
+    private void publishSlotFreed(Booking booking) {
+        eventPublisher.publishEvent(new SlotFreedEvent(
+                (long) booking.getCourt().getId(),
+                booking.getBookingDate(),
+                booking.getStartTime(),
+                booking.getEndTime()
+        ));
+        eventPublisher.publishEvent(CourtDayStatsEvent.cancelled(booking));
+    }
+
     // ========== MÉTODOS PRIVADOS DE PAQUETES ==========
 
     private void handlePackageUsage(Booking booking, Long userPackageId) {
+        int hours = (int) ChronoUnit.HOURS.between(booking.getStartTime(), booking.getEndTime());
+
+        deductPackageHours(userPackageId, hours);
+        applyPackage(booking, userPackageId, hours);
+    }
+
+    private void deductPackageHours(Long userPackageId, int hours) {
         if (userPackageId == null) {
             throw new ValidationException("Debe especificar el ID del paquete a usar");
         }
 
-        UserPackage userPackage = userPackageRepository.findById(userPackageId)
-                .orElseThrow(() -> new ResourceNotFoundException("Paquete no encontrado"));
-
-        int hours = (int) ChronoUnit.HOURS.between(booking.getStartTime(), booking.getEndTime());
-
-        if (!userPackage.deductHours(hours)) {
+        // Descuento atómico: sin leer el paquete, la condición de saldo se evalúa en la misma sentencia
+        if (userPackageRepository.deductHours(userPackageId, hours, LocalDateTime.now()) == 0) {
+            if (!userPackageRepository.existsById(userPackageId)) {
+                throw new ResourceNotFoundException("Paquete no encontrado");
+            }
             throw new BusinessException("El paquete no tiene suficientes horas o está vencido");
         }
+    }
 
-        userPackageRepository.save(userPackage);
-
+    private void applyPackage(Booking booking, Long userPackageId, int hours) {
         // Al usar paquete, el precio es 0
         booking.setUsesPackage(true);
         booking.setUserPackageId(userPackageId);
@@ -569,33 +735,63 @@ public class BookingServiceImpl implements BookingService {
             return null;
         }
 
-        UserPackage userPackage = userPackageRepository.findById(booking.getUserPackageId())
-                .orElse(null);
+        int hoursToRefund = booking.getHoursDeducted().intValue();
 
-        if (userPackage != null && !userPackage.isExpired()) {
-            int hoursToRefund = booking.getHoursDeducted().intValue();
-            userPackage.setRemainingHours(userPackage.getRemainingHours() + hoursToRefund);
-            userPackage.setActive(true);
-            userPackageRepository.save(userPackage);
-            return hoursToRefund;
+        if (userPackageRepository.refundHours(booking.getUserPackageId(), hoursToRefund, LocalDateTime.now()) == 0) {
+            // Paquete inexistente, vencido o ya con el saldo completo
+            return null;
         }
 
-        return null;
+        recordPackageMovement(booking, PackageMovementType.DEVOLUCION, hoursToRefund);
+        return hoursToRefund;
+    }
+
+    private void recordPackageDeduction(Booking booking) {
+        if (Boolean.TRUE.equals(booking.getUsesPackage())) {
+            recordPackageMovement(booking, PackageMovementType.DEDUCCION, booking.getHoursDeducted().intValue());
+        }
+    }
+
+    private void recordPackageMovement(Booking booking, PackageMovementType type, int hours) {
+        packageHoursMovementRepository.save(PackageHoursMovement.builder()
+                .userPackageId(booking.getUserPackageId())
+                .bookingId(booking.getId())
+                .type(type)
+                .hours(hours)
+                .build());
     }
 
     // ========== MÉTODOS AUXILIARES ==========
 
+    private List<Court> resolveMatrixCourts(List<Long> courtIds, SportType sportType) {
+        if (courtIds != null && !courtIds.isEmpty()) {
+            List<Court> courts = courtRepository.findAllById(courtIds);
+            if (courts.size() != new HashSet<>(courtIds).size()) {
+                throw new ResourceNotFoundException("Una o más canchas no fueron encontradas: " + courtIds);
+            }
+            return courts;
+        }
+
+        if (sportType != null) {
+            return courtRepository.findBySportTypeAndActiveTrue(sportType);
+        }
+
+        throw new ValidationException("Debe especificar las canchas o el tipo de deporte");
+    }
+
     private User getUserOrThrow(Long userId) {
-        return userRepository.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("Usuario no encontrado con id: " + userId));
+        return cachedLookupService.getUser(userId);
     }
 
-    private Court getCourtOrThrow(Long courtId) {
-        return courtRepository.findById(courtId)
+    private Court getCourtForBookingOrThrow(Long courtId) {
+        if (!courtRowLock) {
+            return getCourtOrThrow(courtId);
+        }
+        return courtRepository.findByIdForUpdate(courtId)
                 .orElseThrow(() -> new ResourceNotFoundException("Cancha no encontrada con id: " + courtId));
     }
 
-    private boolean hasOverlap(LocalTime start1, LocalTime end1, LocalTime start2, LocalTime end2) {
-        return start1.isBefore(end2) && end1.isAfter(start2);
+    private Court getCourtOrThrow(Long courtId) {
+        return cachedLookupService.getCourt(courtId);
     }
 }
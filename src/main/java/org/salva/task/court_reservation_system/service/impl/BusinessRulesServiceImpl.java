@@ -0,0 +1,138 @@
+package org.salva.task.court_reservation_system.service.impl;
+
+import org.salva.task.court_reservation_system.config.BusinessRules;
+import org.salva.task.court_reservation_system.config.BusinessRulesProperties;
+import org.salva.task.court_reservation_system.exception.BusinessException;
+import org.salva.task.court_reservation_system.service.BusinessRulesService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MutablePropertySources;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Implementación de las reglas de negocio con recarga en caliente.
+ * La instantánea vigente es una referencia volátil: las lecturas no bloquean y cada recarga
+ * la reemplaza completa. El archivo de recarga (app.business-rules-reload.file) se agrega
+ * al Environment con la mayor prioridad, así sus valores pisan a los de application.yml.
+ */
+@Service
+@Slf4j
+public class BusinessRulesServiceImpl implements BusinessRulesService {
+
+    private static final String PREFIX = "app.business-rules";
+    private static final String RELOAD_SOURCE_NAME = "businessRulesReload";
+
+    private final ConfigurableEnvironment environment;
+    private final Path reloadFile;
+
+    private volatile BusinessRules rules;
+    private long reloadFileModified;
+
+    public BusinessRulesServiceImpl(
+            ConfigurableEnvironment environment,
+            BusinessRulesProperties properties,
+            @Value("${app.business-rules-reload.file:}") String reloadFile
+    ) {
+        this.environment = environment;
+        this.reloadFile = reloadFile.isBlank() ? null : Path.of(reloadFile);
+
+        if (this.reloadFile != null && Files.exists(this.reloadFile)) {
+            this.rules = reload();
+        } else {
+            // Una configuración inválida al iniciar detiene la aplicación
+            this.rules = BusinessRules.compile(properties);
+            log.info("Business rules loaded: {} distinct price factors", rules.getDistinctPriceFactors());
+        }
+    }
+
+    @Override
+    public BusinessRules current() {
+        return rules;
+    }
+
+    @Override
+    public synchronized BusinessRules reload() {
+        try {
+            refreshReloadSource();
+
+            BusinessRulesProperties properties = Binder.get(environment)
+                    .bind(PREFIX, Bindable.of(BusinessRulesProperties.class))
+                    .orElseGet(BusinessRulesProperties::new);
+
+            rules = BusinessRules.compile(properties);
+            log.info("Business rules reloaded: {} distinct price factors", rules.getDistinctPriceFactors());
+            return rules;
+        } catch (IOException | RuntimeException e) {
+            log.error("Invalid business rules, keeping the current ones: {}", e.getMessage());
+            if (rules == null) {
+                throw new IllegalStateException("No se pudieron cargar las reglas de negocio", e);
+            }
+            throw new BusinessException("Reglas de negocio inválidas: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Recarga las reglas si el archivo de recarga cambió desde la última lectura
+     */
+    @Scheduled(fixedDelayString = "${app.business-rules-reload.poll-millis:10000}")
+    public void reloadIfChanged() {
+        if (reloadFile == null) {
+            return;
+        }
+
+        try {
+            long modified = Files.exists(reloadFile) ? Files.getLastModifiedTime(reloadFile).toMillis() : 0L;
+            if (modified != reloadFileModified) {
+                reload();
+            }
+        } catch (IOException | BusinessException e) {
+            log.warn("Could not reload business rules from {}: {}", reloadFile, e.getMessage());
+        }
+    }
+
+    // ========== MÉTODOS PRIVADOS ==========
+
+    private void refreshReloadSource() throws IOException {
+        if (reloadFile == null) {
+            return;
+        }
+
+        MutablePropertySources propertySources = environment.getPropertySources();
+        if (!Files.exists(reloadFile)) {
+            propertySources.remove(RELOAD_SOURCE_NAME);
+            reloadFileModified = 0L;
+            return;
+        }
+
+        long modified = Files.getLastModifiedTime(reloadFile).toMillis();
+        List<PropertySource<?>> loaded = new YamlPropertySourceLoader()
+                .load(RELOAD_SOURCE_NAME, new FileSystemResource(reloadFile));
+
+        // Se registra la fecha aunque el archivo sea inválido: no se reintenta hasta que vuelva a cambiar
+        reloadFileModified = modified;
+
+        if (loaded.size() > 1) {
+            throw new IllegalStateException("El archivo de reglas debe tener un solo documento YAML");
+        }
+
+        if (loaded.isEmpty()) {
+            propertySources.remove(RELOAD_SOURCE_NAME);
+        } else if (propertySources.contains(RELOAD_SOURCE_NAME)) {
+            propertySources.replace(RELOAD_SOURCE_NAME, loaded.get(0));
+        } else {
+            propertySources.addFirst(loaded.get(0));
+        }
+    }
+}
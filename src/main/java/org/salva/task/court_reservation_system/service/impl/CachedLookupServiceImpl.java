@@ -0,0 +1,46 @@
+package org.salva.task.court_reservation_system.service.impl;
+
+import org.salva.task.court_reservation_system.config.CacheConfig;
+import org.salva.task.court_reservation_system.entity.Court;
+import org.salva.task.court_reservation_system.entity.User;
+import org.salva.task.court_reservation_system.exception.ResourceNotFoundException;
+import org.salva.task.court_reservation_system.repository.CourtRepository;
+import org.salva.task.court_reservation_system.repository.UserRepository;
+import org.salva.task.court_reservation_system.service.CachedLookupService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Implementación de lecturas cacheadas (read-through): la base de datos se consulta
+ * solo si el id no está en caché. Las invalidaciones están en CourtServiceImpl y UserServiceImpl.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class CachedLookupServiceImpl implements CachedLookupService {
+
+    private final CourtRepository courtRepository;
+    private final UserRepository userRepository;
+
+    @Override
+    @Cacheable(cacheNames = CacheConfig.COURTS, key = "#courtId")
+    public Court getCourt(Long courtId) {
+        log.debug("Loading court {} into cache", courtId);
+
+        return courtRepository.findById(courtId)
+                .orElseThrow(() -> new ResourceNotFoundException("Cancha no encontrada con id: " + courtId));
+    }
+
+    @Override
+    @Cacheable(cacheNames = CacheConfig.USERS, key = "#userId")
+    public User getUser(Long userId) {
+        log.debug("Loading user {} into cache", userId);
+
+        return userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Usuario no encontrado con id: " + userId));
+    }
+}
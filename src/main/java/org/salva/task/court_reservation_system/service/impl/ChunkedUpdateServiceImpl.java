@@ -0,0 +1,71 @@
+package org.salva.task.court_reservation_system.service.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.salva.task.court_reservation_system.service.ChunkedUpdateService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Implementación de actualizaciones masivas por bloques.
+ * Métricas por job: maintenance.job.duration, maintenance.job.rows y maintenance.job.throughput (filas/s de la última ejecución).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ChunkedUpdateServiceImpl implements ChunkedUpdateService {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.maintenance.chunk-size:500}")
+    private int chunkSize;
+
+    private final ConcurrentMap<String, AtomicLong> throughputByJob = new ConcurrentHashMap<>();
+
+    @Override
+    public int runInChunks(String jobName, IntUnaryOperator chunkUpdate) {
+        long startNanos = System.nanoTime();
+        int total = 0;
+        int chunks = 0;
+        int updated;
+
+        do {
+            updated = chunkUpdate.applyAsInt(chunkSize);
+            total += updated;
+            chunks++;
+        } while (updated >= chunkSize);
+
+        long elapsedNanos = System.nanoTime() - startNanos;
+        long rowsPerSecond = elapsedNanos > 0 ? Math.round(total * 1e9 / elapsedNanos) : total;
+
+        Tags tags = Tags.of("job", jobName);
+        Timer.builder("maintenance.job.duration")
+                .description("Duración de cada ejecución del job")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+        Counter.builder("maintenance.job.rows")
+                .description("Filas actualizadas por el job")
+                .tags(tags)
+                .register(meterRegistry)
+                .increment(total);
+        throughputByJob.computeIfAbsent(jobName, job ->
+                meterRegistry.gauge("maintenance.job.throughput", tags, new AtomicLong())
+        ).set(rowsPerSecond);
+
+        log.info("Job {} updated {} rows in {} chunks in {} ms ({} rows/s)",
+                jobName, total, chunks, TimeUnit.NANOSECONDS.toMillis(elapsedNanos), rowsPerSecond);
+
+        return total;
+    }
+}
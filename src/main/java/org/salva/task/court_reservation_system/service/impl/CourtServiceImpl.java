@@ -1,5 +1,7 @@
 package org.salva.task.court_reservation_system.service.impl;
 
+import org.salva.task.court_reservation_system.config.CacheConfig;
+import org.salva.task.court_reservation_system.config.ObservabilityConfig;
 import org.salva.task.court_reservation_system.dto.request.CourtRequestDTO;
 import org.salva.task.court_reservation_system.dto.response.CourtResponseDTO;
 import org.salva.task.court_reservation_system.entity.Court;
@@ -8,9 +10,14 @@ import org.salva.task.court_reservation_system.exception.ResourceNotFoundExcepti
 import org.salva.task.court_reservation_system.exception.ValidationException;
 import org.salva.task.court_reservation_system.mapper.CourtMapper;
 import org.salva.task.court_reservation_system.repository.CourtRepository;
+import org.salva.task.court_reservation_system.service.CachedLookupService;
 import org.salva.task.court_reservation_system.service.CourtService;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,13 +30,16 @@ import java.util.List;
 @Service
 @RequiredArgsConstructor
 @Slf4j
+@Timed(ObservabilityConfig.SERVICE_CALLS_METRIC)
 @Transactional
 public class CourtServiceImpl implements CourtService {
 
     private final CourtRepository courtRepository;
     private final CourtMapper courtMapper;
+    private final CachedLookupService cachedLookupService;
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.ACTIVE_COURTS, allEntries = true)
     public CourtResponseDTO createCourt(CourtRequestDTO requestDTO) {
         log.info("Creating court with name: {}", requestDTO.getName());
 
@@ -55,14 +65,14 @@ public class CourtServiceImpl implements CourtService {
     public CourtResponseDTO getCourtById(Long id) {
         log.debug("Getting court by id: {}", id);
 
-        Court court = courtRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Cancha no encontrada con id: " + id));
+        Court court = cachedLookupService.getCourt(id);
 
         return courtMapper.toResponseDTO(court);
     }
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.ACTIVE_COURTS)
     public List<CourtResponseDTO> getAllActiveCourts() {
         log.debug("Getting all active courts");
 
@@ -107,6 +117,10 @@ public class CourtServiceImpl implements CourtService {
     }
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.COURTS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.ACTIVE_COURTS, allEntries = true)
+    })
     public CourtResponseDTO updateCourt(Long id, CourtRequestDTO requestDTO) {
         log.info("Updating court with id: {}", id);
 
@@ -132,6 +146,10 @@ public class CourtServiceImpl implements CourtService {
     }
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.COURTS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.ACTIVE_COURTS, allEntries = true)
+    })
     public void deactivateCourt(Long id) {
         log.info("Deactivating court with id: {}", id);
 
@@ -145,6 +163,10 @@ public class CourtServiceImpl implements CourtService {
     }
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.COURTS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.ACTIVE_COURTS, allEntries = true)
+    })
     public void activateCourt(Long id) {
         log.info("Activating court with id: {}", id);
 
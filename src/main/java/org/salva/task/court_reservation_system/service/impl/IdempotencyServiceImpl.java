@@ -0,0 +1,260 @@
+package org.salva.task.court_reservation_system.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.salva.task.court_reservation_system.entity.IdempotencyRecord;
+import org.salva.task.court_reservation_system.enums.IdempotencyStatus;
+import org.salva.task.court_reservation_system.exception.BusinessException;
+import org.salva.task.court_reservation_system.exception.ConflictException;
+import org.salva.task.court_reservation_system.repository.IdempotencyRecordRepository;
+import org.salva.task.court_reservation_system.service.IdempotencyService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Implementación de claves de idempotencia en tres niveles:
+ * ejecuciones en curso de este nodo (los duplicados concurrentes esperan la misma ejecución),
+ * caché local con las respuestas recientes y la tabla idempotency_records, que comparten
+ * todas las instancias y sobrevive a reinicios.
+ */
+@Service
+@Slf4j
+public class IdempotencyServiceImpl implements IdempotencyService {
+
+    private static final String IN_PROGRESS_MESSAGE =
+            "La solicitud con esta Idempotency-Key todavía se está procesando. Intente nuevamente.";
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final Cache<String, CachedResponse> responseCache;
+    private final ConcurrentMap<String, InFlight> inFlight = new ConcurrentHashMap<>();
+
+    private final Duration ttl;
+    private final Duration inFlightTimeout;
+    private final Duration lease;
+    private final int maxBodyBytes;
+
+    private final Counter cacheReplayCounter;
+    private final Counter databaseReplayCounter;
+    private final Counter collapsedCounter;
+
+    public IdempotencyServiceImpl(
+            IdempotencyRecordRepository idempotencyRecordRepository,
+            MeterRegistry meterRegistry,
+            @Value("${app.idempotency.ttl:24h}") Duration ttl,
+            @Value("${app.idempotency.cache-size:10000}") long cacheSize,
+            @Value("${app.idempotency.in-flight-timeout:30s}") Duration inFlightTimeout,
+            @Value("${app.idempotency.lease:10m}") Duration lease,
+            @Value("${app.idempotency.max-body-bytes:65536}") int maxBodyBytes
+    ) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        // Caché propia y siempre acotada: no depende de que app.cache.specs la declare
+        this.responseCache = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, responseCache, "idempotency");
+        this.ttl = ttl;
+        this.inFlightTimeout = inFlightTimeout;
+        this.lease = lease;
+        this.maxBodyBytes = maxBodyBytes;
+
+        this.cacheReplayCounter = replayCounter(meterRegistry, "cache");
+        this.databaseReplayCounter = replayCounter(meterRegistry, "database");
+        this.collapsedCounter = replayCounter(meterRegistry, "in_flight");
+    }
+
+    @Override
+    public StoredResponse claim(String key, String requestHash) {
+        long deadline = System.nanoTime() + inFlightTimeout.toNanos();
+
+        while (true) {
+            InFlight mine = new InFlight(requestHash, UUID.randomUUID().toString(), new CompletableFuture<>());
+            InFlight running = inFlight.putIfAbsent(key, mine);
+
+            if (running != null) {
+                checkSameRequest(running.requestHash(), requestHash);
+                StoredResponse response = await(running, deadline);
+                if (response != null) {
+                    collapsedCounter.increment();
+                    return response;
+                }
+                continue;  // La ejecución terminó con error: se vuelve a intentar tomar la clave
+            }
+
+            try {
+                StoredResponse stored = findStored(key, requestHash);
+                if (stored == null) {
+                    reserve(key, requestHash, mine.ownerToken());
+                    return null;
+                }
+
+                inFlight.remove(key, mine);
+                mine.future().complete(stored);
+                return stored;
+            } catch (RuntimeException e) {
+                inFlight.remove(key, mine);
+                mine.future().complete(null);
+                throw e;
+            }
+        }
+    }
+
+    @Override
+    public void complete(String key, StoredResponse response) {
+        InFlight running = inFlight.remove(key);
+        if (running == null) {
+            log.warn("Idempotency key {} completed without a claim on this node", key);
+            return;
+        }
+
+        try {
+            boolean successful = response.status() >= 200 && response.status() < 300;
+            if (successful && response.body().length <= maxBodyBytes) {
+                int stored = idempotencyRecordRepository.complete(key, running.ownerToken(),
+                        IdempotencyStatus.EN_PROCESO, IdempotencyStatus.COMPLETADA, response.status(),
+                        response.contentType(), response.body(), LocalDateTime.now().plus(ttl));
+                if (stored == 1) {
+                    responseCache.put(key, new CachedResponse(running.requestHash(), response));
+                } else {
+                    log.warn("Idempotency key {} was taken over before its response was stored", key);
+                }
+            } else {
+                // Errores y respuestas demasiado grandes no se guardan: el cliente puede reintentar
+                idempotencyRecordRepository.release(key, running.ownerToken(), IdempotencyStatus.EN_PROCESO);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Could not store response for idempotency key {}: {}", key, e.getMessage());
+        } finally {
+            running.future().complete(response);
+        }
+    }
+
+    @Override
+    public void release(String key) {
+        InFlight running = inFlight.remove(key);
+        if (running == null) {
+            return;
+        }
+
+        try {
+            idempotencyRecordRepository.release(key, running.ownerToken(), IdempotencyStatus.EN_PROCESO);
+        } catch (DataAccessException e) {
+            log.warn("Could not release idempotency key {}: {}", key, e.getMessage());
+        } finally {
+            running.future().complete(null);
+        }
+    }
+
+    @Override
+    public int purgeExpired() {
+        int deleted = idempotencyRecordRepository.deleteExpired(LocalDateTime.now());
+        log.info("Purged {} expired idempotency keys", deleted);
+        return deleted;
+    }
+
+    // ========== MÉTODOS PRIVADOS ==========
+
+    private StoredResponse findStored(String key, String requestHash) {
+        CachedResponse cached = responseCache.getIfPresent(key);
+        if (cached != null) {
+            checkSameRequest(cached.requestHash(), requestHash);
+            cacheReplayCounter.increment();
+            return cached.response();
+        }
+
+        Optional<IdempotencyRecord> record = idempotencyRecordRepository.findById(key)
+                .filter(r -> r.getExpiresAt().isAfter(LocalDateTime.now()));
+        if (record.isEmpty()) {
+            return null;
+        }
+
+        IdempotencyRecord existing = record.get();
+        checkSameRequest(existing.getRequestHash(), requestHash);
+
+        if (existing.getStatus() == IdempotencyStatus.EN_PROCESO) {
+            throw new ConflictException(IN_PROGRESS_MESSAGE);
+        }
+
+        StoredResponse stored = new StoredResponse(
+                existing.getResponseStatus(), existing.getContentType(), existing.getResponseBody());
+        responseCache.put(key, new CachedResponse(requestHash, stored));
+        databaseReplayCounter.increment();
+        return stored;
+    }
+
+    private void reserve(String key, String requestHash, String ownerToken) {
+        LocalDateTime now = LocalDateTime.now();
+        // El lease cubre la solicitud más lenta: vence antes solo si la instancia cayó a mitad de ella
+        LocalDateTime until = now.plus(lease);
+
+        // Clave vencida (o de un nodo caído a mitad de la solicitud): se retoma con un UPDATE condicional
+        if (idempotencyRecordRepository.takeOverExpired(
+                key, requestHash, ownerToken, IdempotencyStatus.EN_PROCESO, now, until) == 1) {
+            return;
+        }
+
+        try {
+            idempotencyRecordRepository.saveAndFlush(IdempotencyRecord.builder()
+                    .idempotencyKey(key)
+                    .requestHash(requestHash)
+                    .status(IdempotencyStatus.EN_PROCESO)
+                    .ownerToken(ownerToken)
+                    .expiresAt(until)
+                    .newRow(true)
+                    .build());
+        } catch (DataIntegrityViolationException e) {
+            // Otra instancia tomó la clave al mismo tiempo
+            throw new ConflictException(IN_PROGRESS_MESSAGE);
+        }
+    }
+
+    private StoredResponse await(InFlight running, long deadline) {
+        try {
+            return running.future().get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new ConflictException(IN_PROGRESS_MESSAGE);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConflictException(IN_PROGRESS_MESSAGE);
+        } catch (ExecutionException e) {
+            return null;
+        }
+    }
+
+    private void checkSameRequest(String storedHash, String requestHash) {
+        if (!storedHash.equals(requestHash)) {
+            throw new BusinessException("La Idempotency-Key ya se usó con una solicitud diferente");
+        }
+    }
+
+    private static Counter replayCounter(MeterRegistry meterRegistry, String source) {
+        return Counter.builder("idempotency.replays")
+                .description("Solicitudes respondidas con una respuesta ya guardada o en curso")
+                .tag("source", source)
+                .register(meterRegistry);
+    }
+
+    private record InFlight(String requestHash, String ownerToken, CompletableFuture<StoredResponse> future) {
+    }
+
+    private record CachedResponse(String requestHash, StoredResponse response) {
+    }
+}
@@ -0,0 +1,117 @@
+package org.salva.task.court_reservation_system.service.impl;
+
+import org.salva.task.court_reservation_system.entity.JobLock;
+import org.salva.task.court_reservation_system.entity.JobRun;
+import org.salva.task.court_reservation_system.enums.JobRunStatus;
+import org.salva.task.court_reservation_system.repository.JobLockRepository;
+import org.salva.task.court_reservation_system.repository.JobRunRepository;
+import org.salva.task.court_reservation_system.service.JobCoordinatorService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+
+/**
+ * Implementación de la coordinación de jobs con una tabla de locks (job_locks).
+ * Tomar el lock es un UPDATE condicional: funciona igual en PostgreSQL y H2 y no mantiene
+ * una conexión abierta mientras corre el job. Cada ejecución se registra en job_runs.
+ */
+@Service
+@Slf4j
+public class JobCoordinatorServiceImpl implements JobCoordinatorService {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final JobLockRepository jobLockRepository;
+    private final JobRunRepository jobRunRepository;
+    private final String nodeId;
+
+    public JobCoordinatorServiceImpl(
+            JobLockRepository jobLockRepository,
+            JobRunRepository jobRunRepository,
+            @Value("${app.scheduling.node-id:}") String nodeId
+    ) {
+        this.jobLockRepository = jobLockRepository;
+        this.jobRunRepository = jobRunRepository;
+        // Por defecto "pid@host"
+        this.nodeId = nodeId.isBlank() ? ManagementFactory.getRuntimeMXBean().getName() : nodeId;
+    }
+
+    @Override
+    public boolean runExclusively(String jobName, Duration lockAtMostFor, Duration lockAtLeastFor, IntSupplier job) {
+        LocalDateTime startedAt = LocalDateTime.now();
+
+        if (!tryLock(jobName, startedAt, startedAt.plus(lockAtMostFor))) {
+            log.debug("Job {} is locked by another node, skipping", jobName);
+            return false;
+        }
+
+        long startNanos = System.nanoTime();
+        try {
+            int rows = job.getAsInt();
+            recordRun(jobName, startedAt, startNanos, rows, JobRunStatus.EXITOSO, null);
+            return true;
+        } catch (RuntimeException e) {
+            recordRun(jobName, startedAt, startNanos, 0, JobRunStatus.FALLIDO, e.getMessage());
+            throw e;
+        } finally {
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime minimumUntil = startedAt.plus(lockAtLeastFor);
+            jobLockRepository.release(jobName, nodeId, now.isAfter(minimumUntil) ? now : minimumUntil);
+        }
+    }
+
+    // ========== MÉTODOS PRIVADOS ==========
+
+    private boolean tryLock(String jobName, LocalDateTime now, LocalDateTime until) {
+        if (jobLockRepository.acquire(jobName, nodeId, now, until) == 1) {
+            return true;
+        }
+        if (jobLockRepository.existsById(jobName)) {
+            return false;
+        }
+
+        // Primera ejecución del job: se crea su fila de lock ya tomada
+        try {
+            jobLockRepository.saveAndFlush(JobLock.builder()
+                    .name(jobName)
+                    .lockedBy(nodeId)
+                    .lockedAt(now)
+                    .lockedUntil(until)
+                    .newRow(true)
+                    .build());
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            return false;  // Otro nodo la creó al mismo tiempo
+        }
+    }
+
+    private void recordRun(String jobName, LocalDateTime startedAt, long startNanos, int rows,
+                           JobRunStatus status, String errorMessage) {
+        long durationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+
+        try {
+            jobRunRepository.save(JobRun.builder()
+                    .jobName(jobName)
+                    .node(nodeId)
+                    .startedAt(startedAt)
+                    .durationMillis(durationMillis)
+                    .rowsProcessed(rows)
+                    .status(status)
+                    .errorMessage(errorMessage != null && errorMessage.length() > MAX_ERROR_LENGTH
+                            ? errorMessage.substring(0, MAX_ERROR_LENGTH) : errorMessage)
+                    .build());
+        } catch (RuntimeException e) {
+            log.warn("Could not record run of job {}: {}", jobName, e.getMessage());
+        }
+
+        log.info("Job {} finished on {} with status {}: {} rows in {} ms",
+                jobName, nodeId, status, rows, durationMillis);
+    }
+}
@@ -0,0 +1,267 @@
+package org.salva.task.court_reservation_system.service.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.salva.task.court_reservation_system.entity.NotificationOutbox;
+import org.salva.task.court_reservation_system.enums.NotificationStatus;
+import org.salva.task.court_reservation_system.notification.NotificationChannel;
+import org.salva.task.court_reservation_system.notification.NotificationMessage;
+import org.salva.task.court_reservation_system.repository.NotificationOutboxRepository;
+import org.salva.task.court_reservation_system.service.NotificationService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Implementación del envío de notificaciones.
+ * Cada notificación se guarda en el outbox y, tras el commit, su id entra en una cola acotada.
+ * Un hilo despachador agrupa los ids por canal en lotes y los envía; los fallos se reintentan
+ * con backoff exponencial. Lo que no entra en la cola (o falla) lo recupera dispatchDue.
+ */
+@Service
+@Slf4j
+public class NotificationServiceImpl implements NotificationService {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final NotificationOutboxRepository outboxRepository;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, NotificationChannel> channels;
+    private final String defaultChannel;
+
+    private final BlockingQueue<Long> queue;
+    private final Thread dispatcherThread;
+    private final Counter overflowCounter;
+
+    @Value("${app.notifications.batch-size:50}")
+    private int batchSize;
+
+    @Value("${app.notifications.linger-millis:200}")
+    private long lingerMillis;
+
+    @Value("${app.notifications.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${app.notifications.backoff:30s}")
+    private Duration backoff;
+
+    @Value("${app.notifications.max-backoff:1h}")
+    private Duration maxBackoff;
+
+    // Plazo del despachador en memoria antes de que dispatchDue vuelva a tomar la notificación
+    @Value("${app.notifications.dispatch-lease:60s}")
+    private Duration dispatchLease;
+
+    public NotificationServiceImpl(
+            NotificationOutboxRepository outboxRepository,
+            List<NotificationChannel> channels,
+            MeterRegistry meterRegistry,
+            @Value("${app.notifications.channel:local}") String defaultChannel,
+            @Value("${app.notifications.queue-capacity:10000}") int queueCapacity
+    ) {
+        this.outboxRepository = outboxRepository;
+        this.meterRegistry = meterRegistry;
+        this.channels = channels.stream()
+                .collect(Collectors.toMap(NotificationChannel::getName, Function.identity()));
+
+        if (!this.channels.containsKey(defaultChannel)) {
+            throw new IllegalStateException("app.notifications.channel no corresponde a ningún canal: " + defaultChannel);
+        }
+        this.defaultChannel = defaultChannel;
+
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        meterRegistry.gaugeCollectionSize("notification.queue.depth", Tags.empty(), queue);
+        this.overflowCounter = Counter.builder("notification.queue.overflow")
+                .description("Notificaciones que no entraron en la cola y esperan a dispatchDue")
+                .register(meterRegistry);
+
+        this.dispatcherThread = new Thread(this::runDispatcher, "notification-dispatcher");
+        this.dispatcherThread.setDaemon(true);
+    }
+
+    @Override
+    public void enqueue(String recipient, String subject, String body) {
+        NotificationOutbox notification = outboxRepository.save(NotificationOutbox.builder()
+                .channel(defaultChannel)
+                .recipient(recipient)
+                .subject(subject)
+                .body(body)
+                .status(NotificationStatus.PENDIENTE)
+                .attempts(0)
+                .nextAttemptAt(LocalDateTime.now().plus(dispatchLease))
+                .build());
+
+        Long id = notification.getId();
+        afterCommit(() -> offer(id));
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.notifications.sweep-millis:15000}")
+    public int dispatchDue() {
+        int capacity = queue.remainingCapacity();
+        if (capacity == 0) {
+            return 0;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> ids = outboxRepository.findDueIds(NotificationStatus.PENDIENTE, now, PageRequest.of(0, capacity));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        // Cada nodo corre este barrido: solo despacha las que gana con el UPDATE condicional
+        LocalDateTime leaseUntil = now.plus(dispatchLease);
+        int claimed = 0;
+        for (Long id : ids) {
+            if (outboxRepository.claim(id, NotificationStatus.PENDIENTE, now, leaseUntil) == 1) {
+                offer(id);
+                claimed++;
+            }
+        }
+
+        log.debug("Re-dispatching {} of {} due notifications", claimed, ids.size());
+        return claimed;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        dispatcherThread.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        dispatcherThread.interrupt();
+    }
+
+    // ========== MÉTODOS PRIVADOS ==========
+
+    private void offer(Long id) {
+        if (!queue.offer(id)) {
+            overflowCounter.increment();
+            log.warn("Notification queue full, notification {} will be sent by the outbox sweep", id);
+        }
+    }
+
+    private void runDispatcher() {
+        List<Long> batch = new ArrayList<>(batchSize);
+
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                // Espera la primera y junta las que lleguen durante lingerMillis, hasta completar el lote
+                batch.add(queue.take());
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(lingerMillis);
+                while (batch.size() < batchSize) {
+                    Long id = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (id == null) {
+                        break;
+                    }
+                    batch.add(id);
+                }
+
+                dispatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                log.error("Error dispatching notifications", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void dispatch(List<Long> ids) {
+        Map<String, List<NotificationOutbox>> byChannel = outboxRepository
+                .findByIdInAndStatus(ids, NotificationStatus.PENDIENTE).stream()
+                .collect(Collectors.groupingBy(NotificationOutbox::getChannel));
+
+        byChannel.forEach(this::send);
+    }
+
+    private void send(String channelName, List<NotificationOutbox> notifications) {
+        List<NotificationMessage> messages = notifications.stream()
+                .map(n -> new NotificationMessage(n.getId(), n.getRecipient(), n.getSubject(), n.getBody()))
+                .toList();
+
+        try {
+            NotificationChannel channel = channels.get(channelName);
+            if (channel == null) {
+                throw new IllegalStateException("Canal de notificación no configurado: " + channelName);
+            }
+
+            Timer.builder("notification.send.latency")
+                    .description("Duración del envío de un lote por canal")
+                    .tag("channel", channelName)
+                    .register(meterRegistry)
+                    .record(() -> channel.send(messages));
+
+            outboxRepository.markSent(
+                    messages.stream().map(NotificationMessage::id).toList(),
+                    NotificationStatus.ENVIADA,
+                    LocalDateTime.now()
+            );
+            counter("notification.sent", channelName).increment(messages.size());
+        } catch (Exception e) {
+            log.warn("Could not send {} notifications through channel {}: {}",
+                    messages.size(), channelName, e.getMessage());
+            notifications.forEach(notification -> scheduleRetry(notification, e));
+            counter("notification.failed", channelName).increment(messages.size());
+        }
+    }
+
+    private void scheduleRetry(NotificationOutbox notification, Exception error) {
+        int attempts = notification.getAttempts() + 1;
+        NotificationStatus status = attempts >= maxAttempts ? NotificationStatus.FALLIDA : NotificationStatus.PENDIENTE;
+
+        // Backoff exponencial: backoff, 2x, 4x... hasta maxBackoff
+        Duration delay = backoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        if (delay.compareTo(maxBackoff) > 0) {
+            delay = maxBackoff;
+        }
+
+        String message = String.valueOf(error.getMessage());
+        outboxRepository.markFailed(
+                notification.getId(),
+                status,
+                attempts,
+                LocalDateTime.now().plus(delay),
+                message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message
+        );
+    }
+
+    private Counter counter(String name, String channelName) {
+        return Counter.builder(name)
+                .tag("channel", channelName)
+                .register(meterRegistry);
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
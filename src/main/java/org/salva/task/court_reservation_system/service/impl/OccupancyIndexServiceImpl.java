@@ -0,0 +1,406 @@
+package org.salva.task.court_reservation_system.service.impl;
+
+import jakarta.annotation.PostConstruct;
+import org.salva.task.court_reservation_system.dto.response.CourtAvailabilityResponseDTO;
+import org.salva.task.court_reservation_system.entity.Booking;
+import org.salva.task.court_reservation_system.enums.BookingStatus;
+import org.salva.task.court_reservation_system.repository.BookingRepository;
+import org.salva.task.court_reservation_system.service.OccupancyIndexService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Implementación del índice de ocupación en memoria.
+ * Cada (cancha, fecha) guarda un long[] con un bit por slot y los intervalos
+ * exactos de cada reserva confirmada. Las consultas alineadas a slots se resuelven
+ * con operaciones de bits; el resto recorre los intervalos del día.
+ * El índice es local a cada instancia: un día cargado se vuelve a leer de la BD
+ * pasado max-age, para ver las reservas creadas o canceladas en otras instancias.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OccupancyIndexServiceImpl implements OccupancyIndexService {
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    private final BookingRepository bookingRepository;
+
+    // Acotado por fecha: evictBefore descarta los días pasados y no se guardan días más allá de max-days-ahead
+    private final ConcurrentMap<DayKey, DayOccupancy> index = new ConcurrentHashMap<>();
+
+    // Se incrementa con cada cambio confirmado; detecta cargas en bloque que quedaron desactualizadas
+    private final AtomicLong committedChanges = new AtomicLong();
+
+    @Value("${app.occupancy-index.slot-minutes:15}")
+    private int slotMinutes;
+
+    // Solo se guardan los días entre hoy y hoy + max-days-ahead; los demás se leen de la BD en cada consulta
+    @Value("${app.occupancy-index.max-days-ahead:90}")
+    private int maxDaysAhead;
+
+    // Antigüedad máxima de un día cargado; 0 = sin vencimiento (solo con una única instancia)
+    @Value("${app.occupancy-index.max-age:30s}")
+    private Duration maxAge;
+
+    @PostConstruct
+    void validateSlotMinutes() {
+        if (slotMinutes <= 0 || 60 % slotMinutes != 0) {
+            throw new IllegalStateException(
+                    "app.occupancy-index.slot-minutes debe ser divisor de 60, valor actual: " + slotMinutes);
+        }
+    }
+
+    @Override
+    public boolean hasOverlap(Long courtId, LocalDate date, LocalTime startTime, LocalTime endTime) {
+        return day(courtId, date).overlaps(toMinutes(startTime), toMinutes(endTime));
+    }
+
+    @Override
+    public OccupancySnapshot snapshot(Collection<Long> courtIds, LocalDate startDate, LocalDate endDate) {
+        long loadedAt = System.nanoTime();
+        Map<DayKey, DayOccupancy> days = new HashMap<>();
+        Map<DayKey, DayOccupancy> missing = new HashMap<>();
+        Set<Long> missingCourtIds = new HashSet<>();
+        LocalDate firstMissing = null;
+        LocalDate lastMissing = null;
+
+        for (Long courtId : courtIds) {
+            for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+                DayKey key = new DayKey(courtId, date);
+                DayOccupancy day = index.get(key);
+                if (isFresh(day)) {
+                    days.put(key, day);
+                    continue;
+                }
+                missing.put(key, newDay(loadedAt));
+                missingCourtIds.add(courtId);
+                firstMissing = firstMissing == null || date.isBefore(firstMissing) ? date : firstMissing;
+                lastMissing = lastMissing == null || date.isAfter(lastMissing) ? date : lastMissing;
+            }
+        }
+
+        if (missing.isEmpty()) {
+            return new DaysSnapshot(days);
+        }
+
+        long changesBeforeQuery = committedChanges.get();
+        List<Object[]> rows = bookingRepository.findTimeSlotsByCourtsAndDateRange(
+                missingCourtIds, firstMissing, lastMissing, BookingStatus.CONFIRMADA);
+
+        for (Object[] row : rows) {
+            DayOccupancy day = missing.get(new DayKey(((Number) row[1]).longValue(), (LocalDate) row[2]));
+            if (day != null) {
+                day.add((Long) row[0], toMinutes((LocalTime) row[3]), toMinutes((LocalTime) row[4]));
+            }
+        }
+
+        // Los días de la ventana se guardan en el índice; los de fuera solo sirven para esta consulta.
+        // Si hubo cambios confirmados tras la consulta, los días leídos sirven igual para esta respuesta
+        missing.forEach((key, day) -> {
+            DayOccupancy installed = isRetained(key.date()) ? install(key, day, changesBeforeQuery) : null;
+            days.put(key, installed != null ? installed : day);
+        });
+
+        log.debug("Loaded {} court-days for occupancy snapshot with {} bookings", missing.size(), rows.size());
+        return new DaysSnapshot(days);
+    }
+
+    @Override
+    public void registerBooking(Booking booking) {
+        DayKey key = new DayKey(booking.getCourt().getId(), booking.getBookingDate());
+        long bookingId = booking.getId();
+        int start = toMinutes(booking.getStartTime());
+        int end = toMinutes(booking.getEndTime());
+
+        // Si el día aún no está cargado no hace falta registrarlo: se leerá de la BD al consultarlo
+        afterCommit(() -> {
+            committedChanges.incrementAndGet();
+            index.computeIfPresent(key, (k, day) -> day.add(bookingId, start, end));
+        });
+    }
+
+    @Override
+    public void releaseBooking(Booking booking) {
+        DayKey key = new DayKey(booking.getCourt().getId(), booking.getBookingDate());
+        long bookingId = booking.getId();
+
+        afterCommit(() -> {
+            committedChanges.incrementAndGet();
+            index.computeIfPresent(key, (k, day) -> day.remove(bookingId));
+        });
+    }
+
+    @Override
+    public void invalidate(Long courtId, LocalDate date) {
+        index.remove(new DayKey(courtId, date));
+    }
+
+    @Override
+    public void evictBefore(LocalDate date) {
+        int before = index.size();
+        index.keySet().removeIf(key -> key.date().isBefore(date));
+        log.debug("Evicted {} days from occupancy index", before - index.size());
+    }
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        log.info("Rebuilding occupancy index");
+
+        Map<DayKey, DayOccupancy> rebuilt = new HashMap<>();
+        long changesBeforeQuery = committedChanges.get();
+        long loadedAt = System.nanoTime();
+        LocalDate today = LocalDate.now();
+        List<Object[]> rows = bookingRepository.findTimeSlotsByStatusAndDateRange(
+                BookingStatus.CONFIRMADA, today, today.plusDays(maxDaysAhead));
+
+        for (Object[] row : rows) {
+            DayKey key = new DayKey(((Number) row[1]).longValue(), (LocalDate) row[2]);
+            rebuilt.computeIfAbsent(key, k -> newDay(loadedAt))
+                    .add((Long) row[0], toMinutes((LocalTime) row[3]), toMinutes((LocalTime) row[4]));
+        }
+
+        // Los días cargados bajo demanda mientras tanto ya están al día. Si hubo cambios confirmados
+        // tras la consulta no se sabe qué días quedaron desactualizados: se cargarán individualmente
+        rebuilt.forEach((key, day) -> install(key, day, changesBeforeQuery));
+
+        if (committedChanges.get() != changesBeforeQuery) {
+            log.info("Occupancy index rebuild left court-days to load on demand: bookings changed while loading");
+            return;
+        }
+        log.info("Occupancy index rebuilt: {} bookings in {} court-days", rows.size(), rebuilt.size());
+    }
+
+    // ========== MÉTODOS PRIVADOS ==========
+
+    private DayOccupancy day(Long courtId, LocalDate date) {
+        DayKey key = new DayKey(courtId, date);
+        DayOccupancy day = index.get(key);
+        if (isFresh(day)) {
+            return day;
+        }
+
+        if (!isRetained(date)) {
+            return load(key);
+        }
+
+        // La consulta se hace fuera del mapa (compute la ejecutaría con el lock del bin tomado).
+        // Solo se instala si no hubo cambios confirmados tras la consulta; si los hubo, sirve para esta
+        // lectura y el día se vuelve a cargar en la siguiente
+        long changesBeforeQuery = committedChanges.get();
+        DayOccupancy loaded = load(key);
+        DayOccupancy installed = install(key, loaded, changesBeforeQuery);
+        return installed != null ? installed : loaded;
+    }
+
+    /**
+     * Instala un día recién leído si no hay uno vigente y no hubo cambios confirmados tras la consulta.
+     * Un día vencido que no se puede reemplazar se descarta
+     */
+    private DayOccupancy install(DayKey key, DayOccupancy loaded, long changesBeforeQuery) {
+        return index.compute(key, (k, current) -> {
+            if (isFresh(current)) {
+                return current;
+            }
+            return committedChanges.get() == changesBeforeQuery ? loaded : null;
+        });
+    }
+
+    private boolean isFresh(DayOccupancy day) {
+        return day != null && (maxAge.isZero() || System.nanoTime() - day.loadedAt < maxAge.toNanos());
+    }
+
+    private boolean isRetained(LocalDate date) {
+        LocalDate today = LocalDate.now();
+        return !date.isBefore(today) && !date.isAfter(today.plusDays(maxDaysAhead));
+    }
+
+    private DayOccupancy load(DayKey key) {
+        DayOccupancy day = newDay(System.nanoTime());
+        List<Object[]> rows = bookingRepository
+                .findTimeSlotsByCourtAndDate(key.courtId(), key.date(), BookingStatus.CONFIRMADA);
+
+        for (Object[] row : rows) {
+            day.add((Long) row[0], toMinutes((LocalTime) row[1]), toMinutes((LocalTime) row[2]));
+        }
+
+        return day;
+    }
+
+    private DayOccupancy newDay(long loadedAt) {
+        return new DayOccupancy(slotMinutes, MINUTES_PER_DAY / slotMinutes, loadedAt);
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static int toMinutes(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+
+    private record DayKey(long courtId, LocalDate date) {
+    }
+
+    /**
+     * Días leídos para una consulta: los del índice se comparten, los de fuera de la ventana no
+     */
+    private record DaysSnapshot(Map<DayKey, DayOccupancy> days) implements OccupancySnapshot {
+
+        @Override
+        public List<LocalTime> findFreeSlots(Long courtId, LocalDate date, LocalTime from, LocalTime to,
+                                             int slotLengthMinutes) {
+            DayOccupancy day = day(courtId, date);
+            int end = toMinutes(to);
+            List<LocalTime> freeSlots = new ArrayList<>();
+
+            for (int start = toMinutes(from); start + slotLengthMinutes <= end; start += slotLengthMinutes) {
+                if (!day.overlaps(start, start + slotLengthMinutes)) {
+                    freeSlots.add(LocalTime.of(start / 60, start % 60));
+                }
+            }
+
+            return freeSlots;
+        }
+
+        @Override
+        public List<CourtAvailabilityResponseDTO.TimeSlotDTO> getOccupiedSlots(Long courtId, LocalDate date) {
+            List<CourtAvailabilityResponseDTO.TimeSlotDTO> occupiedSlots = new ArrayList<>();
+
+            for (int[] interval : day(courtId, date).intervals()) {
+                occupiedSlots.add(CourtAvailabilityResponseDTO.TimeSlotDTO.builder()
+                        .startTime(LocalTime.of(interval[0] / 60, interval[0] % 60))
+                        .endTime(LocalTime.of(interval[1] / 60, interval[1] % 60))
+                        .build());
+            }
+
+            return occupiedSlots;
+        }
+
+        private DayOccupancy day(Long courtId, LocalDate date) {
+            DayOccupancy day = days.get(new DayKey(courtId, date));
+            if (day == null) {
+                throw new IllegalArgumentException(
+                        "La cancha " + courtId + " el " + date + " no está incluida en la consulta de ocupación");
+            }
+            return day;
+        }
+    }
+
+    /**
+     * Ocupación de una cancha en un día: bitmap de slots + intervalos exactos por reserva.
+     * Los bits marcan cualquier slot tocado por una reserva, por lo que una consulta
+     * con inicio y fin alineados a slots es exacta usando solo el bitmap.
+     */
+    private static final class DayOccupancy {
+
+        private final int slotMinutes;
+        private final long[] bits;
+        private final Map<Long, int[]> intervals = new HashMap<>();
+
+        // System.nanoTime() antes de la consulta que cargó el día
+        private final long loadedAt;
+
+        DayOccupancy(int slotMinutes, int slots, long loadedAt) {
+            this.slotMinutes = slotMinutes;
+            this.bits = new long[(slots + 63) >>> 6];
+            this.loadedAt = loadedAt;
+        }
+
+        synchronized DayOccupancy add(long bookingId, int start, int end) {
+            if (intervals.put(bookingId, new int[]{start, end}) == null) {
+                setRange(firstSlot(start), lastSlot(end));
+            }
+            return this;
+        }
+
+        synchronized DayOccupancy remove(long bookingId) {
+            if (intervals.remove(bookingId) != null) {
+                // Otro intervalo puede compartir un slot de borde: se recalcula el bitmap
+                Arrays.fill(bits, 0L);
+                for (int[] interval : intervals.values()) {
+                    setRange(firstSlot(interval[0]), lastSlot(interval[1]));
+                }
+            }
+            return this;
+        }
+
+        synchronized boolean overlaps(int start, int end) {
+            if (start % slotMinutes == 0 && end % slotMinutes == 0) {
+                return anyInRange(start / slotMinutes, end / slotMinutes);
+            }
+
+            for (int[] interval : intervals.values()) {
+                if (interval[0] < end && interval[1] > start) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        synchronized List<int[]> intervals() {
+            List<int[]> sorted = new ArrayList<>(intervals.values());
+            sorted.sort(Comparator.comparingInt(interval -> interval[0]));
+            return sorted;
+        }
+
+        private int firstSlot(int minute) {
+            return minute / slotMinutes;
+        }
+
+        private int lastSlot(int minute) {
+            return (minute + slotMinutes - 1) / slotMinutes;
+        }
+
+        private void setRange(int from, int to) {
+            for (int word = from >>> 6; word < bits.length && word << 6 < to; word++) {
+                bits[word] |= mask(word, from, to);
+            }
+        }
+
+        private boolean anyInRange(int from, int to) {
+            for (int word = from >>> 6; word < bits.length && word << 6 < to; word++) {
+                if ((bits[word] & mask(word, from, to)) != 0) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Máscara de los bits de la palabra que caen en el rango de slots [from, to)
+         */
+        private static long mask(int word, int from, int to) {
+            int low = Math.max(from - (word << 6), 0);
+            int high = Math.min(to - (word << 6), 64);
+            long upper = high == 64 ? -1L : (1L << high) - 1;
+            return upper & -(1L << low);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package org.salva.task.court_reservation_system.service.impl;
 
+import org.salva.task.court_reservation_system.config.CacheConfig;
 import org.salva.task.court_reservation_system.dto.request.PackageRequestDTO;
 import org.salva.task.court_reservation_system.dto.response.PackageResponseDTO;
 import org.salva.task.court_reservation_system.entity.Package;
@@ -9,6 +10,9 @@ import org.salva.task.court_reservation_system.repository.PackageRepository;
 import org.salva.task.court_reservation_system.service.PackageService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -24,6 +28,7 @@ public class PackageServiceImpl implements PackageService {
     private final PackageMapper packageMapper;
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.ACTIVE_PACKAGES, allEntries = true)
     public PackageResponseDTO createPackage(PackageRequestDTO requestDTO) {
         log.info("Creating package with name: {}", requestDTO.getName());
 
@@ -37,6 +42,7 @@ public class PackageServiceImpl implements PackageService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.PACKAGES, key = "#id")
     public PackageResponseDTO getPackageById(Long id) {
         log.debug("Getting package by id: {}", id);
 
@@ -48,6 +54,7 @@ public class PackageServiceImpl implements PackageService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.ACTIVE_PACKAGES)
     public List<PackageResponseDTO> getAllActivePackages() {
         log.debug("Getting all active packages");
 
@@ -77,6 +84,10 @@ public class PackageServiceImpl implements PackageService {
     }
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.PACKAGES, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.ACTIVE_PACKAGES, allEntries = true)
+    })
     public PackageResponseDTO updatePackage(Long id, PackageRequestDTO requestDTO) {
         log.info("Updating package with id: {}", id);
 
@@ -92,6 +103,10 @@ public class PackageServiceImpl implements PackageService {
     }
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.PACKAGES, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.ACTIVE_PACKAGES, allEntries = true)
+    })
     public void deactivatePackage(Long id) {
         log.info("Deactivating package with id: {}", id);
 
@@ -0,0 +1,132 @@
+package org.salva.task.court_reservation_system.service.impl;
+
+import org.salva.task.court_reservation_system.config.BusinessRules;
+import org.salva.task.court_reservation_system.entity.Booking;
+import org.salva.task.court_reservation_system.entity.Court;
+import org.salva.task.court_reservation_system.entity.User;
+import org.salva.task.court_reservation_system.service.BusinessRulesService;
+import org.salva.task.court_reservation_system.service.PricingService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Implementación del motor de precios en punto fijo.
+ * Los factores por (día de la semana, minuto del día) y los descuentos vienen precalculados
+ * en la instantánea de reglas de negocio; el cálculo de cada reserva usa solo long:
+ * centavos, factores en millonésimas y descuentos en puntos básicos.
+ */
+@Service
+@RequiredArgsConstructor
+public class PricingServiceImpl implements PricingService {
+
+    private static final long NANOS_PER_HOUR = 3_600_000_000_000L;
+    private static final long FACTOR_UNIT = 1_000_000L;
+    private static final long RATE_UNIT = 10_000L;
+
+    private final BusinessRulesService businessRulesService;
+
+    @Override
+    public void applyPrices(Booking booking, Court court, User user, boolean isRecurrent) {
+        BusinessRules rules = businessRulesService.current();
+        LocalTime startTime = booking.getStartTime();
+        long hours = hoursBetween(startTime, booking.getEndTime());
+        long baseCents = toCents(court.getPriceBaseHour()) * hours;
+
+        long factor = rules.getFactorMicros(booking.getBookingDate(), minuteOfDay(startTime));
+
+        // Descuento por membresía (RN-011 a RN-013)
+        long discountBp = rules.getMembershipDiscountBp(user.getMembershipType());
+        int discountBias = rules.getMembershipDiscountBias(user.getMembershipType());
+
+        // Descuento recurrente adicional (RN-029)
+        if (isRecurrent) {
+            discountBp += rules.getRecurrentDiscountBp();
+        }
+
+        try {
+            // Subtotal en millonésimas de centavo; descuento y total en diez-milmillonésimas
+            long subtotal = Math.multiplyExact(baseCents, factor);
+            long surcharges = subtotal - baseCents * FACTOR_UNIT;
+            long discount = Math.multiplyExact(subtotal, discountBp);
+            long total = Math.multiplyExact(subtotal, RATE_UNIT) - discount;
+
+            booking.setBasePrice(BigDecimal.valueOf(baseCents, 2));
+            booking.setDynamicSurcharges(BigDecimal.valueOf(roundHalfUp(surcharges, FACTOR_UNIT, 0), 2));
+            booking.setAppliedDiscount(BigDecimal.valueOf(
+                    roundHalfUp(discount, FACTOR_UNIT * RATE_UNIT, discountBias), 2));
+            booking.setTotalPrice(BigDecimal.valueOf(
+                    roundHalfUp(total, FACTOR_UNIT * RATE_UNIT, -discountBias), 2));
+        } catch (ArithmeticException e) {
+            // Montos fuera del rango de long: se calcula con BigDecimal
+            applyPricesExact(rules, booking, court, user, isRecurrent);
+        }
+    }
+
+    @Override
+    public BigDecimal getPriceFactor(LocalDate date, LocalTime startTime) {
+        return businessRulesService.current().getFactorValue(date, minuteOfDay(startTime));
+    }
+
+    @Override
+    public long toCents(BigDecimal amount) {
+        return amount.movePointRight(2).longValueExact();
+    }
+
+    @Override
+    public BigDecimal estimatePrice(long priceBaseHourCents, LocalDate date, LocalTime startTime, LocalTime endTime) {
+        long baseCents = priceBaseHourCents * hoursBetween(startTime, endTime);
+        long factor = businessRulesService.current().getFactorMicros(date, minuteOfDay(startTime));
+
+        return BigDecimal.valueOf(roundHalfUp(Math.multiplyExact(baseCents, factor), FACTOR_UNIT, 0), 2);
+    }
+
+    // ========== MÉTODOS PRIVADOS ==========
+
+    /**
+     * Cálculo con BigDecimal, equivalente al de punto fijo, para montos que no caben en long
+     */
+    private void applyPricesExact(BusinessRules rules, Booking booking, Court court, User user, boolean isRecurrent) {
+        int hours = (int) hoursBetween(booking.getStartTime(), booking.getEndTime());
+        BigDecimal baseTotal = court.getPriceBaseHour().multiply(new BigDecimal(hours));
+        BigDecimal subtotal = baseTotal.multiply(
+                rules.getFactorValue(booking.getBookingDate(), minuteOfDay(booking.getStartTime())));
+
+        BigDecimal discount = subtotal.multiply(
+                new BigDecimal(rules.getMembershipDiscount(user.getMembershipType()).doubleValue()));
+        if (isRecurrent) {
+            discount = discount.add(subtotal.multiply(rules.getRecurrentDiscount()));
+        }
+
+        booking.setBasePrice(baseTotal);
+        booking.setDynamicSurcharges(subtotal.subtract(baseTotal).setScale(2, RoundingMode.HALF_UP));
+        booking.setAppliedDiscount(discount.setScale(2, RoundingMode.HALF_UP));
+        booking.setTotalPrice(subtotal.subtract(discount).setScale(2, RoundingMode.HALF_UP));
+    }
+
+    /**
+     * Redondea value / unit a entero con HALF_UP. En un empate exacto, bias negativo
+     * redondea hacia cero (el valor real quedó apenas por debajo del medio)
+     */
+    private static long roundHalfUp(long value, long unit, int bias) {
+        long quotient = value / unit;
+        long twiceRemainder = Math.abs(value % unit) * 2;
+
+        if (twiceRemainder > unit || (twiceRemainder == unit && bias >= 0)) {
+            quotient += value < 0 ? -1 : 1;
+        }
+        return quotient;
+    }
+
+    private static long hoursBetween(LocalTime startTime, LocalTime endTime) {
+        return (endTime.toNanoOfDay() - startTime.toNanoOfDay()) / NANOS_PER_HOUR;
+    }
+
+    private static int minuteOfDay(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+}
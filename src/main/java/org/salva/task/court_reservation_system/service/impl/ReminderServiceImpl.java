@@ -0,0 +1,169 @@
+package org.salva.task.court_reservation_system.service.impl;
+
+import jakarta.annotation.PreDestroy;
+import org.salva.task.court_reservation_system.entity.Booking;
+import org.salva.task.court_reservation_system.enums.BookingStatus;
+import org.salva.task.court_reservation_system.repository.BookingRepository;
+import org.salva.task.court_reservation_system.service.NotificationService;
+import org.salva.task.court_reservation_system.service.ReminderService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Implementación de recordatorios.
+ * Cada carga lee solo las reservas nuevas dentro del horizonte (por starts_at o creadas desde la
+ * carga anterior) y las agenda en un DelayQueue que dispara cada recordatorio a su hora exacta.
+ * reminder_sent_at se marca con un UPDATE condicional en la misma transacción que la notificación:
+ * cada reserva recibe un solo recordatorio aunque se cargue dos veces o haya varias instancias.
+ */
+@Service
+@Slf4j
+public class ReminderServiceImpl implements ReminderService {
+
+    private final BookingRepository bookingRepository;
+    private final NotificationService notificationService;
+    private final TransactionTemplate transactionTemplate;
+
+    private final DelayQueue<ScheduledReminder> reminders = new DelayQueue<>();
+    private final Set<Long> scheduledBookingIds = ConcurrentHashMap.newKeySet();
+    private final Thread reminderThread;
+
+    // Anticipación del recordatorio respecto al inicio de la reserva
+    @Value("${app.reminders.lead-time:2h}")
+    private Duration leadTime;
+
+    // Cuánto más allá de la hora de envío se agenda en cada carga
+    @Value("${app.reminders.horizon:15m}")
+    private Duration horizon;
+
+    // created_at se asigna antes del commit: una reserva puede confirmarse después de la carga
+    // siguiente con un created_at anterior. Cada carga relee las creadas durante este margen.
+    @Value("${app.reminders.commit-slack:5m}")
+    private Duration commitSlack;
+
+    // Límites de la carga anterior (null hasta la primera carga)
+    private LocalDateTime loadedUntil;
+    private LocalDateTime loadedAt;
+
+    public ReminderServiceImpl(
+            BookingRepository bookingRepository,
+            NotificationService notificationService,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.bookingRepository = bookingRepository;
+        this.notificationService = notificationService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+        this.reminderThread = new Thread(this::processReminders, "booking-reminders");
+        this.reminderThread.setDaemon(true);
+    }
+
+    @Override
+    public synchronized int loadUpcomingReminders() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime until = now.plus(leadTime).plus(horizon);
+
+        // La primera carga toma todo el horizonte (incluye recordatorios atrasados por un reinicio)
+        List<Object[]> rows = bookingRepository.findPendingReminders(
+                BookingStatus.CONFIRMADA,
+                now,
+                until,
+                loadedUntil != null ? loadedUntil : now,
+                loadedAt != null ? loadedAt.minus(commitSlack) : now.minus(leadTime)
+        );
+
+        // Las releídas por el margen ya están agendadas y se descartan aquí
+        int scheduled = 0;
+        for (Object[] row : rows) {
+            Long bookingId = (Long) row[0];
+            if (scheduledBookingIds.add(bookingId)) {
+                reminders.put(new ScheduledReminder(bookingId, ((LocalDateTime) row[1]).minus(leadTime)));
+                scheduled++;
+            }
+        }
+
+        loadedUntil = until;
+        loadedAt = now;
+
+        log.debug("Scheduled {} booking reminders, {} pending", scheduled, reminders.size());
+        return scheduled;
+    }
+
+    @Override
+    public boolean sendReminder(Long bookingId) {
+        Boolean sent = transactionTemplate.execute(status -> {
+            if (bookingRepository.markReminderSent(bookingId, BookingStatus.CONFIRMADA, LocalDateTime.now()) == 0) {
+                return false;  // Cancelada, completada o ya recordada
+            }
+
+            Booking booking = bookingRepository.findWithUserAndCourtById(bookingId).orElseThrow();
+            notificationService.enqueue(
+                    booking.getUser().getEmail(),
+                    "Recordatorio de reserva",
+                    String.format("Tu reserva en la cancha %s empieza el %s a las %s.",
+                            booking.getCourt().getName(),
+                            booking.getBookingDate(),
+                            booking.getStartTime())
+            );
+            return true;
+        });
+
+        return Boolean.TRUE.equals(sent);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        reminderThread.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        reminderThread.interrupt();
+    }
+
+    // ========== MÉTODOS PRIVADOS ==========
+
+    private void processReminders() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                ScheduledReminder reminder = reminders.take();
+                scheduledBookingIds.remove(reminder.bookingId());
+                sendReminder(reminder.bookingId());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                log.error("Error sending booking reminder", e);
+            }
+        }
+    }
+
+    /**
+     * Recordatorio agendado (DelayQueue lo entrega al llegar dueAt)
+     */
+    private record ScheduledReminder(Long bookingId, LocalDateTime dueAt) implements Delayed {
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(Duration.between(LocalDateTime.now(), dueAt));
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+        }
+    }
+}
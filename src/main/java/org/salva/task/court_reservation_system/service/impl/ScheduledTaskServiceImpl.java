@@ -1,8 +1,10 @@
 package org.salva.task.court_reservation_system.service.impl;
 
-import org.salva.task.court_reservation_system.entity.Booking;
-import org.salva.task.court_reservation_system.repository.BookingRepository;
+import org.salva.task.court_reservation_system.service.AnalyticsService;
 import org.salva.task.court_reservation_system.service.BookingService;
+import org.salva.task.court_reservation_system.service.IdempotencyService;
+import org.salva.task.court_reservation_system.service.JobCoordinatorService;
+import org.salva.task.court_reservation_system.service.ReminderService;
 import org.salva.task.court_reservation_system.service.ScheduledTaskService;
 import org.salva.task.court_reservation_system.service.UserPackageService;
 import org.salva.task.court_reservation_system.service.WaitingListService;
@@ -11,22 +13,37 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDate;
-import java.time.LocalTime;
-import java.util.List;
+import java.time.Duration;
 
 /**
- * Implementación de tareas programadas
+ * Implementación de tareas programadas.
+ * Cada job corre en un solo nodo a la vez (lock en base de datos) y queda registrado en job_runs.
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class ScheduledTaskServiceImpl implements ScheduledTaskService {
 
+    private static final String COMPLETE_BOOKINGS_JOB = "markPastBookingsAsCompleted";
+    private static final String EXPIRE_PACKAGES_JOB = "markExpiredPackagesAsInactive";
+    private static final String CLEAN_WAITING_LIST_JOB = "cleanOldWaitingListRequests";
+    private static final String LOAD_REMINDERS_JOB = "sendUpcomingBookingReminders";
+    private static final String PURGE_IDEMPOTENCY_JOB = "purgeExpiredIdempotencyKeys";
+    private static final String RECONCILE_STATS_JOB = AnalyticsService.RECONCILE_JOB;
+
+    // lockAtMostFor cubre la caída del nodo; lockAtLeastFor, la diferencia de reloj entre nodos
+    private static final Duration DAILY_LOCK_AT_MOST = Duration.ofHours(1);
+    private static final Duration DAILY_LOCK_AT_LEAST = Duration.ofMinutes(5);
+    private static final Duration REMINDERS_LOCK_AT_MOST = Duration.ofMinutes(5);
+    private static final Duration REMINDERS_LOCK_AT_LEAST = Duration.ofSeconds(30);
+
     private final BookingService bookingService;
     private final UserPackageService userPackageService;
     private final WaitingListService waitingListService;
-    private final BookingRepository bookingRepository;
+    private final ReminderService reminderService;
+    private final IdempotencyService idempotencyService;
+    private final AnalyticsService analyticsService;
+    private final JobCoordinatorService jobCoordinatorService;
 
     @Override
     @Scheduled(cron = "0 0 * * * *") // Cada hora en punto
@@ -34,7 +51,8 @@ public class ScheduledTaskServiceImpl implements ScheduledTaskService {
         log.info("Running scheduled task: markPastBookingsAsCompleted");
 
         try {
-            bookingService.markPastBookingsAsCompleted();
+            jobCoordinatorService.runExclusively(COMPLETE_BOOKINGS_JOB, DAILY_LOCK_AT_MOST, DAILY_LOCK_AT_LEAST,
+                    bookingService::markPastBookingsAsCompleted);
             log.info("Completed scheduled task: markPastBookingsAsCompleted");
         } catch (Exception e) {
             log.error("Error in scheduled task markPastBookingsAsCompleted", e);
@@ -47,25 +65,14 @@ public class ScheduledTaskServiceImpl implements ScheduledTaskService {
         log.info("Running scheduled task: markExpiredPackagesAsInactive");
 
         try {
-            userPackageService.markExpiredPackagesAsInactive();
+            jobCoordinatorService.runExclusively(EXPIRE_PACKAGES_JOB, DAILY_LOCK_AT_MOST, DAILY_LOCK_AT_LEAST,
+                    userPackageService::markExpiredPackagesAsInactive);
             log.info("Completed scheduled task: markExpiredPackagesAsInactive");
         } catch (Exception e) {
             log.error("Error in scheduled task markExpiredPackagesAsInactive", e);
         }
     }
 
-    @Override
-    @Scheduled(fixedRate = 300000) // Cada 5 minutos (300,000 ms)
-    public void processExpiredWaitingListNotifications() {
-        log.debug("Running scheduled task: processExpiredWaitingListNotifications");
-
-        try {
-            waitingListService.processExpiredNotifications();
-        } catch (Exception e) {
-            log.error("Error in scheduled task processExpiredWaitingListNotifications", e);
-        }
-    }
-
     @Override
     @Scheduled(cron = "0 0 3 * * *") // Todos los días a las 3 AM
     public void cleanOldWaitingListRequests() {
@@ -73,7 +80,8 @@ public class ScheduledTaskServiceImpl implements ScheduledTaskService {
 
         try {
             // Limpiar solicitudes mayores a 30 días
-            waitingListService.cleanOldRequests(30);
+            jobCoordinatorService.runExclusively(CLEAN_WAITING_LIST_JOB, DAILY_LOCK_AT_MOST, DAILY_LOCK_AT_LEAST,
+                    () -> waitingListService.cleanOldRequests(30));
             log.info("Completed scheduled task: cleanOldWaitingListRequests");
         } catch (Exception e) {
             log.error("Error in scheduled task cleanOldWaitingListRequests", e);
@@ -81,41 +89,45 @@ public class ScheduledTaskServiceImpl implements ScheduledTaskService {
     }
 
     @Override
-    @Scheduled(cron = "0 0 * * * *") // Cada hora en punto
+    @Scheduled(fixedDelayString = "${app.reminders.load-millis:60000}") // Cada minuto: carga incremental
     public void sendUpcomingBookingReminders() {
         log.debug("Running scheduled task: sendUpcomingBookingReminders");
 
         try {
-            // Buscar reservas que empiezan en 2 horas
-            LocalDate today = LocalDate.now();
-            LocalTime now = LocalTime.now();
-            LocalTime twoHoursLater = now.plusHours(2);
-
-            List<Booking> upcomingBookings = bookingRepository
-                    .findBookingsStartingSoon(today, now, twoHoursLater);
+            // Solo agenda: cada recordatorio se envía a su hora desde la cola de temporizadores
+            // del nodo que tiene el lock (el envío es idempotente si el lock cambia de nodo)
+            jobCoordinatorService.runExclusively(LOAD_REMINDERS_JOB, REMINDERS_LOCK_AT_MOST, REMINDERS_LOCK_AT_LEAST,
+                    reminderService::loadUpcomingReminders);
+        } catch (Exception e) {
+            log.error("Error in scheduled task sendUpcomingBookingReminders", e);
+        }
+    }
 
-            for (Booking booking : upcomingBookings) {
-                sendReminder(booking);
-            }
+    @Override
+    @Scheduled(cron = "0 30 * * * *") // Cada hora, a los 30 minutos
+    public void purgeExpiredIdempotencyKeys() {
+        log.info("Running scheduled task: purgeExpiredIdempotencyKeys");
 
-            log.debug("Sent {} booking reminders", upcomingBookings.size());
+        try {
+            jobCoordinatorService.runExclusively(PURGE_IDEMPOTENCY_JOB, DAILY_LOCK_AT_MOST, DAILY_LOCK_AT_LEAST,
+                    idempotencyService::purgeExpired);
+            log.info("Completed scheduled task: purgeExpiredIdempotencyKeys");
         } catch (Exception e) {
-            log.error("Error in scheduled task sendUpcomingBookingReminders", e);
+            log.error("Error in scheduled task purgeExpiredIdempotencyKeys", e);
         }
     }
 
-    private void sendReminder(Booking booking) {
-        // Aquí enviarías email/SMS/push notification
-        log.info("REMINDER: User {} has booking at {} on court {}",
-                booking.getUser().getEmail(),
-                booking.getStartTime(),
-                booking.getCourt().getName());
-
-        // Ejemplo de implementación futura:
-        // emailService.sendEmail(
-        //     booking.getUser().getEmail(),
-        //     "Recordatorio de reserva",
-        //     "Tu reserva empieza en 2 horas..."
-        // );
+    @Override
+    @Scheduled(cron = "0 30 4 * * *") // Todos los días a las 4:30 AM
+    public void reconcileDailyStats() {
+        log.info("Running scheduled task: reconcileDailyStats");
+
+        try {
+            jobCoordinatorService.runExclusively(RECONCILE_STATS_JOB, DAILY_LOCK_AT_MOST, DAILY_LOCK_AT_LEAST,
+                    analyticsService::reconcileRecent);
+            log.info("Completed scheduled task: reconcileDailyStats");
+        } catch (Exception e) {
+            log.error("Error in scheduled task reconcileDailyStats", e);
+        }
     }
 }
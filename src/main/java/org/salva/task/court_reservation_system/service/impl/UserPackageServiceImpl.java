@@ -1,5 +1,6 @@
 package org.salva.task.court_reservation_system.service.impl;
 
+import org.salva.task.court_reservation_system.config.ObservabilityConfig;
 import org.salva.task.court_reservation_system.dto.request.PackagePurchaseRequestDTO;
 import org.salva.task.court_reservation_system.dto.response.UserPackageResponseDTO;
 import org.salva.task.court_reservation_system.entity.Package;
@@ -10,10 +11,13 @@ import org.salva.task.court_reservation_system.mapper.UserPackageMapper;
 import org.salva.task.court_reservation_system.repository.PackageRepository;
 import org.salva.task.court_reservation_system.repository.UserPackageRepository;
 import org.salva.task.court_reservation_system.repository.UserRepository;
+import org.salva.task.court_reservation_system.service.ChunkedUpdateService;
 import org.salva.task.court_reservation_system.service.UserPackageService;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
@@ -22,6 +26,7 @@ import java.util.List;
 @Service
 @RequiredArgsConstructor
 @Slf4j
+@Timed(ObservabilityConfig.SERVICE_CALLS_METRIC)
 @Transactional
 public class UserPackageServiceImpl implements UserPackageService {
 
@@ -29,6 +34,7 @@ public class UserPackageServiceImpl implements UserPackageService {
     private final UserRepository userRepository;
     private final PackageRepository packageRepository;
     private final UserPackageMapper userPackageMapper;
+    private final ChunkedUpdateService chunkedUpdateService;
 
     @Override
     public UserPackageResponseDTO purchasePackage(PackagePurchaseRequestDTO requestDTO) {
@@ -93,18 +99,17 @@ public class UserPackageServiceImpl implements UserPackageService {
     }
 
     @Override
-    public void markExpiredPackagesAsInactive() {
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int markExpiredPackagesAsInactive() {
         log.info("Marking expired packages as inactive");
 
-        List<UserPackage> expiredPackages = userPackageRepository
-                .findExpiredPackagesStillActive(LocalDateTime.now());
+        LocalDateTime now = LocalDateTime.now();
 
-        for (UserPackage pkg : expiredPackages) {
-            pkg.checkExpiration();
-        }
+        // UPDATE por bloques, cada uno con su commit: no se cargan los paquetes en memoria
+        int deactivated = chunkedUpdateService.runInChunks("deactivate-expired-packages", chunkSize ->
+                userPackageRepository.deactivateExpiredPackages(now, chunkSize));
 
-        userPackageRepository.saveAll(expiredPackages);
-
-        log.info("Marked {} packages as inactive", expiredPackages.size());
+        log.info("Marked {} packages as inactive", deactivated);
+        return deactivated;
     }
 }
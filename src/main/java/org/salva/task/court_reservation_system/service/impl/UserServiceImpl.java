@@ -1,5 +1,7 @@
 package org.salva.task.court_reservation_system.service.impl;
 
+import org.salva.task.court_reservation_system.config.CacheConfig;
+import org.salva.task.court_reservation_system.config.ObservabilityConfig;
 import org.salva.task.court_reservation_system.dto.request.UserRequestDTO;
 import org.salva.task.court_reservation_system.dto.response.UserResponseDTO;
 import org.salva.task.court_reservation_system.entity.User;
@@ -8,9 +10,12 @@ import org.salva.task.court_reservation_system.exception.ResourceNotFoundExcepti
 import org.salva.task.court_reservation_system.exception.ValidationException;
 import org.salva.task.court_reservation_system.mapper.UserMapper;
 import org.salva.task.court_reservation_system.repository.UserRepository;
+import org.salva.task.court_reservation_system.service.CachedLookupService;
 import org.salva.task.court_reservation_system.service.UserService;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,11 +27,13 @@ import java.util.List;
 @Service
 @RequiredArgsConstructor
 @Slf4j
+@Timed(ObservabilityConfig.SERVICE_CALLS_METRIC)
 @Transactional
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
     private final UserMapper userMapper;
+    private final CachedLookupService cachedLookupService;
 
     @Override
     public UserResponseDTO createUser(UserRequestDTO requestDTO) {
@@ -58,8 +65,7 @@ public class UserServiceImpl implements UserService {
     public UserResponseDTO getUserById(Long id) {
         log.debug("Getting user by id: {}", id);
 
-        User user = userRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Usuario no encontrado con id: " + id));
+        User user = cachedLookupService.getUser(id);
 
         return userMapper.toResponseDTO(user);
     }
@@ -106,6 +112,7 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.USERS, key = "#id")
     public UserResponseDTO updateUser(Long id, UserRequestDTO requestDTO) {
         log.info("Updating user with id: {}", id);
 
@@ -135,6 +142,7 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.USERS, key = "#id")
     public UserResponseDTO updateMembership(Long id, MembershipType newMembership) {
         log.info("Updating membership for user id: {} to {}", id, newMembership);
 
@@ -150,6 +158,7 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.USERS, key = "#id")
     public void deactivateUser(Long id) {
         log.info("Deactivating user with id: {}", id);
 
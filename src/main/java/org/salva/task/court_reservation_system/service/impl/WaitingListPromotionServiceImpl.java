@@ -0,0 +1,139 @@
+package org.salva.task.court_reservation_system.service.impl;
+
+import jakarta.annotation.PreDestroy;
+import org.salva.task.court_reservation_system.entity.WaitingList;
+import org.salva.task.court_reservation_system.event.SlotFreedEvent;
+import org.salva.task.court_reservation_system.event.WaitingOfferSentEvent;
+import org.salva.task.court_reservation_system.repository.WaitingListRepository;
+import org.salva.task.court_reservation_system.service.WaitingListPromotionService;
+import org.salva.task.court_reservation_system.service.WaitingListService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Implementación de la promoción de la lista de espera.
+ * Las cancelaciones se procesan en un pool dedicado apenas se confirman; los vencimientos
+ * de ofertas esperan en un DelayQueue y se procesan al cumplirse, sin recorrer la tabla.
+ * Al iniciar se recargan las ofertas vigentes, por lo que un reinicio no pierde vencimientos.
+ */
+@Service
+@Slf4j
+public class WaitingListPromotionServiceImpl implements WaitingListPromotionService {
+
+    private final WaitingListService waitingListService;
+    private final WaitingListRepository waitingListRepository;
+
+    private final ExecutorService promotionExecutor;
+    private final DelayQueue<OfferExpiration> offerExpirations = new DelayQueue<>();
+    private final Thread expirationThread;
+
+    public WaitingListPromotionServiceImpl(
+            WaitingListService waitingListService,
+            WaitingListRepository waitingListRepository,
+            @Value("${app.waiting-list.promotion-threads:2}") int promotionThreads
+    ) {
+        this.waitingListService = waitingListService;
+        this.waitingListRepository = waitingListRepository;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.promotionExecutor = Executors.newFixedThreadPool(promotionThreads, runnable -> {
+            Thread thread = new Thread(runnable, "waitlist-promotion-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.expirationThread = new Thread(this::processExpirations, "waitlist-offer-expiration");
+        this.expirationThread.setDaemon(true);
+    }
+
+    @Override
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSlotFreed(SlotFreedEvent event) {
+        promotionExecutor.execute(() -> {
+            try {
+                waitingListService.processCancellationNotification(
+                        event.courtId(), event.date(), event.startTime(), event.endTime());
+            } catch (Exception e) {
+                log.error("Error promoting waiting list for court {} on {} {}-{}",
+                        event.courtId(), event.date(), event.startTime(), event.endTime(), e);
+            }
+        });
+    }
+
+    @Override
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOfferSent(WaitingOfferSentEvent event) {
+        offerExpirations.put(new OfferExpiration(event.waitingListId(), event.expiresAt()));
+    }
+
+    /**
+     * Recarga las ofertas vigentes e inicia el procesamiento de vencimientos
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        List<WaitingList> notified = waitingListRepository.findByNotifiedTrue();
+        for (WaitingList waitingList : notified) {
+            LocalDateTime expiresAt = waitingList.getNotificationExpirationDate();
+            offerExpirations.put(new OfferExpiration(
+                    waitingList.getId(), expiresAt != null ? expiresAt : LocalDateTime.now()));
+        }
+
+        expirationThread.start();
+        log.info("Waiting list promotion started with {} pending offers", notified.size());
+    }
+
+    @PreDestroy
+    public void stop() {
+        expirationThread.interrupt();
+        promotionExecutor.shutdownNow();
+    }
+
+    // ========== MÉTODOS PRIVADOS ==========
+
+    private void processExpirations() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                OfferExpiration expiration = offerExpirations.take();
+                promotionExecutor.execute(() -> expire(expiration.waitingListId()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RejectedExecutionException e) {
+                return;
+            }
+        }
+    }
+
+    private void expire(Long waitingListId) {
+        try {
+            waitingListService.expireNotification(waitingListId);
+        } catch (Exception e) {
+            log.error("Error expiring waiting list offer {}", waitingListId, e);
+        }
+    }
+
+    /**
+     * Vencimiento programado de una oferta (DelayQueue la entrega al cumplirse expiresAt)
+     */
+    private record OfferExpiration(Long waitingListId, LocalDateTime expiresAt) implements Delayed {
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(Duration.between(LocalDateTime.now(), expiresAt));
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+        }
+    }
+}
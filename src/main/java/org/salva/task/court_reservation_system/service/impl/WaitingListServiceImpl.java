@@ -1,19 +1,30 @@
 package org.salva.task.court_reservation_system.service.impl;
 
+import org.salva.task.court_reservation_system.config.ObservabilityConfig;
 import org.salva.task.court_reservation_system.dto.request.WaitingListRequestDTO;
 import org.salva.task.court_reservation_system.dto.response.WaitingListResponseDTO;
 import org.salva.task.court_reservation_system.entity.Court;
 import org.salva.task.court_reservation_system.entity.WaitingList;
+import org.salva.task.court_reservation_system.event.WaitingOfferSentEvent;
 import org.salva.task.court_reservation_system.exception.BusinessException;
+import org.salva.task.court_reservation_system.exception.ConflictException;
 import org.salva.task.court_reservation_system.exception.ResourceNotFoundException;
 import org.salva.task.court_reservation_system.mapper.WaitingListMapper;
-import org.salva.task.court_reservation_system.repository.CourtRepository;
-import org.salva.task.court_reservation_system.repository.UserRepository;
+import org.salva.task.court_reservation_system.repository.BookingRepository;
 import org.salva.task.court_reservation_system.repository.WaitingListRepository;
+import org.salva.task.court_reservation_system.service.BookingLockService;
+import org.salva.task.court_reservation_system.service.BusinessRulesService;
+import org.salva.task.court_reservation_system.service.CachedLookupService;
+import org.salva.task.court_reservation_system.service.NotificationService;
 import org.salva.task.court_reservation_system.service.WaitingListService;
+import org.salva.task.court_reservation_system.service.WaitingQueueIndexService;
 import org.salva.task.court_reservation_system.entity.User;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,7 +32,6 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Implementación del servicio de WaitingList
@@ -29,16 +39,20 @@ import java.util.concurrent.atomic.AtomicInteger;
 @Service
 @RequiredArgsConstructor
 @Slf4j
+@Timed(ObservabilityConfig.SERVICE_CALLS_METRIC)
 @Transactional
 public class WaitingListServiceImpl implements WaitingListService {
 
     private final WaitingListRepository waitingListRepository;
-    private final UserRepository userRepository;
-    private final CourtRepository courtRepository;
     private final WaitingListMapper waitingListMapper;
-
-    // Tiempo en minutos que tiene el usuario para responder
-    private static final int NOTIFICATION_TIMEOUT_MINUTES = 30;
+    private final CachedLookupService cachedLookupService;
+    private final BookingLockService bookingLockService;
+    private final WaitingQueueIndexService waitingQueueIndexService;
+    private final BookingRepository bookingRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final NotificationService notificationService;
+    private final MeterRegistry meterRegistry;
+    private final BusinessRulesService businessRulesService;
 
     @Override
     public WaitingListResponseDTO addToWaitingList(WaitingListRequestDTO requestDTO) {
@@ -56,14 +70,13 @@ public class WaitingListServiceImpl implements WaitingListService {
         }
 
         // Obtener entidades
-        User user = userRepository.findById(requestDTO.getUserId())
-                .orElseThrow(() -> new ResourceNotFoundException("Usuario no encontrado"));
+        User user = cachedLookupService.getUser(requestDTO.getUserId());
+        Court court = cachedLookupService.getCourt(requestDTO.getCourtId());
 
-        Court court = courtRepository.findById(requestDTO.getCourtId())
-                .orElseThrow(() -> new ResourceNotFoundException("Cancha no encontrada"));
+        // Mismo lock que las reservas de (cancha, fecha): serializa la asignación del número de orden
+        bookingLockService.lockUntilTransactionEnd(requestDTO.getCourtId(), List.of(requestDTO.getDesiredDate()));
 
-        // Verificar si ya está en la lista para ese horario
-        long count = waitingListRepository.countByCourtIdAndDesiredDateAndDesiredStartTimeAndDesiredEndTime(
+        long lastSequence = waitingListRepository.findMaxQueueSequence(
                 requestDTO.getCourtId(),
                 requestDTO.getDesiredDate(),
                 requestDTO.getDesiredStartTime(),
@@ -74,13 +87,24 @@ public class WaitingListServiceImpl implements WaitingListService {
         WaitingList waitingList = waitingListMapper.toEntity(requestDTO);
         waitingList.setUser(user);
         waitingList.setCourt(court);
+        waitingList.setQueueSequence(lastSequence + 1);
+
+        // Se calcula antes de insertar: la cola no debe cargarse con una fila aún no confirmada
+        int position = waitingQueueIndexService.getPosition(waitingList);
+
+        try {
+            waitingList = waitingListRepository.saveAndFlush(waitingList);
+        } catch (DataIntegrityViolationException e) {
+            // Otra instancia asignó el mismo número de orden (uk_waiting_slot_sequence)
+            throw new ConflictException("La lista de espera está siendo actualizada. Intente nuevamente.");
+        }
 
-        waitingList = waitingListRepository.save(waitingList);
+        waitingQueueIndexService.enqueue(waitingList);
 
-        log.info("User added to waiting list. Position in queue: {}", count + 1);
+        log.info("User added to waiting list. Position in queue: {}", position);
 
         WaitingListResponseDTO response = waitingListMapper.toResponseDTO(waitingList);
-        response.setPositionInQueue((int) count + 1);
+        response.setPositionInQueue(position);
 
         return response;
     }
@@ -92,7 +116,7 @@ public class WaitingListServiceImpl implements WaitingListService {
                 .orElseThrow(() -> new ResourceNotFoundException("Solicitud de lista de espera no encontrada"));
 
         WaitingListResponseDTO response = waitingListMapper.toResponseDTO(waitingList);
-        response.setPositionInQueue(calculatePosition(waitingList));
+        response.setPositionInQueue(waitingQueueIndexService.getPosition(waitingList));
 
         return response;
     }
@@ -105,9 +129,9 @@ public class WaitingListServiceImpl implements WaitingListService {
         List<WaitingList> waitingLists = waitingListRepository.findByUserIdOrderByRequestDateDesc(userId);
         List<WaitingListResponseDTO> responses = waitingListMapper.toResponseDTOList(waitingLists);
 
-        // Calcular posición en la cola para cada uno
+        // Posición en la cola de cada uno desde el índice en memoria
         for (int i = 0; i < waitingLists.size(); i++) {
-            responses.get(i).setPositionInQueue(calculatePosition(waitingLists.get(i)));
+            responses.get(i).setPositionInQueue(waitingQueueIndexService.getPosition(waitingLists.get(i)));
         }
 
         return responses;
@@ -141,6 +165,17 @@ public class WaitingListServiceImpl implements WaitingListService {
         log.info("Processing cancellation notification for court: {} on date: {} time: {}-{}",
                 courtId, date, startTime, endTime);
 
+        // Mismo lock que las reservas de (cancha, fecha): la comprobación del horario y la
+        // notificación no se cruzan con una reserva ni con otra cancelación del mismo día
+        bookingLockService.lockUntilTransactionEnd(courtId, List.of(date));
+
+        // El horario pudo volver a reservarse antes de procesar el evento, también en otra instancia:
+        // se consulta la base de datos (el índice de ocupación es local y puede estar desactualizado)
+        if (bookingRepository.existsOverlappingBooking(courtId, date, startTime, endTime)) {
+            log.info("Time slot is no longer available, waiting list not notified");
+            return;
+        }
+
         // RN-031: Obtener usuarios en lista de espera (ordenados por FIFO)
         List<WaitingList> waitingList = waitingListRepository.findPendingByCourtAndTimeSlot(
                 courtId, date, startTime, endTime
@@ -151,51 +186,58 @@ public class WaitingListServiceImpl implements WaitingListService {
             return;
         }
 
-        // RN-032: Notificar al primero en la lista
-        WaitingList first = waitingList.get(0);
-        first.notifyUser(NOTIFICATION_TIMEOUT_MINUTES);
-        waitingListRepository.save(first);
+        // RN-032: Notificar al primero en la lista (con tiempo limitado para responder)
+        int timeoutMinutes = businessRulesService.current().getWaitlistTimeoutMinutes();
+        Long firstId = waitingList.get(0).getId();
+        LocalDateTime now = LocalDateTime.now();
+
+        // Otra instancia pudo procesar la misma cancelación: solo notifica quien marca la solicitud
+        if (waitingListRepository.markNotified(firstId, now, now.plusMinutes(timeoutMinutes)) == 0) {
+            log.info("Waiting list request {} was already notified", firstId);
+            return;
+        }
+
+        WaitingList first = waitingListRepository.findById(firstId).orElseThrow();
+        waitingQueueIndexService.dequeue(first);
+        eventPublisher.publishEvent(new WaitingOfferSentEvent(
+                first.getId(),
+                (long) first.getCourt().getId(),
+                first.getDesiredDate(),
+                first.getDesiredStartTime(),
+                first.getDesiredEndTime(),
+                first.getNotificationExpirationDate()
+        ));
+        meterRegistry.counter("waitlist.promotions").increment();
 
         // Aquí normalmente enviarías un email/SMS/push notification
-        sendNotification(first);
+        sendNotification(first, timeoutMinutes);
 
         log.info("Notification sent to user: {}. They have {} minutes to respond",
-                first.getUser().getId(), NOTIFICATION_TIMEOUT_MINUTES);
+                first.getUser().getId(), timeoutMinutes);
     }
 
     @Override
-    public void processExpiredNotifications() {
-        log.info("Processing expired notifications");
-
-        List<WaitingList> expiredNotifications = waitingListRepository
-                .findExpiredNotifications(LocalDateTime.now());
-
-        int processedCount = 0;
-
-        for (WaitingList waiting : expiredNotifications) {
-            if (waiting.isNotificationExpired()) {
-                log.info("User {} did not respond in time. Moving to next in queue",
-                        waiting.getUser().getId());
-
-                // Marcar como no notificado para intentar con el siguiente
-                waiting.setNotified(false);
-                waiting.setNotificationDate(null);
-                waiting.setNotificationExpirationDate(null);
-                waitingListRepository.save(waiting);
-
-                // Notificar al siguiente en la lista (RN-034)
-                processCancellationNotification(
-                        (long) waiting.getCourt().getId(),
-                        waiting.getDesiredDate(),
-                        waiting.getDesiredStartTime(),
-                        waiting.getDesiredEndTime()
-                );
-
-                processedCount++;
-            }
+    public void expireNotification(Long id) {
+        WaitingList waiting = waitingListRepository.findById(id).orElse(null);
+
+        // Ya confirmada, eliminada o notificada de nuevo con otro vencimiento
+        if (waiting == null || !waiting.isNotificationExpired()) {
+            return;
         }
 
-        log.info("Processed {} expired notifications", processedCount);
+        log.info("User {} did not respond in time. Moving to next in queue", waiting.getUser().getId());
+
+        // La oferta vencida sale de la cola: volver a marcarla como pendiente la dejaría primera otra vez
+        waitingListRepository.delete(waiting);
+        meterRegistry.counter("waitlist.offers.expired").increment();
+
+        // Notificar al siguiente en la lista (RN-034)
+        processCancellationNotification(
+                (long) waiting.getCourt().getId(),
+                waiting.getDesiredDate(),
+                waiting.getDesiredStartTime(),
+                waiting.getDesiredEndTime()
+        );
     }
 
     @Override
@@ -206,59 +248,37 @@ public class WaitingListServiceImpl implements WaitingListService {
                 .orElseThrow(() -> new ResourceNotFoundException("Solicitud de lista de espera no encontrada"));
 
         waitingListRepository.delete(waitingList);
+        waitingQueueIndexService.dequeue(waitingList);
 
         log.info("Removed from waiting list successfully");
     }
 
     @Override
-    public void cleanOldRequests(int daysOld) {
+    public int cleanOldRequests(int daysOld) {
         log.info("Cleaning waiting list requests older than {} days", daysOld);
 
         LocalDate cutoffDate = LocalDate.now().minusDays(daysOld);
-        waitingListRepository.deleteOldRequests(cutoffDate);
+        int deleted = waitingListRepository.deleteOldRequests(cutoffDate);
+        waitingQueueIndexService.evictBefore(cutoffDate);
 
-        log.info("Old waiting list requests cleaned");
+        log.info("Old waiting list requests cleaned: {}", deleted);
+        return deleted;
     }
 
     // ========== MÉTODOS PRIVADOS ==========
 
-    private int calculatePosition(WaitingList waitingList) {
-        if (waitingList.getNotified()) {
-            return 1; // Si ya fue notificado, está primero
-        }
-
-        List<WaitingList> allWaiting = waitingListRepository.findPendingByCourtAndTimeSlot(
-                (long) waitingList.getCourt().getId(),
-                waitingList.getDesiredDate(),
-                waitingList.getDesiredStartTime(),
-                waitingList.getDesiredEndTime()
-        );
-
-        AtomicInteger position = new AtomicInteger(1);
-        for (WaitingList w : allWaiting) {
-            if (w.getId().equals(waitingList.getId())) {
-                return position.get();
-            }
-            position.incrementAndGet();
-        }
-
-        return position.get();
-    }
-
-    private void sendNotification(WaitingList waitingList) {
-        // Aquí integrarías con un servicio de notificaciones (Email, SMS, Push)
-        log.info("NOTIFICATION: User {} has availability for court {} on {} from {}-{}",
+    private void sendNotification(WaitingList waitingList, int timeoutMinutes) {
+        // Se envía después del commit (outbox): si la transacción falla no se notifica
+        notificationService.enqueue(
                 waitingList.getUser().getEmail(),
-                waitingList.getCourt().getName(),
-                waitingList.getDesiredDate(),
-                waitingList.getDesiredStartTime(),
-                waitingList.getDesiredEndTime());
-
-        // Ejemplo de implementación futura:
-        // emailService.sendEmail(
-        //     waitingList.getUser().getEmail(),
-        //     "¡Cancha disponible!",
-        //     "Tienes 30 minutos para confirmar tu reserva..."
-        // );
+                "¡Cancha disponible!",
+                String.format("La cancha %s está disponible el %s de %s a %s. " +
+                                "Tienes %d minutos para confirmar tu reserva.",
+                        waitingList.getCourt().getName(),
+                        waitingList.getDesiredDate(),
+                        waitingList.getDesiredStartTime(),
+                        waitingList.getDesiredEndTime(),
+                        timeoutMinutes)
+        );
     }
 }
@@ -0,0 +1,217 @@
+package org.salva.task.court_reservation_system.service.impl;
+
+import org.salva.task.court_reservation_system.entity.WaitingList;
+import org.salva.task.court_reservation_system.repository.WaitingListRepository;
+import org.salva.task.court_reservation_system.service.WaitingQueueIndexService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Implementación del índice de colas de espera.
+ * Cada horario guarda sus números de orden pendientes en un árbol de Fenwick:
+ * la posición de una solicitud es la cantidad de pendientes con número menor, en O(log n).
+ * Las colas se cargan de la base de datos la primera vez que se consultan y se vuelven a leer
+ * pasado queue-max-age, para ver las altas y bajas hechas en otras instancias.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class WaitingQueueIndexServiceImpl implements WaitingQueueIndexService {
+
+    private final WaitingListRepository waitingListRepository;
+
+    private final ConcurrentMap<SlotKey, SlotQueue> queues = new ConcurrentHashMap<>();
+
+    // Se incrementa con cada cambio confirmado; detecta cargas que quedaron desactualizadas
+    private final AtomicLong committedChanges = new AtomicLong();
+
+    // Antigüedad máxima de una cola cargada; 0 = sin vencimiento (solo con una única instancia)
+    @Value("${app.waiting-list.queue-max-age:30s}")
+    private Duration maxAge;
+
+    @Override
+    public int getPosition(WaitingList waitingList) {
+        if (Boolean.TRUE.equals(waitingList.getNotified())) {
+            return 1;
+        }
+
+        return queue(key(waitingList)).countBefore(waitingList.getQueueSequence()) + 1;
+    }
+
+    @Override
+    public void enqueue(WaitingList waitingList) {
+        SlotKey key = key(waitingList);
+        long sequence = waitingList.getQueueSequence();
+
+        // Si la cola aún no está cargada no hace falta registrarla: se leerá de la BD al consultarla
+        afterCommit(() -> {
+            committedChanges.incrementAndGet();
+            queues.computeIfPresent(key, (k, queue) -> queue.add(sequence));
+        });
+    }
+
+    @Override
+    public void dequeue(WaitingList waitingList) {
+        SlotKey key = key(waitingList);
+        long sequence = waitingList.getQueueSequence();
+
+        afterCommit(() -> {
+            committedChanges.incrementAndGet();
+            queues.computeIfPresent(key, (k, queue) -> queue.remove(sequence));
+        });
+    }
+
+    @Override
+    public void evictBefore(LocalDate date) {
+        int before = queues.size();
+        queues.keySet().removeIf(key -> key.date().isBefore(date));
+        log.debug("Evicted {} waiting queues from index", before - queues.size());
+    }
+
+    // ========== MÉTODOS PRIVADOS ==========
+
+    private SlotQueue queue(SlotKey key) {
+        SlotQueue queue = queues.get(key);
+        if (isFresh(queue)) {
+            return queue;
+        }
+
+        // Misma carga que el índice de ocupación: se consulta fuera del mapa y se instala solo
+        // si no hubo cambios confirmados tras ella (una cola vencida que no se reemplaza se descarta)
+        long changesBeforeQuery = committedChanges.get();
+        SlotQueue loaded = load(key);
+        SlotQueue installed = queues.compute(key, (k, current) -> {
+            if (isFresh(current)) {
+                return current;
+            }
+            return committedChanges.get() == changesBeforeQuery ? loaded : null;
+        });
+        return installed != null ? installed : loaded;
+    }
+
+    private boolean isFresh(SlotQueue queue) {
+        return queue != null && (maxAge.isZero() || System.nanoTime() - queue.loadedAt < maxAge.toNanos());
+    }
+
+    private SlotQueue load(SlotKey key) {
+        SlotQueue queue = new SlotQueue(System.nanoTime());
+        List<Long> sequences = waitingListRepository.findPendingQueueSequences(
+                key.courtId(), key.date(), key.startTime(), key.endTime());
+
+        sequences.forEach(queue::add);
+
+        return queue;
+    }
+
+    private SlotKey key(WaitingList waitingList) {
+        return new SlotKey(
+                waitingList.getCourt().getId(),
+                waitingList.getDesiredDate(),
+                waitingList.getDesiredStartTime(),
+                waitingList.getDesiredEndTime()
+        );
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private record SlotKey(long courtId, LocalDate date, LocalTime startTime, LocalTime endTime) {
+    }
+
+    /**
+     * Cola de un horario: conjunto de números de orden pendientes con conteo por prefijo.
+     * add/remove son idempotentes, así una carga desde la BD y un cambio confirmado
+     * en paralelo no se cuentan dos veces. Los números de orden empiezan en 1.
+     */
+    static final class SlotQueue {
+
+        private static final int INITIAL_CAPACITY = 16;
+
+        private final BitSet pending = new BitSet();
+        private int[] tree = new int[INITIAL_CAPACITY + 1];
+
+        // System.nanoTime() antes de la consulta que cargó la cola
+        final long loadedAt;
+
+        SlotQueue(long loadedAt) {
+            this.loadedAt = loadedAt;
+        }
+
+        synchronized SlotQueue add(long sequence) {
+            int index = Math.toIntExact(sequence);
+            if (!pending.get(index)) {
+                pending.set(index);
+                if (index >= tree.length) {
+                    grow(index);
+                } else {
+                    update(index, 1);
+                }
+            }
+            return this;
+        }
+
+        synchronized SlotQueue remove(long sequence) {
+            int index = Math.toIntExact(sequence);
+            if (pending.get(index)) {
+                pending.clear(index);
+                update(index, -1);
+            }
+            return this;
+        }
+
+        /**
+         * Cantidad de solicitudes pendientes con número de orden menor al indicado
+         */
+        synchronized int countBefore(long sequence) {
+            int count = 0;
+            for (int i = Math.min(Math.toIntExact(sequence) - 1, tree.length - 1); i > 0; i -= i & -i) {
+                count += tree[i];
+            }
+            return count;
+        }
+
+        private void update(int index, int delta) {
+            for (int i = index; i < tree.length; i += i & -i) {
+                tree[i] += delta;
+            }
+        }
+
+        /**
+         * Duplica la capacidad hasta cubrir el índice y reconstruye el árbol desde el conjunto
+         */
+        private void grow(int index) {
+            int capacity = tree.length - 1;
+            while (capacity < index + 1) {
+                capacity <<= 1;
+            }
+
+            tree = new int[capacity + 1];
+            for (int i = pending.nextSetBit(1); i > 0; i = pending.nextSetBit(i + 1)) {
+                update(i, 1);
+            }
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package org.salva.task.court_reservation_system.validation;
+
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * La cancha debe estar activa
+ */
+@Component
+@Order(110)
+public class ActiveCourtRule implements BookingRule {
+
+    @Override
+    public String getName() {
+        return "active_court";
+    }
+
+    @Override
+    public void check(BookingRuleContext context) {
+        if (!Boolean.TRUE.equals(context.getCourt().getActive())) {
+            context.reject("courtId", "La cancha '" + context.getCourt().getName() +
+                    "' no está disponible en este momento", context.getCourt().getId());
+        }
+    }
+}
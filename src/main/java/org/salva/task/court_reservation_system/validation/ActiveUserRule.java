@@ -0,0 +1,25 @@
+package org.salva.task.court_reservation_system.validation;
+
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * El usuario debe estar activo
+ */
+@Component
+@Order(100)
+public class ActiveUserRule implements BookingRule {
+
+    @Override
+    public String getName() {
+        return "active_user";
+    }
+
+    @Override
+    public void check(BookingRuleContext context) {
+        if (!Boolean.TRUE.equals(context.getUser().getActive())) {
+            context.reject("userId", "El usuario no está activo. Por favor contacte al administrador.",
+                    context.getUser().getId());
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package org.salva.task.court_reservation_system.validation;
+
+import org.salva.task.court_reservation_system.config.BusinessRules;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * RN-004: Anticipación mínima en horas.
+ * RN-005: Días máximos de anticipación según membresía.
+ */
+@Component
+@Order(220)
+public class AdvanceWindowRule implements BookingRule {
+
+    @Override
+    public String getName() {
+        return "advance_window";
+    }
+
+    @Override
+    public void check(BookingRuleContext context) {
+        BusinessRules rules = context.getRules();
+
+        if (context.getHoursUntilStart() < rules.getMinAdvanceHours()) {
+            context.reject("bookingDate", "Debe reservar con al menos " + rules.getMinAdvanceHours() +
+                    " horas de anticipación", context.getRequest().getBookingDate());
+        }
+
+        int maxDays = rules.getMaxDaysAdvance(context.getUser().getMembershipType());
+        if (context.getDaysUntilStart() > maxDays) {
+            context.reject("bookingDate", "Con su membresía " + context.getUser().getMembershipType() +
+                    " solo puede reservar hasta " + maxDays + " días adelante", context.getRequest().getBookingDate());
+        }
+    }
+}
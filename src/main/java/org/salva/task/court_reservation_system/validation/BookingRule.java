@@ -0,0 +1,27 @@
+package org.salva.task.court_reservation_system.validation;
+
+/**
+ * Regla de validación de una reserva. Cada implementación registrada como bean se agrega
+ * al pipeline de ValidationService, ordenada por @Order: primero todas las reglas en memoria
+ * y después las que consultan el índice de ocupación o la base de datos.
+ */
+public interface BookingRule {
+
+    /**
+     * Nombre de la regla (etiqueta de métricas)
+     */
+    String getName();
+
+    /**
+     * true si la regla consulta datos externos a la solicitud (índice de ocupación, base de datos).
+     * Estas reglas solo se evalúan si las reglas en memoria no encontraron violaciones.
+     */
+    default boolean requiresStore() {
+        return false;
+    }
+
+    /**
+     * Evalúa la regla y registra sus violaciones en el contexto (no lanza excepciones)
+     */
+    void check(BookingRuleContext context);
+}
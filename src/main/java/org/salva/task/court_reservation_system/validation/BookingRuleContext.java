@@ -0,0 +1,65 @@
+package org.salva.task.court_reservation_system.validation;
+
+import org.salva.task.court_reservation_system.config.BusinessRules;
+import org.salva.task.court_reservation_system.dto.request.BookingRequestDTO;
+import org.salva.task.court_reservation_system.dto.response.ErrorResponse;
+import org.salva.task.court_reservation_system.entity.Court;
+import org.salva.task.court_reservation_system.entity.User;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Contexto compartido por las reglas de una solicitud de reserva.
+ * El reloj, las reglas de negocio vigentes y las diferencias de tiempo se calculan una sola vez.
+ */
+@Getter
+public class BookingRuleContext {
+
+    private final BookingRequestDTO request;
+    private final User user;
+    private final Court court;
+    private final BusinessRules rules;
+    private final LocalDateTime now;
+
+    private final long hoursUntilStart;
+    private final long daysUntilStart;
+    private final long durationHours;
+
+    private final List<ErrorResponse.FieldError> violations = new ArrayList<>(4);
+    private String conflict;
+
+    public BookingRuleContext(BookingRequestDTO request, User user, Court court, BusinessRules rules, LocalDateTime now) {
+        this.request = request;
+        this.user = user;
+        this.court = court;
+        this.rules = rules;
+        this.now = now;
+
+        this.hoursUntilStart = ChronoUnit.HOURS.between(now,
+                LocalDateTime.of(request.getBookingDate(), request.getStartTime()));
+        this.daysUntilStart = ChronoUnit.DAYS.between(now.toLocalDate(), request.getBookingDate());
+        this.durationHours = ChronoUnit.HOURS.between(request.getStartTime(), request.getEndTime());
+    }
+
+    /**
+     * Registra una violación de la solicitud (400)
+     */
+    public void reject(String field, String message, Object rejectedValue) {
+        violations.add(new ErrorResponse.FieldError(field, message, rejectedValue));
+    }
+
+    /**
+     * Registra que el horario no está disponible (409)
+     */
+    public void conflict(String message) {
+        this.conflict = message;
+    }
+
+    public boolean hasViolations() {
+        return !violations.isEmpty();
+    }
+}
@@ -0,0 +1,34 @@
+package org.salva.task.court_reservation_system.validation;
+
+import org.salva.task.court_reservation_system.config.BusinessRules;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * RN-002: Duración mínima y máxima
+ */
+@Component
+@Order(210)
+public class DurationRule implements BookingRule {
+
+    @Override
+    public String getName() {
+        return "duration";
+    }
+
+    @Override
+    public void check(BookingRuleContext context) {
+        BusinessRules rules = context.getRules();
+        long durationHours = context.getDurationHours();
+
+        // Un horario invertido ya lo informa OperatingHoursRule
+        if (durationHours < 0) {
+            return;
+        }
+
+        if (durationHours < rules.getMinDurationHours() || durationHours > rules.getMaxDurationHours()) {
+            context.reject("endTime", "La duración debe ser entre " + rules.getMinDurationHours() +
+                    " y " + rules.getMaxDurationHours() + " horas", durationHours);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package org.salva.task.court_reservation_system.validation;
+
+import org.salva.task.court_reservation_system.config.BusinessRules;
+import org.salva.task.court_reservation_system.dto.request.BookingRequestDTO;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * RN-003: Horario de operación, con inicio anterior al fin
+ */
+@Component
+@Order(200)
+public class OperatingHoursRule implements BookingRule {
+
+    @Override
+    public String getName() {
+        return "operating_hours";
+    }
+
+    @Override
+    public void check(BookingRuleContext context) {
+        BookingRequestDTO request = context.getRequest();
+        BusinessRules rules = context.getRules();
+
+        if (request.getStartTime().isBefore(rules.getOperationStartTime())) {
+            context.reject("startTime", "El horario de inicio debe ser después de las " +
+                    rules.getOperationStartTime(), request.getStartTime());
+        }
+        if (request.getEndTime().isAfter(rules.getOperationEndTime())) {
+            context.reject("endTime", "El horario de fin debe ser antes de las " +
+                    rules.getOperationEndTime(), request.getEndTime());
+        }
+        if (!request.getStartTime().isBefore(request.getEndTime())) {
+            context.reject("startTime", "El horario de inicio debe ser anterior al horario de fin",
+                    request.getStartTime());
+        }
+    }
+}
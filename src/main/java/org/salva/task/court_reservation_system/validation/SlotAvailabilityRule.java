@@ -0,0 +1,80 @@
+package org.salva.task.court_reservation_system.validation;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.salva.task.court_reservation_system.dto.request.BookingRequestDTO;
+import org.salva.task.court_reservation_system.repository.BookingRepository;
+import org.salva.task.court_reservation_system.service.OccupancyIndexService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * RN-001: Sin solapamiento. El índice de ocupación descarta rápido los horarios libres;
+ * la base de datos (fuente de verdad entre instancias) confirma cada rechazo y, con bloqueo
+ * por fila de cancha, también los horarios que el índice da por libres.
+ */
+@Component
+@Order(1000)
+public class SlotAvailabilityRule implements BookingRule {
+
+    private static final String SLOT_TAKEN_MESSAGE = "Ya existe una reserva en ese horario";
+
+    private final OccupancyIndexService occupancyIndexService;
+    private final BookingRepository bookingRepository;
+    private final MeterRegistry meterRegistry;
+    private final boolean courtRowLock;
+
+    public SlotAvailabilityRule(
+            OccupancyIndexService occupancyIndexService,
+            BookingRepository bookingRepository,
+            MeterRegistry meterRegistry,
+            @Value("${app.booking-locks.court-row-lock:false}") boolean courtRowLock
+    ) {
+        this.occupancyIndexService = occupancyIndexService;
+        this.bookingRepository = bookingRepository;
+        this.meterRegistry = meterRegistry;
+        this.courtRowLock = courtRowLock;
+    }
+
+    @Override
+    public String getName() {
+        return "slot_availability";
+    }
+
+    @Override
+    public boolean requiresStore() {
+        return true;
+    }
+
+    @Override
+    public void check(BookingRuleContext context) {
+        BookingRequestDTO request = context.getRequest();
+        Long courtId = request.getCourtId();
+
+        // El índice solo conoce lo confirmado en esta instancia: un acierto es un indicio y se
+        // confirma en la base de datos (una cancelación en otra instancia no llega al índice)
+        boolean indexHit = occupancyIndexService.hasOverlap(courtId, request.getBookingDate(),
+                request.getStartTime(), request.getEndTime());
+        if (!indexHit && !courtRowLock) {
+            return;
+        }
+
+        boolean taken = bookingRepository.existsOverlappingBooking(courtId,
+                request.getBookingDate(), request.getStartTime(), request.getEndTime());
+        if (taken != indexHit) {
+            // El índice local estaba desactualizado: se vuelve a cargar el día
+            occupancyIndexService.invalidate(courtId, request.getBookingDate());
+        }
+
+        if (taken) {
+            countSlotConflict(indexHit ? "index" : "database");
+            context.conflict(SLOT_TAKEN_MESSAGE);
+        }
+    }
+
+    // ========== MÉTODOS PRIVADOS ==========
+
+    private void countSlotConflict(String source) {
+        meterRegistry.counter("booking.slot.conflicts", "source", source).increment();
+    }
+}
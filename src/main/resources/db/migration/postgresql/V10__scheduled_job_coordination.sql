@@ -0,0 +1,23 @@
+-- Coordinación de jobs programados entre instancias: un lock por job y el historial de ejecuciones
+
+CREATE TABLE job_locks (
+    name         VARCHAR(100) PRIMARY KEY,
+    locked_until TIMESTAMP(6) NOT NULL,
+    locked_at    TIMESTAMP(6) NOT NULL,
+    locked_by    VARCHAR(150) NOT NULL
+);
+
+CREATE SEQUENCE job_runs_seq INCREMENT BY 50;
+
+CREATE TABLE job_runs (
+    id              BIGINT PRIMARY KEY,
+    job_name        VARCHAR(100) NOT NULL,
+    node            VARCHAR(150) NOT NULL,
+    started_at      TIMESTAMP(6) NOT NULL,
+    duration_millis BIGINT       NOT NULL,
+    rows_processed  INTEGER      NOT NULL,
+    status          VARCHAR(20)  NOT NULL,
+    error_message   VARCHAR(500)
+);
+
+CREATE INDEX idx_job_run_name_started ON job_runs (job_name, started_at);
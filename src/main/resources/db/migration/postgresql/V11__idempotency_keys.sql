@@ -0,0 +1,15 @@
+-- Respuestas guardadas por Idempotency-Key para los POST de reservas y compras de paquetes
+
+CREATE TABLE idempotency_records (
+    idempotency_key VARCHAR(100) PRIMARY KEY,
+    request_hash    VARCHAR(64)  NOT NULL,
+    status          VARCHAR(20)  NOT NULL,
+    owner_token     VARCHAR(36),
+    response_status INTEGER,
+    content_type    VARCHAR(100),
+    response_body   BYTEA,
+    created_at      TIMESTAMP(6) NOT NULL,
+    expires_at      TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX idx_idempotency_expires ON idempotency_records (expires_at);
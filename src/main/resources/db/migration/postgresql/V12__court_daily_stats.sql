@@ -0,0 +1,20 @@
+-- Estadísticas diarias pre-agregadas por cancha para los reportes de ingresos y ocupación
+
+CREATE SEQUENCE court_daily_stats_seq INCREMENT BY 50;
+
+CREATE TABLE court_daily_stats (
+    id             BIGINT PRIMARY KEY,
+    court_id       BIGINT         NOT NULL,
+    stat_date      DATE           NOT NULL,
+    bookings       INTEGER        NOT NULL,
+    booked_minutes BIGINT         NOT NULL,
+    revenue        NUMERIC(14, 2) NOT NULL,
+    cancellations  INTEGER        NOT NULL,
+    penalties      NUMERIC(14, 2) NOT NULL,
+    package_hours  NUMERIC(10, 2) NOT NULL,
+    updated_at     TIMESTAMP(6)   NOT NULL,
+    reconciled_at  TIMESTAMP(6),
+    CONSTRAINT uk_court_daily_stats_court_date UNIQUE (court_id, stat_date)
+);
+
+CREATE INDEX idx_court_daily_stats_date ON court_daily_stats (stat_date, court_id);
@@ -0,0 +1,96 @@
+-- Esquema inicial para bases de datos nuevas. Las tablas y columnas coinciden con las entidades JPA,
+-- pero los ids son SERIAL/BIGSERIAL: un esquema que ya existía, creado por Hibernate 6, tiene ids
+-- GENERATED BY DEFAULT AS IDENTITY. Sobre esas bases baseline-on-migrate omite este script y V4/V5
+-- resuelven la secuencia real de cada tabla.
+
+CREATE TABLE users (
+    id                BIGSERIAL PRIMARY KEY,
+    name              VARCHAR(100) NOT NULL,
+    email             VARCHAR(150) NOT NULL,
+    phone             VARCHAR(15)  NOT NULL,
+    membership_type   VARCHAR(20)  NOT NULL,
+    registration_date TIMESTAMP(6) NOT NULL,
+    active            BOOLEAN      NOT NULL,
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE courts (
+    id              SERIAL PRIMARY KEY,
+    name            VARCHAR(100)   NOT NULL,
+    sport_type      VARCHAR(20)    NOT NULL,
+    capacity        INTEGER        NOT NULL,
+    price_base_hour NUMERIC(10, 2) NOT NULL,
+    active          BOOLEAN        NOT NULL,
+    description     VARCHAR(255)
+);
+
+CREATE TABLE packages (
+    id               BIGSERIAL PRIMARY KEY,
+    name             VARCHAR(100)   NOT NULL,
+    amount_hours     INTEGER        NOT NULL,
+    price            NUMERIC(10, 2) NOT NULL,
+    discount_percent NUMERIC(3, 2)  NOT NULL,
+    validity_days    INTEGER        NOT NULL,
+    active           BOOLEAN        NOT NULL
+);
+
+CREATE TABLE user_packages (
+    id              BIGSERIAL PRIMARY KEY,
+    user_id         BIGINT       NOT NULL CONSTRAINT fk_user_package_user REFERENCES users (id),
+    package_id      BIGINT       NOT NULL CONSTRAINT fk_user_package_package REFERENCES packages (id),
+    initial_hours   INTEGER      NOT NULL,
+    remaining_hours INTEGER      NOT NULL,
+    purchase_date   TIMESTAMP(6) NOT NULL,
+    expiration_date TIMESTAMP(6) NOT NULL,
+    active          BOOLEAN      NOT NULL
+);
+
+CREATE INDEX idx_user_package_user ON user_packages (user_id);
+CREATE INDEX idx_user_package_active ON user_packages (active);
+CREATE INDEX idx_user_package_expiration ON user_packages (expiration_date);
+
+CREATE TABLE bookings (
+    id                   BIGSERIAL PRIMARY KEY,
+    user_id              BIGINT         NOT NULL CONSTRAINT fk_booking_user REFERENCES users (id),
+    court_id             INTEGER        NOT NULL CONSTRAINT fk_booking_court REFERENCES courts (id),
+    booking_date         DATE           NOT NULL,
+    start_time           TIME(6)        NOT NULL,
+    end_time             TIME(6)        NOT NULL,
+    status               VARCHAR(20)    NOT NULL,
+    base_price           NUMERIC(10, 2) NOT NULL,
+    dynamic_surcharges   NUMERIC(10, 2) NOT NULL,
+    applied_discount     NUMERIC(10, 2) NOT NULL,
+    total_price          NUMERIC(10, 2) NOT NULL,
+    is_recurrent         BOOLEAN        NOT NULL,
+    recurrence_frequency VARCHAR(20),
+    parent_booking_id    BIGINT,
+    uses_package         BOOLEAN        NOT NULL,
+    user_package_id      BIGINT,
+    hours_deducted       NUMERIC(4, 2),
+    created_at           TIMESTAMP(6)   NOT NULL,
+    cancelled_at         TIMESTAMP(6),
+    cancellation_reason  VARCHAR(500),
+    penalty_percentage   NUMERIC(3, 2),
+    penalty_amount       NUMERIC(10, 2)
+);
+
+CREATE INDEX idx_booking_date_time ON bookings (booking_date, start_time, end_time);
+CREATE INDEX idx_booking_status ON bookings (status);
+CREATE INDEX idx_booking_user ON bookings (user_id);
+
+CREATE TABLE waiting_list (
+    id                           BIGSERIAL PRIMARY KEY,
+    user_id                      BIGINT       NOT NULL CONSTRAINT fk_waiting_user REFERENCES users (id),
+    court_id                     INTEGER      NOT NULL CONSTRAINT fk_waiting_court REFERENCES courts (id),
+    desired_date                 DATE         NOT NULL,
+    desired_start_time           TIME(6)      NOT NULL,
+    desired_end_time             TIME(6)      NOT NULL,
+    request_date                 TIMESTAMP(6) NOT NULL,
+    notified                     BOOLEAN      NOT NULL,
+    notification_date            TIMESTAMP(6),
+    notification_expiration_date TIMESTAMP(6)
+);
+
+CREATE INDEX idx_waiting_court_date ON waiting_list (court_id, desired_date);
+CREATE INDEX idx_waiting_user ON waiting_list (user_id);
+CREATE INDEX idx_waiting_notified ON waiting_list (notified);
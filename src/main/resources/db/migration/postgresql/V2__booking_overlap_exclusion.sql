@@ -0,0 +1,28 @@
+-- RN-001: dos reservas confirmadas de la misma cancha no pueden solaparse.
+-- Garantía a nivel de base de datos, válida aunque haya varias instancias de la aplicación.
+
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+DO $$
+BEGIN
+    IF EXISTS (
+        SELECT 1
+        FROM bookings a
+        JOIN bookings b ON a.court_id = b.court_id
+            AND a.booking_date = b.booking_date
+            AND a.id < b.id
+            AND a.start_time < b.end_time
+            AND a.end_time > b.start_time
+        WHERE a.status = 'CONFIRMADA' AND b.status = 'CONFIRMADA'
+    ) THEN
+        RAISE EXCEPTION 'Existen reservas confirmadas solapadas: resolverlas antes de aplicar la restricción';
+    END IF;
+END $$;
+
+ALTER TABLE bookings
+    ADD CONSTRAINT ex_booking_court_slot
+    EXCLUDE USING gist (
+        court_id WITH =,
+        tsrange(booking_date + start_time, booking_date + end_time) WITH &&
+    )
+    WHERE (status = 'CONFIRMADA');
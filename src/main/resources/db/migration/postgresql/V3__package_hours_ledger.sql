@@ -0,0 +1,15 @@
+-- Control de concurrencia optimista y movimientos de horas de paquetes
+
+ALTER TABLE user_packages ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+CREATE TABLE package_hours_movements (
+    id              BIGSERIAL PRIMARY KEY,
+    user_package_id BIGINT       NOT NULL,
+    booking_id      BIGINT,
+    type            VARCHAR(20)  NOT NULL,
+    hours           INTEGER      NOT NULL,
+    created_at      TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX idx_package_movement_package ON package_hours_movements (user_package_id);
+CREATE INDEX idx_package_movement_booking ON package_hours_movements (booking_id);
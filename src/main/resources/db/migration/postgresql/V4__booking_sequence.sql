@@ -0,0 +1,21 @@
+-- IDs de reservas por secuencia con incremento 50 (optimizador pooled-lo de Hibernate).
+-- La secuencia continúa después del mayor id existente y pasa a ser el DEFAULT de la columna:
+-- un INSERT por SQL toma un bloque propio de 50 ids y no choca con los que asigna Hibernate.
+-- La columna puede venir de V1 (SERIAL) o de un esquema creado por Hibernate 6 (GENERATED BY
+-- DEFAULT AS IDENTITY): la secuencia anterior se resuelve con pg_get_serial_sequence.
+
+CREATE SEQUENCE bookings_seq INCREMENT BY 50 OWNED BY bookings.id;
+
+SELECT setval('bookings_seq', COALESCE((SELECT MAX(id) FROM bookings), 0) + 1, false);
+
+DO $$
+DECLARE
+    previous_sequence TEXT := pg_get_serial_sequence('bookings', 'id');
+BEGIN
+    ALTER TABLE bookings ALTER COLUMN id DROP IDENTITY IF EXISTS;
+    ALTER TABLE bookings ALTER COLUMN id SET DEFAULT nextval('bookings_seq');
+    IF previous_sequence IS NOT NULL THEN
+        EXECUTE 'DROP SEQUENCE IF EXISTS ' || previous_sequence;
+    END IF;
+END
+$$;
@@ -0,0 +1,40 @@
+-- IDs por secuencia (incremento 50, optimizador pooled-lo) para el resto de las entidades.
+-- Cada secuencia continúa después del mayor id existente y reemplaza a la secuencia anterior como
+-- DEFAULT de la columna: un INSERT por SQL toma un bloque propio de 50 ids y no choca con Hibernate.
+-- Como en V4, la columna puede ser SERIAL (V1) o IDENTITY (esquema creado por Hibernate 6).
+
+CREATE SEQUENCE users_seq INCREMENT BY 50 OWNED BY users.id;
+SELECT setval('users_seq', COALESCE((SELECT MAX(id) FROM users), 0) + 1, false);
+
+CREATE SEQUENCE courts_seq INCREMENT BY 50 OWNED BY courts.id;
+SELECT setval('courts_seq', COALESCE((SELECT MAX(id) FROM courts), 0) + 1, false);
+
+CREATE SEQUENCE packages_seq INCREMENT BY 50 OWNED BY packages.id;
+SELECT setval('packages_seq', COALESCE((SELECT MAX(id) FROM packages), 0) + 1, false);
+
+CREATE SEQUENCE user_packages_seq INCREMENT BY 50 OWNED BY user_packages.id;
+SELECT setval('user_packages_seq', COALESCE((SELECT MAX(id) FROM user_packages), 0) + 1, false);
+
+CREATE SEQUENCE waiting_list_seq INCREMENT BY 50 OWNED BY waiting_list.id;
+SELECT setval('waiting_list_seq', COALESCE((SELECT MAX(id) FROM waiting_list), 0) + 1, false);
+
+CREATE SEQUENCE package_hours_movements_seq INCREMENT BY 50 OWNED BY package_hours_movements.id;
+SELECT setval('package_hours_movements_seq', COALESCE((SELECT MAX(id) FROM package_hours_movements), 0) + 1, false);
+
+DO $$
+DECLARE
+    table_name        TEXT;
+    previous_sequence TEXT;
+BEGIN
+    FOREACH table_name IN ARRAY ARRAY['users', 'courts', 'packages', 'user_packages', 'waiting_list',
+                                      'package_hours_movements']
+    LOOP
+        previous_sequence := pg_get_serial_sequence(table_name, 'id');
+        EXECUTE format('ALTER TABLE %I ALTER COLUMN id DROP IDENTITY IF EXISTS', table_name);
+        EXECUTE format('ALTER TABLE %I ALTER COLUMN id SET DEFAULT nextval(%L)', table_name, table_name || '_seq');
+        IF previous_sequence IS NOT NULL THEN
+            EXECUTE 'DROP SEQUENCE IF EXISTS ' || previous_sequence;
+        END IF;
+    END LOOP;
+END
+$$;
@@ -0,0 +1,5 @@
+-- Historial de reservas paginado por cursor: orden (booking_date, start_time, id) dentro de cada usuario.
+-- El nuevo índice cubre también las búsquedas por user_id, por lo que reemplaza a idx_booking_user.
+
+CREATE INDEX idx_booking_user_history ON bookings (user_id, booking_date, start_time, id);
+DROP INDEX idx_booking_user;
@@ -0,0 +1,21 @@
+-- Posición en la cola de espera: número de orden persistido por horario (cancha, fecha, inicio, fin).
+-- Las solicitudes existentes se numeran por orden de llegada.
+
+ALTER TABLE waiting_list ADD COLUMN queue_sequence BIGINT;
+
+UPDATE waiting_list wl
+SET queue_sequence = ranked.queue_sequence
+FROM (
+    SELECT id,
+           ROW_NUMBER() OVER (
+               PARTITION BY court_id, desired_date, desired_start_time, desired_end_time
+               ORDER BY request_date, id
+           ) AS queue_sequence
+    FROM waiting_list
+) ranked
+WHERE wl.id = ranked.id;
+
+ALTER TABLE waiting_list ALTER COLUMN queue_sequence SET NOT NULL;
+
+ALTER TABLE waiting_list ADD CONSTRAINT uk_waiting_slot_sequence
+    UNIQUE (court_id, desired_date, desired_start_time, desired_end_time, queue_sequence);
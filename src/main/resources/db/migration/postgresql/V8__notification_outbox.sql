@@ -0,0 +1,19 @@
+-- Outbox de notificaciones: se insertan con la transacción que las origina y se envían tras el commit
+
+CREATE SEQUENCE notification_outbox_seq INCREMENT BY 50;
+
+CREATE TABLE notification_outbox (
+    id              BIGINT PRIMARY KEY,
+    channel         VARCHAR(30)   NOT NULL,
+    recipient       VARCHAR(150)  NOT NULL,
+    subject         VARCHAR(200)  NOT NULL,
+    body            VARCHAR(2000) NOT NULL,
+    status          VARCHAR(20)   NOT NULL,
+    attempts        INTEGER       NOT NULL,
+    next_attempt_at TIMESTAMP(6)  NOT NULL,
+    last_error      VARCHAR(500),
+    created_at      TIMESTAMP(6)  NOT NULL,
+    sent_at         TIMESTAMP(6)
+);
+
+CREATE INDEX idx_notification_status_next ON notification_outbox (status, next_attempt_at);
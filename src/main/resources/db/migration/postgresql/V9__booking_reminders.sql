@@ -0,0 +1,15 @@
+-- Recordatorios: inicio combinado (fecha + hora) indexado y marca de recordatorio enviado
+
+ALTER TABLE bookings ADD COLUMN starts_at TIMESTAMP(6);
+ALTER TABLE bookings ADD COLUMN reminder_sent_at TIMESTAMP(6);
+
+UPDATE bookings SET starts_at = booking_date + start_time;
+
+-- Las reservas ya iniciadas no deben recibir recordatorio
+UPDATE bookings SET reminder_sent_at = starts_at WHERE starts_at <= now();
+
+ALTER TABLE bookings ALTER COLUMN starts_at SET NOT NULL;
+
+-- Solo las reservas confirmadas sin recordatorio: el índice se mantiene pequeño
+CREATE INDEX idx_booking_reminder_due ON bookings (starts_at)
+    WHERE reminder_sent_at IS NULL AND status = 'CONFIRMADA';
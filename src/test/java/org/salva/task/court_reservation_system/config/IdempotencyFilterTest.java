@@ -0,0 +1,133 @@
+package org.salva.task.court_reservation_system.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.salva.task.court_reservation_system.entity.Court;
+import org.salva.task.court_reservation_system.entity.User;
+import org.salva.task.court_reservation_system.enums.MembershipType;
+import org.salva.task.court_reservation_system.enums.SportType;
+import org.salva.task.court_reservation_system.repository.CourtRepository;
+import org.salva.task.court_reservation_system.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Reservas con Idempotency-Key por HTTP: repetición de la respuesta guardada, rechazo de una
+ * clave reutilizada con otra solicitud y liberación de la clave tras una respuesta de error
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class IdempotencyFilterTest {
+
+    private static final String BOOKINGS_PATH = "/api/bookings";
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CourtRepository courtRepository;
+
+    private final LocalDate date = LocalDate.now().plusDays(3);
+
+    private User user;
+    private Court court;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder()
+                .name("Usuario Idempotencia")
+                .email(UUID.randomUUID() + "@example.com")
+                .phone("999999999")
+                .membershipType(MembershipType.VIP)
+                .active(true)
+                .build());
+        court = courtRepository.save(Court.builder()
+                .name("Cancha Idempotencia " + UUID.randomUUID())
+                .sportType(SportType.TENIS)
+                .capacity(4)
+                .priceBaseHour(new BigDecimal("50.00"))
+                .active(true)
+                .build());
+    }
+
+    @Test
+    void repeatedRequestReplaysTheStoredResponse() throws Exception {
+        String key = UUID.randomUUID().toString();
+        String body = bookingJson("08:00", "09:00");
+
+        ResponseEntity<String> first = post(key, body);
+        ResponseEntity<String> second = post(key, body);
+
+        assertThat(first.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(first.getHeaders().containsKey(IdempotencyFilter.REPLAYED_HEADER)).isFalse();
+        assertThat(second.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(second.getHeaders().getFirst(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(bookingId(second)).isEqualTo(bookingId(first));
+    }
+
+    @Test
+    void keyReusedWithDifferentRequestIsRejected() throws Exception {
+        String key = UUID.randomUUID().toString();
+
+        ResponseEntity<String> first = post(key, bookingJson("10:00", "11:00"));
+        ResponseEntity<String> second = post(key, bookingJson("11:00", "12:00"));
+
+        assertThat(first.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(second.getStatusCode()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+        assertThat(objectMapper.readTree(second.getBody()).get("message").asText())
+                .isEqualTo("La Idempotency-Key ya se usó con una solicitud diferente");
+    }
+
+    @Test
+    void errorResponseReleasesTheKey() throws Exception {
+        String key = UUID.randomUUID().toString();
+        String invalid = "{\"userId\": " + user.getId() + ", \"courtId\": " + court.getId()
+                + ", \"bookingDate\": \"" + date + "\", \"startTime\": \"12:00\"}";
+
+        ResponseEntity<String> rejected = post(key, invalid);
+        ResponseEntity<String> retried = post(key, bookingJson("12:00", "13:00"));
+
+        assertThat(rejected.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(retried.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(retried.getHeaders().containsKey(IdempotencyFilter.REPLAYED_HEADER)).isFalse();
+        assertThat(bookingId(retried)).isPositive();
+    }
+
+    // ========== MÉTODOS PRIVADOS ==========
+
+    private ResponseEntity<String> post(String key, String body) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, key);
+        return restTemplate.postForEntity(BOOKINGS_PATH, new HttpEntity<>(body, headers), String.class);
+    }
+
+    private String bookingJson(String startTime, String endTime) {
+        return "{\"userId\": " + user.getId() + ", \"courtId\": " + court.getId() + ", \"bookingDate\": \"" + date
+                + "\", \"startTime\": \"" + startTime + "\", \"endTime\": \"" + endTime + "\"}";
+    }
+
+    private long bookingId(ResponseEntity<String> response) throws Exception {
+        JsonNode json = objectMapper.readTree(response.getBody());
+        return json.get("id").asLong();
+    }
+}
@@ -0,0 +1,216 @@
+package org.salva.task.court_reservation_system.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.salva.task.court_reservation_system.entity.Booking;
+import org.salva.task.court_reservation_system.entity.Court;
+import org.salva.task.court_reservation_system.entity.User;
+import org.salva.task.court_reservation_system.enums.MembershipType;
+import org.salva.task.court_reservation_system.enums.SportType;
+import org.salva.task.court_reservation_system.repository.BookingRepository;
+import org.salva.task.court_reservation_system.repository.CourtRepository;
+import org.salva.task.court_reservation_system.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Importación masiva por HTTP: la respuesta en streaming corre en un hilo asíncrono al que
+ * open-in-view vuelve a asociar el EntityManager de la solicitud (se activa a propósito)
+ * y el archivo ocupa varios bloques. El tiempo de espera asíncrono del contenedor se acorta a
+ * 1 s para verificar que la importación usa el de spring.mvc.async.request-timeout
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.jpa.open-in-view=true",
+        "app.booking-import.chunk-size=2"
+})
+class BookingImportControllerTest {
+
+    private static final int ROWS = 5;
+    private static final long CONTAINER_ASYNC_TIMEOUT_MILLIS = 1000;
+    private static final long UPLOAD_PAUSE_MILLIS = 400;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CourtRepository courtRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Test
+    void importsCsvAcrossChunksOverHttp() throws Exception {
+        List<String> csv = csvLines(LocalDate.now().plusDays(3));
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType("text/csv"));
+        ResponseEntity<String> response = restTemplate.postForEntity(
+                "/api/bookings/import", new HttpEntity<>(String.join("", csv), headers), String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getContentType()).isNotNull();
+        assertThat(response.getHeaders().getContentType().isCompatibleWith(MediaType.APPLICATION_NDJSON)).isTrue();
+
+        assertImported(response.getBody());
+    }
+
+    @Test
+    void importOutlivesTheContainerAsyncTimeout() throws Exception {
+        List<String> csv = csvLines(LocalDate.now().plusDays(4));
+
+        // El cliente envía una fila cada UPLOAD_PAUSE_MILLIS: la importación dura más que el límite del contenedor
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/bookings/import"))
+                .header(HttpHeaders.CONTENT_TYPE, "text/csv")
+                .POST(HttpRequest.BodyPublishers.ofInputStream(() -> slowly(csv)))
+                .build();
+
+        long startedAt = System.currentTimeMillis();
+        HttpResponse<String> response = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .build()
+                .send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+
+        assertThat(System.currentTimeMillis() - startedAt).isGreaterThan(CONTAINER_ASYNC_TIMEOUT_MILLIS);
+        assertThat(response.statusCode()).isEqualTo(HttpStatus.OK.value());
+        assertImported(response.body());
+    }
+
+    // ========== MÉTODOS PRIVADOS ==========
+
+    private List<String> csvLines(LocalDate date) {
+        User user = userRepository.save(User.builder()
+                .name("Usuario Import")
+                .email(UUID.randomUUID() + "@example.com")
+                .phone("999999999")
+                .membershipType(MembershipType.VIP)
+                .active(true)
+                .build());
+        Court court = courtRepository.save(Court.builder()
+                .name("Cancha Import HTTP " + UUID.randomUUID())
+                .sportType(SportType.TENIS)
+                .capacity(4)
+                .priceBaseHour(new BigDecimal("50.00"))
+                .active(true)
+                .build());
+
+        List<String> lines = new ArrayList<>();
+        lines.add("userId,courtId,bookingDate,startTime,endTime\n");
+        for (int i = 0; i < ROWS; i++) {
+            lines.add(user.getId() + "," + court.getId() + "," + date + ","
+                    + String.format("%02d:00,%02d:00%n", 8 + i, 9 + i));
+        }
+        return lines;
+    }
+
+    private void assertImported(String body) throws Exception {
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            lines.add(objectMapper.readTree(line));
+        }
+        assertThat(lines).hasSize(ROWS + 1);
+
+        List<Long> bookingIds = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            assertThat(lines.get(i).get("row").asInt()).isEqualTo(i + 1);
+            assertThat(lines.get(i).get("status").asText()).isEqualTo("CREATED");
+            bookingIds.add(lines.get(i).get("bookingId").asLong());
+        }
+
+        JsonNode summary = lines.get(ROWS);
+        assertThat(summary.get("totalRows").asInt()).isEqualTo(ROWS);
+        assertThat(summary.get("createdRows").asInt()).isEqualTo(ROWS);
+        assertThat(summary.get("failedRows").asInt()).isZero();
+
+        List<Booking> saved = bookingRepository.findAllById(bookingIds);
+        assertThat(saved).hasSize(ROWS);
+    }
+
+    /**
+     * Cuerpo que entrega una línea por lectura, con una pausa antes de cada una
+     */
+    private static InputStream slowly(List<String> lines) {
+        Iterator<String> remaining = lines.iterator();
+
+        return new InputStream() {
+            private byte[] current = new byte[0];
+            private int position;
+
+            @Override
+            public int read() {
+                byte[] single = new byte[1];
+                return read(single, 0, 1) == -1 ? -1 : single[0] & 0xff;
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) {
+                if (position == current.length) {
+                    if (!remaining.hasNext()) {
+                        return -1;
+                    }
+                    try {
+                        Thread.sleep(UPLOAD_PAUSE_MILLIS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return -1;
+                    }
+                    current = remaining.next().getBytes(StandardCharsets.UTF_8);
+                    position = 0;
+                }
+
+                int count = Math.min(length, current.length - position);
+                System.arraycopy(current, position, buffer, offset, count);
+                position += count;
+                return count;
+            }
+        };
+    }
+
+    /**
+     * Acorta el límite asíncrono de Tomcat (30 s por defecto) para no esperar 30 s en la prueba
+     */
+    @TestConfiguration
+    static class ShortContainerAsyncTimeout {
+
+        @Bean
+        WebServerFactoryCustomizer<TomcatServletWebServerFactory> shortAsyncTimeout() {
+            return factory -> factory.addConnectorCustomizers(
+                    connector -> connector.setAsyncTimeout(CONTAINER_ASYNC_TIMEOUT_MILLIS));
+        }
+    }
+}
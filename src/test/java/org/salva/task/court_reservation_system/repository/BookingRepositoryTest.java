@@ -0,0 +1,133 @@
+package org.salva.task.court_reservation_system.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.salva.task.court_reservation_system.dto.response.BookingDetailResponseDTO;
+import org.salva.task.court_reservation_system.dto.response.BookingResponseDTO;
+import org.salva.task.court_reservation_system.entity.Booking;
+import org.salva.task.court_reservation_system.entity.Court;
+import org.salva.task.court_reservation_system.entity.User;
+import org.salva.task.court_reservation_system.enums.BookingStatus;
+import org.salva.task.court_reservation_system.enums.MembershipType;
+import org.salva.task.court_reservation_system.enums.SportType;
+import org.salva.task.court_reservation_system.mapper.BookingMapper;
+import org.salva.task.court_reservation_system.mapper.BookingMapperImpl;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica que las listas y el detalle de reservas se resuelven con una sola sentencia SQL
+ * (sin cargas LAZY de usuario y cancha por cada reserva)
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(BookingMapperImpl.class)
+class BookingRepositoryTest {
+
+    private static final int BOOKINGS = 20;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private BookingMapper bookingMapper;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private User user;
+    private Long firstBookingId;
+
+    @BeforeEach
+    void setUp() {
+        user = entityManager.persist(User.builder()
+                .name("Usuario Test")
+                .email("test@example.com")
+                .phone("999999999")
+                .membershipType(MembershipType.NINGUNA)
+                .active(true)
+                .build());
+
+        Court court = entityManager.persist(Court.builder()
+                .name("Cancha Test")
+                .sportType(SportType.TENIS)
+                .capacity(4)
+                .priceBaseHour(new BigDecimal("50.00"))
+                .active(true)
+                .build());
+
+        LocalDate firstDate = LocalDate.now().plusDays(1);
+        for (int i = 0; i < BOOKINGS; i++) {
+            Booking booking = entityManager.persist(Booking.builder()
+                    .user(user)
+                    .court(court)
+                    .bookingDate(firstDate.plusDays(i))
+                    .startTime(LocalTime.of(10, 0))
+                    .endTime(LocalTime.of(11, 0))
+                    .status(BookingStatus.CONFIRMADA)
+                    .basePrice(new BigDecimal("50.00"))
+                    .dynamicSurcharges(BigDecimal.ZERO)
+                    .appliedDiscount(BigDecimal.ZERO)
+                    .totalPrice(new BigDecimal("50.00"))
+                    .isRecurrent(false)
+                    .usesPackage(false)
+                    .build());
+            if (firstBookingId == null) {
+                firstBookingId = booking.getId();
+            }
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void summariesByUserUseSingleStatement() {
+        List<BookingResponseDTO> bookings = bookingRepository.findSummariesByUserId(user.getId());
+
+        assertThat(bookings).hasSize(BOOKINGS);
+        assertThat(bookings).allSatisfy(booking -> {
+            assertThat(booking.getUserName()).isEqualTo("Usuario Test");
+            assertThat(booking.getCourtName()).isEqualTo("Cancha Test");
+        });
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void futureSummariesByUserUseSingleStatement() {
+        List<BookingResponseDTO> bookings = bookingRepository.findFutureSummariesByUserId(
+                user.getId(), LocalDate.now(), BookingStatus.CONFIRMADA);
+
+        assertThat(bookings).hasSize(BOOKINGS);
+        assertThat(bookings.get(0).getId()).isEqualTo(firstBookingId);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void detailLoadsUserAndCourtInSameStatement() {
+        Booking booking = bookingRepository.findWithUserAndCourtById(firstBookingId).orElseThrow();
+        BookingDetailResponseDTO detail = bookingMapper.toDetailResponseDTO(booking);
+
+        assertThat(detail.getUserEmail()).isEqualTo("test@example.com");
+        assertThat(detail.getCourtSportType()).isEqualTo("TENIS");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,178 @@
+package org.salva.task.court_reservation_system.service.impl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.salva.task.court_reservation_system.dto.response.BookingImportRowResultDTO;
+import org.salva.task.court_reservation_system.dto.response.BookingImportSummaryDTO;
+import org.salva.task.court_reservation_system.entity.Court;
+import org.salva.task.court_reservation_system.entity.User;
+import org.salva.task.court_reservation_system.enums.BookingImportFormat;
+import org.salva.task.court_reservation_system.enums.MembershipType;
+import org.salva.task.court_reservation_system.enums.SportType;
+import org.salva.task.court_reservation_system.repository.CourtRepository;
+import org.salva.task.court_reservation_system.repository.UserRepository;
+import org.salva.task.court_reservation_system.service.BookingImportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Lectura de archivos de la importación masiva: encabezados, filas mal formadas,
+ * archivos truncados y conflictos de horario por cancha
+ */
+@SpringBootTest
+class BookingImportServiceImplTest {
+
+    private static final String SLOT_TAKEN = "Ya existe una reserva en ese horario";
+
+    @Autowired
+    private BookingImportService bookingImportService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CourtRepository courtRepository;
+
+    private final List<BookingImportRowResultDTO> results = new ArrayList<>();
+    private final LocalDate date = LocalDate.now().plusDays(3);
+
+    private User user;
+    private Court court;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder()
+                .name("Usuario Import")
+                .email(UUID.randomUUID() + "@example.com")
+                .phone("999999999")
+                .membershipType(MembershipType.VIP)
+                .active(true)
+                .build());
+        court = newCourt("Cancha Import A");
+    }
+
+    @Test
+    void csvWithBomAndReorderedHeaderIsImported() {
+        String csv = "\uFEFFcourtId,\"userId\", endTime ,startTime,bookingDate\n"
+                + court.getId() + "," + user.getId() + ",09:00,08:00," + date + "\n";
+
+        BookingImportSummaryDTO summary = importCsv(csv);
+
+        assertThat(summary.getError()).isNull();
+        assertThat(summary.getCreatedRows()).isEqualTo(1);
+        assertThat(results).singleElement().satisfies(result -> {
+            assertThat(result.getStatus()).isEqualTo("CREATED");
+            assertThat(result.getBookingId()).isNotNull();
+        });
+    }
+
+    @Test
+    void malformedCsvRowsFailWithoutStoppingTheImport() {
+        String csv = "userId,courtId,bookingDate,startTime,endTime\n"
+                + row(court, "08:00", "09:00")
+                + "abc," + court.getId() + "," + date + ",10:00,11:00\n"
+                + user.getId() + "," + court.getId() + "," + date + ",12:00\n"
+                + "\n"
+                + row(court, "14:00", "15:00");
+
+        BookingImportSummaryDTO summary = importCsv(csv);
+
+        assertThat(summary.getError()).isNull();
+        assertThat(summary.getTotalRows()).isEqualTo(4);
+        assertThat(summary.getCreatedRows()).isEqualTo(2);
+        assertThat(results).extracting(BookingImportRowResultDTO::getRow).containsExactly(1, 2, 3, 4);
+        assertThat(results).extracting(BookingImportRowResultDTO::getStatus)
+                .containsExactly("CREATED", "FAILED", "FAILED", "CREATED");
+        assertThat(results.get(1).getReason()).startsWith("Fila inválida");
+        assertThat(results.get(2).getReason()).isEqualTo("Fila inválida: falta endTime");
+    }
+
+    @Test
+    void csvWithoutRequiredColumnsIsReportedInTheSummary() {
+        String csv = "userId,courtId,bookingDate\n" + user.getId() + "," + court.getId() + "," + date + "\n";
+
+        BookingImportSummaryDTO summary = importCsv(csv);
+
+        assertThat(summary.getError()).startsWith("El CSV debe tener las columnas");
+        assertThat(summary.getTotalRows()).isZero();
+        assertThat(results).isEmpty();
+    }
+
+    @Test
+    void jsonKeepsRowsReadBeforeATruncatedElement() {
+        String json = "[" + jsonRow("08:00", "09:00") + ", 42, "
+                + "{\"userId\": \"abc\", \"courtId\": " + court.getId() + "}, "
+                + "{\"userId\": " + user.getId() + ", \"courtId\": ";
+
+        BookingImportSummaryDTO summary = importJson(json);
+
+        assertThat(summary.getError()).startsWith("JSON inválido");
+        assertThat(summary.getTotalRows()).isEqualTo(3);
+        assertThat(summary.getCreatedRows()).isEqualTo(1);
+        assertThat(results).extracting(BookingImportRowResultDTO::getStatus)
+                .containsExactly("CREATED", "FAILED", "FAILED");
+        assertThat(results.get(1).getReason()).isEqualTo("La fila debe ser un objeto JSON");
+        assertThat(results.get(2).getReason()).startsWith("Fila inválida");
+    }
+
+    @Test
+    void conflictsAreReportedPerCourt() {
+        Court other = newCourt("Cancha Import B");
+        importCsv("userId,courtId,bookingDate,startTime,endTime\n" + row(court, "10:00", "11:00"));
+        results.clear();
+
+        // Horario ya reservado en A, libre en B, repetido dentro del archivo en B y libre en A
+        BookingImportSummaryDTO summary = importCsv("userId,courtId,bookingDate,startTime,endTime\n"
+                + row(court, "10:00", "11:00")
+                + row(other, "10:00", "11:00")
+                + row(other, "10:30", "11:30")
+                + row(court, "12:00", "13:00"));
+
+        assertThat(summary.getCreatedRows()).isEqualTo(2);
+        assertThat(results).extracting(BookingImportRowResultDTO::getStatus)
+                .containsExactly("FAILED", "CREATED", "FAILED", "CREATED");
+        assertThat(results.get(0).getReason()).isEqualTo(SLOT_TAKEN);
+        assertThat(results.get(2).getReason()).isEqualTo(SLOT_TAKEN);
+    }
+
+    // ========== MÉTODOS PRIVADOS ==========
+
+    private BookingImportSummaryDTO importCsv(String csv) {
+        return bookingImportService.importBookings(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), BookingImportFormat.CSV, results::add);
+    }
+
+    private BookingImportSummaryDTO importJson(String json) {
+        return bookingImportService.importBookings(
+                new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), BookingImportFormat.JSON, results::add);
+    }
+
+    private String row(Court target, String startTime, String endTime) {
+        return user.getId() + "," + target.getId() + "," + date + "," + startTime + "," + endTime + "\n";
+    }
+
+    private String jsonRow(String startTime, String endTime) {
+        return "{\"userId\": " + user.getId() + ", \"courtId\": " + court.getId() + ", \"bookingDate\": \"" + date
+                + "\", \"startTime\": \"" + startTime + "\", \"endTime\": \"" + endTime + "\"}";
+    }
+
+    private Court newCourt(String name) {
+        return courtRepository.save(Court.builder()
+                .name(name + " " + UUID.randomUUID())
+                .sportType(SportType.TENIS)
+                .capacity(4)
+                .priceBaseHour(new BigDecimal("50.00"))
+                .active(true)
+                .build());
+    }
+}
@@ -0,0 +1,87 @@
+package org.salva.task.court_reservation_system.service.impl;
+
+import org.junit.jupiter.api.Test;
+import org.salva.task.court_reservation_system.entity.NotificationOutbox;
+import org.salva.task.court_reservation_system.enums.NotificationStatus;
+import org.salva.task.court_reservation_system.notification.LocalNotificationChannel;
+import org.salva.task.court_reservation_system.notification.NotificationMessage;
+import org.salva.task.court_reservation_system.repository.NotificationOutboxRepository;
+import org.salva.task.court_reservation_system.service.NotificationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Barrido del outbox con el canal local: cada notificación vencida la toma un solo barrido
+ * (como si fueran dos nodos) y se envía una sola vez
+ */
+@SpringBootTest
+class NotificationServiceImplTest {
+
+    private static final long WAIT_MILLIS = 5_000L;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private NotificationOutboxRepository outboxRepository;
+
+    @Autowired
+    private LocalNotificationChannel localChannel;
+
+    @Test
+    void dueNotificationIsClaimedOnceAndSentOnce() throws InterruptedException {
+        LocalDateTime now = LocalDateTime.now();
+        NotificationOutbox notification = outboxRepository.save(NotificationOutbox.builder()
+                .channel(LocalNotificationChannel.NAME)
+                .recipient("outbox-test@example.com")
+                .subject("Recordatorio")
+                .body("Prueba del barrido")
+                .status(NotificationStatus.PENDIENTE)
+                .attempts(0)
+                .nextAttemptAt(now.minusMinutes(1))
+                .build());
+        Long id = notification.getId();
+
+        // Un segundo nodo que leyó la misma fila vencida no la puede tomar
+        assertThat(outboxRepository.claim(id, NotificationStatus.PENDIENTE, now, now.plusMinutes(1))).isEqualTo(1);
+        assertThat(outboxRepository.claim(id, NotificationStatus.PENDIENTE, now, now.plusMinutes(1))).isZero();
+
+        // Vuelve a vencer y la toma el barrido; un segundo barrido ya no la encuentra
+        outboxRepository.markFailed(id, NotificationStatus.PENDIENTE, 0, now.minusMinutes(1), null);
+        notificationService.dispatchDue();
+        notificationService.dispatchDue();
+
+        assertThat(waitUntilSent(id)).isTrue();
+        Thread.sleep(500);
+        assertThat(sentCount(id)).isEqualTo(1);
+        assertThat(outboxRepository.findById(id))
+                .get()
+                .extracting(NotificationOutbox::getStatus)
+                .isEqualTo(NotificationStatus.ENVIADA);
+    }
+
+    // ========== MÉTODOS PRIVADOS ==========
+
+    private boolean waitUntilSent(Long id) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + WAIT_MILLIS;
+        while (System.currentTimeMillis() < deadline) {
+            if (sentCount(id) > 0 && outboxRepository.findById(id)
+                    .map(n -> n.getStatus() == NotificationStatus.ENVIADA).orElse(false)) {
+                return true;
+            }
+            Thread.sleep(50);
+        }
+        return false;
+    }
+
+    private long sentCount(Long id) {
+        return localChannel.getSent().stream()
+                .map(NotificationMessage::id)
+                .filter(id::equals)
+                .count();
+    }
+}
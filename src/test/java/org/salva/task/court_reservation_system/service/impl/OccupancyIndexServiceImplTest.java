@@ -0,0 +1,96 @@
+package org.salva.task.court_reservation_system.service.impl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.salva.task.court_reservation_system.entity.Booking;
+import org.salva.task.court_reservation_system.entity.Court;
+import org.salva.task.court_reservation_system.entity.User;
+import org.salva.task.court_reservation_system.enums.BookingStatus;
+import org.salva.task.court_reservation_system.enums.MembershipType;
+import org.salva.task.court_reservation_system.enums.SportType;
+import org.salva.task.court_reservation_system.repository.BookingRepository;
+import org.salva.task.court_reservation_system.repository.CourtRepository;
+import org.salva.task.court_reservation_system.repository.UserRepository;
+import org.salva.task.court_reservation_system.service.OccupancyIndexService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Los días cargados en el índice vencen: una reserva guardada sin pasar por el índice
+ * (como la de otra instancia) se ve al volver a leer el día
+ */
+@SpringBootTest(properties = "app.occupancy-index.max-age=1s")
+class OccupancyIndexServiceImplTest {
+
+    private static final LocalTime START = LocalTime.of(10, 0);
+    private static final LocalTime END = LocalTime.of(11, 0);
+
+    @Autowired
+    private OccupancyIndexService occupancyIndexService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CourtRepository courtRepository;
+
+    private final LocalDate date = LocalDate.now().plusDays(3);
+
+    private User user;
+    private Court court;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder()
+                .name("Usuario Índice")
+                .email(UUID.randomUUID() + "@example.com")
+                .phone("999999999")
+                .membershipType(MembershipType.NINGUNA)
+                .active(true)
+                .build());
+        court = courtRepository.save(Court.builder()
+                .name("Cancha Índice " + UUID.randomUUID())
+                .sportType(SportType.TENIS)
+                .capacity(4)
+                .priceBaseHour(new BigDecimal("50.00"))
+                .active(true)
+                .build());
+    }
+
+    @Test
+    void loadedDayIsReloadedAfterMaxAge() throws InterruptedException {
+        assertThat(occupancyIndexService.hasOverlap(court.getId(), date, START, END)).isFalse();
+
+        bookingRepository.save(Booking.builder()
+                .user(user)
+                .court(court)
+                .bookingDate(date)
+                .startTime(START)
+                .endTime(END)
+                .status(BookingStatus.CONFIRMADA)
+                .basePrice(new BigDecimal("50.00"))
+                .dynamicSurcharges(BigDecimal.ZERO)
+                .appliedDiscount(BigDecimal.ZERO)
+                .totalPrice(new BigDecimal("50.00"))
+                .isRecurrent(false)
+                .usesPackage(false)
+                .build());
+
+        Thread.sleep(1100);
+
+        assertThat(occupancyIndexService.hasOverlap(court.getId(), date, START, END)).isTrue();
+        assertThat(occupancyIndexService.snapshot(List.of(court.getId()), date, date)
+                .getOccupiedSlots(court.getId(), date)).hasSize(1);
+    }
+}
@@ -0,0 +1,170 @@
+package org.salva.task.court_reservation_system.service.impl;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.salva.task.court_reservation_system.entity.Booking;
+import org.salva.task.court_reservation_system.entity.Court;
+import org.salva.task.court_reservation_system.entity.User;
+import org.salva.task.court_reservation_system.enums.MembershipType;
+import org.salva.task.court_reservation_system.service.PricingService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * El motor de precios en punto fijo produce los mismos montos que el cálculo anterior con BigDecimal
+ * (reglas por defecto de application.yml; el cálculo anterior aplica los descuentos de membresía
+ * como new BigDecimal(double), lo que decide el redondeo en los empates de medio centavo)
+ */
+@SpringBootTest
+class PricingServiceImplTest {
+
+    private static final LocalDate WEEKDAY =
+            LocalDate.of(2030, 1, 1).with(TemporalAdjusters.nextOrSame(DayOfWeek.WEDNESDAY));
+    private static final LocalDate SATURDAY = WEEKDAY.with(TemporalAdjusters.next(DayOfWeek.SATURDAY));
+    private static final LocalDate SUNDAY = WEEKDAY.with(TemporalAdjusters.next(DayOfWeek.SUNDAY));
+
+    // Incluye precios cuyo descuento cae justo en medio centavo (25.05 × 0.30 = 7.515)
+    private static final List<String> PRICES =
+            List.of("25.00", "25.05", "10.05", "19.99", "33.33", "12.35", "1234.57");
+
+    // Valle, borde del valle, normal, pico y pico hasta el cierre
+    private static final List<LocalTime[]> TIME_SLOTS = List.of(
+            new LocalTime[]{LocalTime.of(7, 0), LocalTime.of(8, 0)},
+            new LocalTime[]{LocalTime.of(11, 0), LocalTime.of(13, 0)},
+            new LocalTime[]{LocalTime.of(14, 0), LocalTime.of(16, 0)},
+            new LocalTime[]{LocalTime.of(18, 0), LocalTime.of(20, 0)},
+            new LocalTime[]{LocalTime.of(21, 0), LocalTime.of(23, 0)}
+    );
+
+    // Valores del enum MembershipType anterior
+    private static final Map<MembershipType, Double> MEMBERSHIP_DISCOUNTS = Map.of(
+            MembershipType.NINGUNA, 0.0,
+            MembershipType.BASICA, 0.10,
+            MembershipType.PREMIUN, 0.20,
+            MembershipType.VIP, 0.30
+    );
+
+    @Autowired
+    private PricingService pricingService;
+
+    @ParameterizedTest(name = "{0} {1} {2} {3}-{4} recurrente={5}")
+    @MethodSource("combinations")
+    void fixedPointPricesMatchBigDecimalCalculation(String price, MembershipType membershipType, LocalDate date,
+                                                    LocalTime startTime, LocalTime endTime, boolean recurrent) {
+        Court court = Court.builder().priceBaseHour(new BigDecimal(price)).build();
+        User user = User.builder().membershipType(membershipType).build();
+        Booking booking = Booking.builder()
+                .bookingDate(date)
+                .startTime(startTime)
+                .endTime(endTime)
+                .build();
+
+        pricingService.applyPrices(booking, court, user, recurrent);
+
+        Booking expected = referencePrices(court.getPriceBaseHour(), membershipType, date, startTime, endTime, recurrent);
+        assertThat(booking.getTotalPrice()).isEqualTo(expected.getTotalPrice());
+        assertThat(booking.getBasePrice()).isEqualByComparingTo(expected.getBasePrice());
+        assertThat(booking.getDynamicSurcharges()).isEqualByComparingTo(expected.getDynamicSurcharges());
+        assertThat(booking.getAppliedDiscount()).isEqualByComparingTo(expected.getAppliedDiscount());
+    }
+
+    @Test
+    void halfCentTieKeepsHistoricalRounding() {
+        // 10.05 × 0.10 = 1.005 exacto; con el double 0.1 el descuento queda apenas por encima del medio
+        Court court = Court.builder().priceBaseHour(new BigDecimal("10.05")).build();
+        User user = User.builder().membershipType(MembershipType.BASICA).build();
+        Booking booking = Booking.builder()
+                .bookingDate(WEEKDAY)
+                .startTime(LocalTime.of(14, 0))
+                .endTime(LocalTime.of(15, 0))
+                .build();
+
+        pricingService.applyPrices(booking, court, user, false);
+
+        assertThat(booking.getAppliedDiscount()).isEqualByComparingTo("1.01");
+        assertThat(booking.getTotalPrice()).isEqualTo(new BigDecimal("9.04"));
+        // Con el descuento como decimal exacto el total sería 9.05
+        assertThat(new BigDecimal("10.05").subtract(new BigDecimal("1.005")).setScale(2, RoundingMode.HALF_UP))
+                .isEqualTo(new BigDecimal("9.05"));
+    }
+
+    static Stream<Arguments> combinations() {
+        List<Arguments> combinations = new ArrayList<>();
+        for (String price : PRICES) {
+            for (MembershipType membershipType : MembershipType.values()) {
+                for (LocalDate date : List.of(WEEKDAY, SATURDAY, SUNDAY)) {
+                    for (LocalTime[] slot : TIME_SLOTS) {
+                        combinations.add(Arguments.of(price, membershipType, date, slot[0], slot[1], false));
+                        combinations.add(Arguments.of(price, membershipType, date, slot[0], slot[1], true));
+                    }
+                }
+            }
+        }
+        return combinations.stream();
+    }
+
+    // ========== MÉTODOS PRIVADOS ==========
+
+    /**
+     * Cálculo anterior de BookingServiceImpl (calculateAndSetPrices), con los montos guardados a escala 2
+     */
+    private static Booking referencePrices(BigDecimal basePrice, MembershipType membershipType, LocalDate date,
+                                           LocalTime startTime, LocalTime endTime, boolean recurrent) {
+        int hours = (int) ChronoUnit.HOURS.between(startTime, endTime);
+        BigDecimal baseTotal = basePrice.multiply(new BigDecimal(hours));
+        BigDecimal subtotal = baseTotal.multiply(referenceFactor(date, startTime));
+
+        BigDecimal discount = BigDecimal.ZERO;
+        if (membershipType != MembershipType.NINGUNA) {
+            discount = discount.add(subtotal.multiply(new BigDecimal(MEMBERSHIP_DISCOUNTS.get(membershipType))));
+        }
+        if (recurrent) {
+            discount = discount.add(subtotal.multiply(new BigDecimal("0.05")));
+        }
+
+        return Booking.builder()
+                .basePrice(baseTotal)
+                .dynamicSurcharges(subtotal.subtract(baseTotal).setScale(2, RoundingMode.HALF_UP))
+                .appliedDiscount(discount.setScale(2, RoundingMode.HALF_UP))
+                .totalPrice(subtotal.subtract(discount).setScale(2, RoundingMode.HALF_UP))
+                .build();
+    }
+
+    private static BigDecimal referenceFactor(LocalDate date, LocalTime time) {
+        BigDecimal factor = BigDecimal.ONE;
+
+        // RN-007: Fin de semana (+30%)
+        DayOfWeek dayOfWeek = date.getDayOfWeek();
+        if (dayOfWeek == DayOfWeek.SATURDAY || dayOfWeek == DayOfWeek.SUNDAY) {
+            factor = factor.multiply(new BigDecimal("1.3"));
+        }
+
+        // RN-006: Horario pico (+50%)
+        if (!time.isBefore(LocalTime.of(18, 0)) && time.isBefore(LocalTime.of(22, 0))) {
+            factor = factor.multiply(new BigDecimal("1.5"));
+        }
+
+        // RN-009: Horario valle (-20%)
+        if (!time.isBefore(LocalTime.of(6, 0)) && time.isBefore(LocalTime.of(12, 0))) {
+            factor = factor.multiply(new BigDecimal("0.8"));
+        }
+
+        return factor;
+    }
+}
@@ -0,0 +1,72 @@
+package org.salva.task.court_reservation_system.service.impl;
+
+import org.junit.jupiter.api.Test;
+import org.salva.task.court_reservation_system.service.impl.WaitingQueueIndexServiceImpl.SlotQueue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Cola de un horario (árbol de Fenwick sobre los números de orden pendientes):
+ * crecimiento, idempotencia de altas y bajas y conteo en los bordes del arreglo
+ */
+class WaitingQueueIndexServiceImplTest {
+
+    // Capacidad inicial del árbol (INITIAL_CAPACITY)
+    private static final int CAPACITY = 16;
+
+    @Test
+    void growsPastInitialCapacityKeepingCounts() {
+        SlotQueue queue = new SlotQueue(System.nanoTime());
+        queue.add(3).add(5);
+
+        queue.add(CAPACITY + 1);
+        queue.add(100);
+
+        assertThat(queue.countBefore(CAPACITY + 1)).isEqualTo(2);
+        assertThat(queue.countBefore(CAPACITY + 2)).isEqualTo(3);
+        assertThat(queue.countBefore(100)).isEqualTo(3);
+        assertThat(queue.countBefore(101)).isEqualTo(4);
+
+        for (int sequence = 1; sequence <= 3 * CAPACITY; sequence++) {
+            queue.add(sequence);
+        }
+        assertThat(queue.countBefore(3 * CAPACITY + 1)).isEqualTo(3 * CAPACITY);
+        assertThat(queue.countBefore(101)).isEqualTo(3 * CAPACITY + 1);
+    }
+
+    @Test
+    void addAndRemoveAreIdempotent() {
+        SlotQueue queue = new SlotQueue(System.nanoTime());
+
+        queue.add(5).add(5).add(7);
+        assertThat(queue.countBefore(8)).isEqualTo(2);
+
+        queue.remove(5).remove(5);
+        assertThat(queue.countBefore(8)).isEqualTo(1);
+
+        // Números nunca agregados, dentro y fuera de la capacidad actual
+        queue.remove(6).remove(1000);
+        assertThat(queue.countBefore(8)).isEqualTo(1);
+        assertThat(queue.countBefore(1001)).isEqualTo(1);
+    }
+
+    @Test
+    void countBeforeAtArrayEdges() {
+        SlotQueue queue = new SlotQueue(System.nanoTime());
+        for (int sequence = 1; sequence <= CAPACITY; sequence++) {
+            queue.add(sequence);
+        }
+
+        assertThat(queue.countBefore(0)).isZero();
+        assertThat(queue.countBefore(1)).isZero();
+        assertThat(queue.countBefore(2)).isEqualTo(1);
+        assertThat(queue.countBefore(CAPACITY)).isEqualTo(CAPACITY - 1);
+        assertThat(queue.countBefore(CAPACITY + 1)).isEqualTo(CAPACITY);
+        // Más allá del arreglo se cuentan todas las pendientes
+        assertThat(queue.countBefore(10 * CAPACITY)).isEqualTo(CAPACITY);
+
+        queue.remove(1).remove(CAPACITY);
+        assertThat(queue.countBefore(CAPACITY + 1)).isEqualTo(CAPACITY - 2);
+        assertThat(queue.countBefore(2)).isZero();
+    }
+}